@@ -0,0 +1,128 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+import javax.persistence.EntityListeners;
+import javax.persistence.Id;
+import javax.persistence.MappedSuperclass;
+
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.jpa.domain.support.IdAllocatingEntityListener;
+import org.springframework.util.Assert;
+
+/**
+ * Abstract base class for entities with {@link Long} ids allocated in process by an {@link IdAllocator} right before
+ * the entity gets persisted. As opposed to {@link AbstractPersistable} inserts don't require a database roundtrip to
+ * obtain the id which allows the persistence provider to batch them. Implements {@link #equals(Object)} and
+ * {@link #hashCode()} based on the id.
+ * 
+ * @see IdAllocatingEntityListener
+ * @author Oliver Gierke
+ */
+@MappedSuperclass
+@EntityListeners(IdAllocatingEntityListener.class)
+public abstract class AbstractAllocatedPersistable implements Persistable<Long> {
+
+	private static final long serialVersionUID = 4476826226003521707L;
+
+	@Id
+	private Long id;
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.domain.Persistable#getId()
+	 */
+	public Long getId() {
+
+		return id;
+	}
+
+	/**
+	 * Assigns an id obtained from the given {@link IdAllocator} if the entity does not have one yet.
+	 * 
+	 * @param allocator must not be {@literal null}.
+	 */
+	public void allocateId(IdAllocator allocator) {
+
+		Assert.notNull(allocator);
+
+		if (id == null) {
+			id = allocator.nextId();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.domain.Persistable#isNew()
+	 */
+	public boolean isNew() {
+
+		return null == getId();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return String.format("Entity of type %s with id: %s", this.getClass().getName(), getId());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (null == obj) {
+			return false;
+		}
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!getClass().equals(obj.getClass())) {
+			return false;
+		}
+
+		AbstractAllocatedPersistable that = (AbstractAllocatedPersistable) obj;
+
+		return null == this.getId() ? false : this.getId().equals(that.getId());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+
+		int hashCode = 17;
+
+		hashCode += null == getId() ? 0 : getId().hashCode() * 31;
+
+		return hashCode;
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+/**
+ * Callback interface to get notified about the progress of a bulk modification executed in chunks.
+ * 
+ * @author Oliver Gierke
+ * @see Chunking
+ */
+public interface ChunkListener {
+
+	/**
+	 * Invoked after the transaction of a chunk was committed.
+	 * 
+	 * @param affected the number of rows affected by the chunk.
+	 * @param processed the number of entities processed so far.
+	 * @param total the number of entities to be processed as counted upfront, at least the ones processed so far.
+	 */
+	void chunkProcessed(int affected, int processed, int total);
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+import org.springframework.util.Assert;
+
+/**
+ * Value object to configure bulk modifications to be executed in chunks. Each chunk affects at most the given number
+ * of entities and is executed in a transaction of its own so that row locks are only held for a short period of time.
+ * An optional pause between the chunks throttles the load on the database.
+ * 
+ * @author Oliver Gierke
+ */
+public class Chunking {
+
+	private final int size;
+	private final long pause;
+	private final ChunkListener listener;
+
+	private Chunking(int size, long pause, ChunkListener listener) {
+
+		Assert.isTrue(size > 0, "Chunk size must be greater than zero!");
+		Assert.isTrue(pause >= 0, "Pause must not be negative!");
+
+		this.size = size;
+		this.pause = pause;
+		this.listener = listener;
+	}
+
+	/**
+	 * Creates a new {@link Chunking} affecting at most the given number of entities per chunk.
+	 * 
+	 * @param size must be greater than zero.
+	 * @return
+	 */
+	public static Chunking of(int size) {
+
+		return new Chunking(size, 0, null);
+	}
+
+	/**
+	 * Returns a new {@link Chunking} pausing the given number of milliseconds between two chunks.
+	 * 
+	 * @param millis must not be negative.
+	 * @return
+	 */
+	public Chunking withPause(long millis) {
+
+		return new Chunking(size, millis, listener);
+	}
+
+	/**
+	 * Returns a new {@link Chunking} notifying the given {@link ChunkListener} after each chunk.
+	 * 
+	 * @param listener can be {@literal null}.
+	 * @return
+	 */
+	public Chunking withListener(ChunkListener listener) {
+
+		return new Chunking(size, pause, listener);
+	}
+
+	/**
+	 * Returns the maximum number of entities to be affected by a single chunk.
+	 * 
+	 * @return
+	 */
+	public int getSize() {
+
+		return size;
+	}
+
+	/**
+	 * Returns the number of milliseconds to pause between two chunks.
+	 * 
+	 * @return
+	 */
+	public long getPause() {
+
+		return pause;
+	}
+
+	/**
+	 * Returns the {@link ChunkListener} to be notified after each chunk.
+	 * 
+	 * @return the listener or {@literal null} if none configured.
+	 */
+	public ChunkListener getListener() {
+
+		return listener;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return String.format("Chunks of %s, pause %sms", size, pause);
+	}
+}
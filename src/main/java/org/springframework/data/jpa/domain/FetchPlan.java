@@ -0,0 +1,242 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Value object to capture the association paths to be fetched eagerly when executing a {@link Specification}. The
+ * paths are applied as left outer fetch joins to the query retrieving the entities only, count queries will not
+ * contain them. Additionally a {@link FetchPlan} can request the entities to be loaded in read-only mode or to be
+ * locked, e.g. failing on rows locked by others via {@link LockWait#NO_WAIT}.
+ * <p>
+ * Note that fetching collections is rejected for paginated queries as it would force the persistence provider to load
+ * all matching rows and apply the pagination in memory. Fetch to-one associations only in that case.
+ * 
+ * @author Oliver Gierke
+ */
+public class FetchPlan implements Iterable<String> {
+
+	private final Set<String> paths;
+	private final boolean readOnly;
+	private final LockModeType lockMode;
+	private final LockWait lockWait;
+	private final Integer lockTimeout;
+
+	/**
+	 * Creates a new {@link FetchPlan} for the given association paths, e.g. {@code roles} or {@code manager.roles}.
+	 * 
+	 * @param paths must not be {@literal null}.
+	 */
+	public FetchPlan(String... paths) {
+
+		Assert.notNull(paths);
+
+		for (String path : paths) {
+			Assert.isTrue(StringUtils.hasText(path), "Fetch paths must not be null or empty!");
+		}
+
+		this.paths = Collections.unmodifiableSet(new LinkedHashSet<String>(Arrays.asList(paths)));
+		this.readOnly = false;
+		this.lockMode = null;
+		this.lockWait = LockWait.WAIT;
+		this.lockTimeout = null;
+	}
+
+	private FetchPlan(Set<String> paths, boolean readOnly, LockModeType lockMode, LockWait lockWait, Integer lockTimeout) {
+
+		this.paths = paths;
+		this.readOnly = readOnly;
+		this.lockMode = lockMode;
+		this.lockWait = lockWait;
+		this.lockTimeout = lockTimeout;
+	}
+
+	/**
+	 * Returns a new {@link FetchPlan} with the same paths as the current one that additionally loads the entities in
+	 * read-only mode, i.e. without the persistence provider keeping snapshots of them for dirty checking. Changes to
+	 * entities loaded that way will not be flushed to the database.
+	 * 
+	 * @return
+	 */
+	public FetchPlan readOnly() {
+
+		return new FetchPlan(paths, true, lockMode, lockWait, lockTimeout);
+	}
+
+	/**
+	 * Returns a new {@link FetchPlan} with the same settings as the current one that additionally locks the entities
+	 * loaded using the given {@link LockModeType}.
+	 * 
+	 * @param lockMode must not be {@literal null}.
+	 * @return
+	 */
+	public FetchPlan lock(LockModeType lockMode) {
+
+		return lock(lockMode, lockWait);
+	}
+
+	/**
+	 * Returns a new {@link FetchPlan} with the same settings as the current one that additionally locks the entities
+	 * loaded using the given {@link LockModeType} and reacts on rows already locked as defined by the given
+	 * {@link LockWait}.
+	 * 
+	 * @param lockMode must not be {@literal null}.
+	 * @param lockWait must not be {@literal null}.
+	 * @return
+	 */
+	public FetchPlan lock(LockModeType lockMode, LockWait lockWait) {
+
+		Assert.notNull(lockMode);
+		Assert.notNull(lockWait);
+
+		return new FetchPlan(paths, readOnly, lockMode, lockWait, lockTimeout);
+	}
+
+	/**
+	 * Returns a new {@link FetchPlan} with the same settings as the current one that waits at most the given number of
+	 * milliseconds for pessimistic locks.
+	 * 
+	 * @param milliseconds must not be negative.
+	 * @return
+	 */
+	public FetchPlan lockTimeout(int milliseconds) {
+
+		Assert.isTrue(milliseconds >= 0, "Lock timeout must not be negative!");
+		return new FetchPlan(paths, readOnly, lockMode, lockWait, milliseconds);
+	}
+
+	/**
+	 * Returns whether the entities shall be loaded in read-only mode.
+	 * 
+	 * @return
+	 */
+	public boolean isReadOnly() {
+
+		return readOnly;
+	}
+
+	/**
+	 * Returns the {@link LockModeType} to lock the entities with.
+	 * 
+	 * @return the {@link LockModeType} or {@literal null} if the entities shall not be locked explicitly.
+	 */
+	public LockModeType getLockMode() {
+
+		return lockMode;
+	}
+
+	/**
+	 * Returns how to react on rows already locked by other transactions.
+	 * 
+	 * @return will never be {@literal null}.
+	 */
+	public LockWait getLockWait() {
+
+		return lockWait;
+	}
+
+	/**
+	 * Returns the number of milliseconds to wait for pessimistic locks at most.
+	 * 
+	 * @return the lock timeout or {@literal null} if not configured.
+	 */
+	public Integer getLockTimeout() {
+
+		return lockTimeout;
+	}
+
+	/**
+	 * Returns whether the {@link FetchPlan} does not contain any paths.
+	 * 
+	 * @return
+	 */
+	public boolean isEmpty() {
+
+		return paths.isEmpty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	public Iterator<String> iterator() {
+
+		return paths.iterator();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof FetchPlan)) {
+			return false;
+		}
+
+		FetchPlan that = (FetchPlan) obj;
+		return this.paths.equals(that.paths) && this.readOnly == that.readOnly && this.lockMode == that.lockMode
+				&& this.lockWait == that.lockWait && ObjectUtils.nullSafeEquals(this.lockTimeout, that.lockTimeout);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+
+		int result = paths.hashCode() + (readOnly ? 31 : 0);
+		result += 17 * ObjectUtils.nullSafeHashCode(lockMode);
+		result += 17 * lockWait.hashCode();
+		result += 17 * ObjectUtils.nullSafeHashCode(lockTimeout);
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		String result = StringUtils.collectionToCommaDelimitedString(paths);
+		result = readOnly ? result + " (read-only)" : result;
+
+		if (lockMode != null) {
+			result += String.format(" (lock: %s, %s)", lockMode, lockWait);
+		}
+
+		return lockTimeout == null ? result : result + String.format(" (lock timeout: %s ms)", lockTimeout);
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Value object to capture the deltas to atomically add to numeric attributes of an entity, e.g.
+ * {@code Increment.increment("stock", -1).withMinimum("stock", 0)}. The deltas are applied by a single bulk statement
+ * ({@code set x.stock = x.stock + ?1}) so that concurrent increments neither overwrite each other nor collide on the
+ * version of the entity. Bounds restrict the resulting values and are checked in the where clause of the statement.
+ * 
+ * @author Oliver Gierke
+ */
+public class Increment {
+
+	private final Map<String, Number> deltas = new LinkedHashMap<String, Number>();
+	private final Map<String, Number> minimums = new LinkedHashMap<String, Number>();
+	private final Map<String, Number> maximums = new LinkedHashMap<String, Number>();
+
+	/**
+	 * Creates a new {@link Increment} adding the given delta to the given attribute.
+	 * 
+	 * @param attribute must not be {@literal null} or empty.
+	 * @param delta must not be {@literal null}.
+	 * @return
+	 */
+	public static Increment increment(String attribute, Number delta) {
+
+		return new Increment().add(attribute, delta);
+	}
+
+	/**
+	 * Adds the given delta to the given attribute. Adding to the same attribute twice replaces the previous delta.
+	 * 
+	 * @param attribute must not be {@literal null} or empty.
+	 * @param delta must not be {@literal null}, negative values decrement the attribute.
+	 * @return the current {@link Increment}.
+	 */
+	public Increment add(String attribute, Number delta) {
+
+		assertHasText(attribute);
+		Assert.notNull(delta, "Delta must not be null!");
+		deltas.put(attribute, delta);
+		return this;
+	}
+
+	/**
+	 * Only applies the {@link Increment} if the given attribute does not fall below the given value afterwards.
+	 * 
+	 * @param attribute must not be {@literal null} or empty and must have been given a delta.
+	 * @param minimum must not be {@literal null}.
+	 * @return the current {@link Increment}.
+	 */
+	public Increment withMinimum(String attribute, Number minimum) {
+
+		assertIsIncremented(attribute);
+		Assert.notNull(minimum, "Minimum must not be null!");
+		minimums.put(attribute, minimum);
+		return this;
+	}
+
+	/**
+	 * Only applies the {@link Increment} if the given attribute does not exceed the given value afterwards.
+	 * 
+	 * @param attribute must not be {@literal null} or empty and must have been given a delta.
+	 * @param maximum must not be {@literal null}.
+	 * @return the current {@link Increment}.
+	 */
+	public Increment withMaximum(String attribute, Number maximum) {
+
+		assertIsIncremented(attribute);
+		Assert.notNull(maximum, "Maximum must not be null!");
+		maximums.put(attribute, maximum);
+		return this;
+	}
+
+	/**
+	 * Returns the deltas keyed by attribute name.
+	 * 
+	 * @return
+	 */
+	public Map<String, Number> getDeltas() {
+
+		return Collections.unmodifiableMap(deltas);
+	}
+
+	/**
+	 * Returns the lower bounds of the resulting values keyed by attribute name.
+	 * 
+	 * @return
+	 */
+	public Map<String, Number> getMinimums() {
+
+		return Collections.unmodifiableMap(minimums);
+	}
+
+	/**
+	 * Returns the upper bounds of the resulting values keyed by attribute name.
+	 * 
+	 * @return
+	 */
+	public Map<String, Number> getMaximums() {
+
+		return Collections.unmodifiableMap(maximums);
+	}
+
+	/**
+	 * Returns whether the {@link Increment} does not contain any deltas.
+	 * 
+	 * @return
+	 */
+	public boolean isEmpty() {
+
+		return deltas.isEmpty();
+	}
+
+	private static void assertHasText(String attribute) {
+
+		Assert.isTrue(StringUtils.hasText(attribute), "Attribute name must not be null or empty!");
+	}
+
+	private void assertIsIncremented(String attribute) {
+
+		assertHasText(attribute);
+		Assert.isTrue(deltas.containsKey(attribute), String.format("No delta given for attribute %s!", attribute));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return String.format("%s, minimums %s, maximums %s", deltas, minimums, maximums);
+	}
+}
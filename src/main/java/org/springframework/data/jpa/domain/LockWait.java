@@ -0,0 +1,35 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+/**
+ * Policies of how a query acquiring pessimistic locks shall react on rows already locked by other transactions.
+ * 
+ * @author Oliver Gierke
+ */
+public enum LockWait {
+
+	/**
+	 * Waits for the locks to be released, bounded by the lock timeout if one is configured.
+	 */
+	WAIT,
+
+	/**
+	 * Fails immediately with a {@link javax.persistence.LockTimeoutException} or
+	 * {@link javax.persistence.PessimisticLockException} if a row is already locked.
+	 */
+	NO_WAIT;
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Value object to describe how to scan all entities matching a {@link Specification}. The range of values of a
+ * numeric attribute (the id attribute by default) is split into the given number of partitions. Each partition is read
+ * with an {@link javax.persistence.EntityManager} of its own in chunks of the configured size on a thread obtained from
+ * the configured {@link Executor}. The number of partitions processed concurrently, and thus the number of connections
+ * used, is bounded by the configured concurrency. Without an {@link Executor} the partitions are processed one after
+ * another on the calling thread.
+ * 
+ * @author Oliver Gierke
+ */
+public class PartitionedScan {
+
+	private static final int DEFAULT_CHUNK_SIZE = 100;
+
+	private final int partitions;
+	private final int concurrency;
+	private final int chunkSize;
+	private final String attribute;
+	private final Executor executor;
+
+	/**
+	 * Creates a new {@link PartitionedScan} splitting the id range into the given number of partitions and processing
+	 * all of them concurrently.
+	 * 
+	 * @param partitions must be greater than zero.
+	 */
+	public PartitionedScan(int partitions) {
+
+		this(partitions, partitions, DEFAULT_CHUNK_SIZE, null, null);
+	}
+
+	private PartitionedScan(int partitions, int concurrency, int chunkSize, String attribute, Executor executor) {
+
+		Assert.isTrue(partitions > 0, "Number of partitions must be greater than zero!");
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than zero!");
+		Assert.isTrue(chunkSize > 0, "Chunk size must be greater than zero!");
+
+		this.partitions = partitions;
+		this.concurrency = concurrency;
+		this.chunkSize = chunkSize;
+		this.attribute = attribute;
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns a new {@link PartitionedScan} processing at most the given number of partitions concurrently.
+	 * 
+	 * @param concurrency must be greater than zero.
+	 * @return
+	 */
+	public PartitionedScan withConcurrency(int concurrency) {
+
+		return new PartitionedScan(partitions, concurrency, chunkSize, attribute, executor);
+	}
+
+	/**
+	 * Returns a new {@link PartitionedScan} reading the given number of entities per query. The
+	 * {@link javax.persistence.EntityManager} of a partition is cleared after each chunk.
+	 * 
+	 * @param chunkSize must be greater than zero.
+	 * @return
+	 */
+	public PartitionedScan withChunkSize(int chunkSize) {
+
+		return new PartitionedScan(partitions, concurrency, chunkSize, attribute, executor);
+	}
+
+	/**
+	 * Returns a new {@link PartitionedScan} splitting the value range of the given numeric attribute instead of the id
+	 * attribute.
+	 * 
+	 * @param attribute must not be {@literal null} or empty.
+	 * @return
+	 */
+	public PartitionedScan on(String attribute) {
+
+		Assert.isTrue(StringUtils.hasText(attribute), "Partition attribute must not be null or empty!");
+		return new PartitionedScan(partitions, concurrency, chunkSize, attribute, executor);
+	}
+
+	/**
+	 * Returns a new {@link PartitionedScan} processing the partitions on threads obtained from the given
+	 * {@link Executor}.
+	 * 
+	 * @param executor must not be {@literal null}.
+	 * @return
+	 */
+	public PartitionedScan using(Executor executor) {
+
+		Assert.notNull(executor);
+		return new PartitionedScan(partitions, concurrency, chunkSize, attribute, executor);
+	}
+
+	/**
+	 * Returns the number of partitions to split the value range into.
+	 * 
+	 * @return
+	 */
+	public int getPartitions() {
+
+		return partitions;
+	}
+
+	/**
+	 * Returns the maximum number of partitions to be processed concurrently.
+	 * 
+	 * @return
+	 */
+	public int getConcurrency() {
+
+		return Math.min(concurrency, partitions);
+	}
+
+	/**
+	 * Returns the number of entities to be read per query.
+	 * 
+	 * @return
+	 */
+	public int getChunkSize() {
+
+		return chunkSize;
+	}
+
+	/**
+	 * Returns the name of the attribute to partition by.
+	 * 
+	 * @return the attribute name or {@literal null} if the id attribute shall be used.
+	 */
+	public String getAttribute() {
+
+		return attribute;
+	}
+
+	/**
+	 * Returns the {@link Executor} to process the partitions on.
+	 * 
+	 * @return the {@link Executor} or {@literal null} if the partitions shall be processed on the calling thread.
+	 */
+	public Executor getExecutor() {
+
+		return executor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return String.format("%s partitions on %s, concurrency %s, chunk size %s", partitions, attribute == null ? "id"
+				: attribute, getConcurrency(), chunkSize);
+	}
+}
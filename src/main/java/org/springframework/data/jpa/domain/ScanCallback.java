@@ -0,0 +1,33 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+/**
+ * Callback interface to process the entities read by a {@link PartitionedScan}. As the partitions are processed
+ * concurrently, implementations have to be thread-safe.
+ * 
+ * @author Oliver Gierke
+ */
+public interface ScanCallback<T> {
+
+	/**
+	 * Processes the given entity. The entity will be detached from the {@link javax.persistence.EntityManager} it was
+	 * read with after the current chunk of entities has been processed, so changes to it will not be persisted.
+	 * 
+	 * @param entity will never be {@literal null}.
+	 */
+	void doWith(T entity);
+}
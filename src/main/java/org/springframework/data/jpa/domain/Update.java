@@ -0,0 +1,92 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Value object to capture the assignments of a bulk update, e.g.
+ * {@code Update.update("active", false).set("manager", null)}. Attribute names refer to singular attributes of the
+ * entity and are validated against the JPA metamodel when the update is executed.
+ * 
+ * @author Oliver Gierke
+ */
+public class Update {
+
+	private final Map<String, Object> assignments = new LinkedHashMap<String, Object>();
+
+	/**
+	 * Creates a new {@link Update} assigning the given value to the given attribute.
+	 * 
+	 * @param attribute must not be {@literal null} or empty.
+	 * @param value can be {@literal null}.
+	 * @return
+	 */
+	public static Update update(String attribute, Object value) {
+
+		return new Update().set(attribute, value);
+	}
+
+	/**
+	 * Adds an assignment of the given value to the given attribute. Assigning the same attribute twice replaces the
+	 * previous value.
+	 * 
+	 * @param attribute must not be {@literal null} or empty.
+	 * @param value can be {@literal null}.
+	 * @return the current {@link Update}.
+	 */
+	public Update set(String attribute, Object value) {
+
+		Assert.isTrue(StringUtils.hasText(attribute), "Attribute name must not be null or empty!");
+		assignments.put(attribute, value);
+		return this;
+	}
+
+	/**
+	 * Returns the assignments of the {@link Update} keyed by attribute name.
+	 * 
+	 * @return
+	 */
+	public Map<String, Object> getAssignments() {
+
+		return Collections.unmodifiableMap(assignments);
+	}
+
+	/**
+	 * Returns whether the {@link Update} does not contain any assignments.
+	 * 
+	 * @return
+	 */
+	public boolean isEmpty() {
+
+		return assignments.isEmpty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return assignments.toString();
+	}
+}
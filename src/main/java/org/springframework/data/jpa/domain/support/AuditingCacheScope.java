@@ -0,0 +1,37 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain.support;
+
+/**
+ * The scope in which the current auditor and date are reused by the {@link AuditingEntityListener} once they were
+ * resolved. There is no scope bound to a single flush of the persistence context as JPA does not notify entity
+ * listeners about flushes.
+ * 
+ * @author Oliver Gierke
+ */
+public enum AuditingCacheScope {
+
+	/**
+	 * Resolves the current auditor and date for every entity touched.
+	 */
+	ENTITY,
+
+	/**
+	 * Resolves the current auditor and date once per transaction. Requires transaction synchronization to be active,
+	 * falls back to {@link #ENTITY} otherwise.
+	 */
+	TRANSACTION;
+}
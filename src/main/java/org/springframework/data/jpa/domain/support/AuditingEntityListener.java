@@ -21,10 +21,13 @@ import javax.persistence.PreUpdate;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Configurable;
 import org.springframework.data.domain.Auditable;
 import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
 /**
@@ -47,18 +50,33 @@ import org.springframework.util.Assert;
  * &lt;jpa:auditing auditor-aware-ref="yourAuditorAwarebean" /&gt;
  * </pre>
  * 
+ * By default the current auditor and date are resolved for every entity touched. Configure an
+ * {@link AuditingCacheScope} to resolve them only once per transaction when persisting large numbers of entities.
+ * 
  * @author Oliver Gierke
  */
 @Configurable
-public class AuditingEntityListener<T> implements InitializingBean {
+public class AuditingEntityListener<T> implements InitializingBean, BeanNameAware {
 
 	private static final Logger LOG = LoggerFactory.getLogger(AuditingEntityListener.class);
 
 	private AuditorAware<T> auditorAware;
+	private DateTimeProvider dateTimeProvider = CurrentDateTimeProvider.INSTANCE;
+	private AuditingCacheScope cacheScope = AuditingCacheScope.ENTITY;
 
 	private boolean dateTimeForNow = true;
 	private boolean modifyOnCreation = true;
 
+	private Object snapshotKey = this;
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.BeanNameAware#setBeanName(java.lang.String)
+	 */
+	public void setBeanName(String name) {
+		this.snapshotKey = AuditingSnapshot.class.getName() + "#" + name;
+	}
+
 	/**
 	 * Setter to inject a {@code AuditorAware} component to retrieve the current auditor.
 	 * 
@@ -70,6 +88,28 @@ public class AuditingEntityListener<T> implements InitializingBean {
 		this.auditorAware = auditorAware;
 	}
 
+	/**
+	 * Setter to inject a {@link DateTimeProvider} to calculate the creation and modification dates. Defaults to
+	 * {@link CurrentDateTimeProvider}.
+	 * 
+	 * @param dateTimeProvider the dateTimeProvider to set
+	 */
+	public void setDateTimeProvider(DateTimeProvider dateTimeProvider) {
+
+		this.dateTimeProvider = dateTimeProvider == null ? CurrentDateTimeProvider.INSTANCE : dateTimeProvider;
+	}
+
+	/**
+	 * Configures the scope in which the current auditor and date are reused once resolved. Defaults to
+	 * {@link AuditingCacheScope#ENTITY}.
+	 * 
+	 * @param cacheScope the cacheScope to set
+	 */
+	public void setCacheScope(AuditingCacheScope cacheScope) {
+
+		this.cacheScope = cacheScope == null ? AuditingCacheScope.ENTITY : cacheScope;
+	}
+
 	/**
 	 * Setter do determine if {@link Auditable#setCreatedDate(DateTime)} and
 	 * {@link Auditable#setLastModifiedDate(DateTime)} shall be filled with the current Java time. Defaults to
@@ -93,6 +133,47 @@ public class AuditingEntityListener<T> implements InitializingBean {
 		this.modifyOnCreation = modifyOnCreation;
 	}
 
+	/**
+	 * Returns whether an {@link AuditorAware} is configured, i.e. whether auditors are captured at all.
+	 * 
+	 * @return
+	 */
+	public boolean hasAuditorAware() {
+
+		return auditorAware != null;
+	}
+
+	/**
+	 * Returns whether creation and modification dates are set to the current time.
+	 * 
+	 * @return
+	 */
+	public boolean isDateTimeForNow() {
+
+		return dateTimeForNow;
+	}
+
+	/**
+	 * Returns the current auditor, reusing an auditor already resolved according to the {@link AuditingCacheScope}
+	 * configured. Allows to audit modifications that bypass the entity lifecycle callbacks, e.g. bulk updates.
+	 * 
+	 * @return the current auditor or {@literal null} if no {@link AuditorAware} is configured.
+	 */
+	public T getCurrentAuditor() {
+
+		return auditorAware == null ? null : getSnapshot().getAuditor(auditorAware);
+	}
+
+	/**
+	 * Returns the current date, reusing a date already resolved according to the {@link AuditingCacheScope} configured.
+	 * 
+	 * @return the current date or {@literal null} if dates shall not be set.
+	 */
+	public DateTime getCurrentDateTime() {
+
+		return dateTimeForNow ? getSnapshot().getDateTime(dateTimeProvider) : null;
+	}
+
 	/**
 	 * Sets modification and creation date and auditor on the target object in case it implements {@link Auditable} on
 	 * persist events.
@@ -126,13 +207,49 @@ public class AuditingEntityListener<T> implements InitializingBean {
 		@SuppressWarnings("unchecked")
 		Auditable<T, ?> auditable = (Auditable<T, ?>) target;
 
-		T auditor = touchAuditor(auditable, isNew);
-		DateTime now = dateTimeForNow ? touchDate(auditable, isNew) : null;
+		AuditingSnapshot<T> snapshot = getSnapshot();
 
-		Object defaultedNow = now == null ? "not set" : now;
-		Object defaultedAuditor = auditor == null ? "unknown" : auditor;
+		T auditor = touchAuditor(auditable, isNew, snapshot);
+		DateTime now = dateTimeForNow ? touchDate(auditable, isNew, snapshot) : null;
 
-		LOG.debug("Touched {} - Last modification at {} by {}", new Object[] { auditable, defaultedNow, defaultedAuditor });
+		if (LOG.isDebugEnabled()) {
+
+			Object defaultedNow = now == null ? "not set" : now;
+			Object defaultedAuditor = auditor == null ? "unknown" : auditor;
+
+			LOG.debug("Touched {} - Last modification at {} by {}",
+					new Object[] { auditable, defaultedNow, defaultedAuditor });
+		}
+	}
+
+	/**
+	 * Returns the {@link AuditingSnapshot} to resolve the current auditor and date from. Depending on the
+	 * {@link AuditingCacheScope} the snapshot is bound to the current transaction and released on transaction completion.
+	 * It is keyed by the name of the bean definition configuring the listener so that the instances created by the
+	 * persistence provider and the one used to audit bulk updates share it while differently configured listeners don't.
+	 * Listeners not configured by a bean definition use their own snapshot.
+	 * 
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private AuditingSnapshot<T> getSnapshot() {
+
+		if (cacheScope == AuditingCacheScope.ENTITY || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return new AuditingSnapshot<T>();
+		}
+
+		AuditingSnapshot<T> snapshot = (AuditingSnapshot<T>) TransactionSynchronizationManager.getResource(snapshotKey);
+
+		if (snapshot != null) {
+			return snapshot;
+		}
+
+		snapshot = new AuditingSnapshot<T>();
+		TransactionSynchronizationManager.bindResource(snapshotKey, snapshot);
+		TransactionSynchronizationManager.registerSynchronization(new SnapshotReleasingSynchronization(snapshotKey,
+				snapshot));
+
+		return snapshot;
 	}
 
 	/**
@@ -141,13 +258,13 @@ public class AuditingEntityListener<T> implements InitializingBean {
 	 * @param auditable
 	 * @return
 	 */
-	private T touchAuditor(final Auditable<T, ?> auditable, boolean isNew) {
+	private T touchAuditor(final Auditable<T, ?> auditable, boolean isNew, AuditingSnapshot<T> snapshot) {
 
 		if (null == auditorAware) {
 			return null;
 		}
 
-		T auditor = auditorAware.getCurrentAuditor();
+		T auditor = snapshot.getAuditor(auditorAware);
 
 		if (isNew) {
 
@@ -169,9 +286,9 @@ public class AuditingEntityListener<T> implements InitializingBean {
 	 * @param auditable
 	 * @return
 	 */
-	private DateTime touchDate(final Auditable<T, ?> auditable, boolean isNew) {
+	private DateTime touchDate(final Auditable<T, ?> auditable, boolean isNew, AuditingSnapshot<T> snapshot) {
 
-		DateTime now = new DateTime();
+		DateTime now = snapshot.getDateTime(dateTimeProvider);
 
 		if (isNew) {
 			auditable.setCreatedDate(now);
@@ -198,4 +315,71 @@ public class AuditingEntityListener<T> implements InitializingBean {
 			LOG.debug("No AuditorAware set! Auditing will not be applied!");
 		}
 	}
+
+	/**
+	 * Lazily resolves the current auditor and date once.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class AuditingSnapshot<T> {
+
+		private T auditor;
+		private boolean auditorResolved;
+		private DateTime dateTime;
+
+		public T getAuditor(AuditorAware<T> auditorAware) {
+
+			if (!auditorResolved) {
+				auditor = auditorAware.getCurrentAuditor();
+				auditorResolved = true;
+			}
+
+			return auditor;
+		}
+
+		public DateTime getDateTime(DateTimeProvider provider) {
+
+			if (dateTime == null) {
+				dateTime = provider.getDateTime();
+			}
+
+			return dateTime;
+		}
+	}
+
+	/**
+	 * Unbinds the {@link AuditingSnapshot} from the transaction on completion. Unbinds it while the transaction is
+	 * suspended, too, so that inner transactions resolve the current auditor and date on their own.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class SnapshotReleasingSynchronization extends TransactionSynchronizationAdapter {
+
+		private final Object key;
+		private final AuditingSnapshot<?> snapshot;
+
+		public SnapshotReleasingSynchronization(Object key, AuditingSnapshot<?> snapshot) {
+
+			this.key = key;
+			this.snapshot = snapshot;
+		}
+
+		@Override
+		public void suspend() {
+
+			TransactionSynchronizationManager.unbindResourceIfPossible(key);
+		}
+
+		@Override
+		public void resume() {
+
+			TransactionSynchronizationManager.bindResource(key, snapshot);
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+
+			TransactionSynchronizationManager.unbindResourceIfPossible(key);
+		}
+	}
 }
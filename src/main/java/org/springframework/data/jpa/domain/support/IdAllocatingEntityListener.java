@@ -0,0 +1,90 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain.support;
+
+import javax.persistence.PrePersist;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Configurable;
+import org.springframework.data.jpa.domain.AbstractAllocatedPersistable;
+import org.springframework.data.jpa.domain.IdAllocator;
+import org.springframework.util.Assert;
+
+/**
+ * JPA entity listener to assign ids to {@link AbstractAllocatedPersistable}s before they get persisted. There is no
+ * default {@link IdAllocator} as a {@link TimeBasedIdAllocator} requires a node id unique to the process. Activate
+ * {@code <context:spring-configured />} and declare a prototype bean named after this class to configure one, e.g. a
+ * {@link TimeBasedIdAllocator} or a {@link PooledIdAllocator}:
+ * 
+ * <pre>
+ * &lt;bean class="org.springframework.data.jpa.domain.support.IdAllocatingEntityListener" scope="prototype"&gt;
+ *   &lt;property name="idAllocator" ref="yourIdAllocator" /&gt;
+ * &lt;/bean&gt;
+ * </pre>
+ * 
+ * Persisting an {@link AbstractAllocatedPersistable} without id fails if no {@link IdAllocator} is configured.
+ * 
+ * @author Oliver Gierke
+ */
+@Configurable
+public class IdAllocatingEntityListener implements InitializingBean {
+
+	private static final String NO_ALLOCATOR = "No IdAllocator configured! Declare a prototype bean named "
+			+ IdAllocatingEntityListener.class.getName() + " and activate <context:spring-configured />!";
+
+	private IdAllocator idAllocator;
+
+	/**
+	 * Setter to inject the {@link IdAllocator} to obtain ids from.
+	 * 
+	 * @param idAllocator must not be {@literal null}.
+	 */
+	public void setIdAllocator(IdAllocator idAllocator) {
+
+		Assert.notNull(idAllocator);
+		this.idAllocator = idAllocator;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
+	 */
+	public void afterPropertiesSet() {
+
+		Assert.state(idAllocator != null, NO_ALLOCATOR);
+	}
+
+	/**
+	 * Assigns an id to the given entity if it is an {@link AbstractAllocatedPersistable} without id.
+	 * 
+	 * @param target
+	 * @throws IllegalStateException if no {@link IdAllocator} is configured.
+	 */
+	@PrePersist
+	public void allocateId(Object target) {
+
+		if (!(target instanceof AbstractAllocatedPersistable)) {
+			return;
+		}
+
+		AbstractAllocatedPersistable persistable = (AbstractAllocatedPersistable) target;
+
+		if (persistable.isNew()) {
+			Assert.state(idAllocator != null, NO_ALLOCATOR);
+			persistable.allocateId(idAllocator);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.data.jpa.domain.IdAllocator;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.util.Assert;
+
+/**
+ * {@link IdAllocator} allocating ids in blocks using the hi/lo algorithm. Each value obtained from the given
+ * {@link DataFieldMaxValueIncrementer} reserves a block of ids which are then handed out from memory without locking.
+ * Only fetching the next block requires synchronization. The incrementer can be backed by a sequence or a table. Table
+ * based incrementers should use a {@link javax.sql.DataSource} not participating in transactions so that rolled back
+ * transactions don't hand out blocks twice.
+ * 
+ * @author Oliver Gierke
+ */
+public class PooledIdAllocator implements IdAllocator {
+
+	private final DataFieldMaxValueIncrementer incrementer;
+	private final int blockSize;
+	private final AtomicReference<Block> current = new AtomicReference<Block>();
+
+	/**
+	 * Creates a new {@link PooledIdAllocator}.
+	 * 
+	 * @param incrementer must not be {@literal null}.
+	 * @param blockSize the number of ids reserved by each value of the incrementer, must be greater than 0.
+	 */
+	public PooledIdAllocator(DataFieldMaxValueIncrementer incrementer, int blockSize) {
+
+		Assert.notNull(incrementer);
+		Assert.isTrue(blockSize > 0, "Block size must be greater than 0!");
+
+		this.incrementer = incrementer;
+		this.blockSize = blockSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.domain.IdAllocator#nextId()
+	 */
+	public long nextId() {
+
+		while (true) {
+
+			Block block = current.get();
+
+			if (block != null) {
+
+				long id = block.next.getAndIncrement();
+
+				if (id <= block.max) {
+					return id;
+				}
+			}
+
+			fetchBlock(block);
+		}
+	}
+
+	/**
+	 * Fetches a new {@link Block} if the given exhausted one is still the current one.
+	 * 
+	 * @param exhausted
+	 */
+	private synchronized void fetchBlock(Block exhausted) {
+
+		if (current.get() != exhausted) {
+			return;
+		}
+
+		long start = incrementer.nextLongValue() * blockSize;
+		current.set(new Block(start, start + blockSize - 1));
+	}
+
+	/**
+	 * A range of ids reserved.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class Block {
+
+		final AtomicLong next;
+		final long max;
+
+		Block(long start, long max) {
+
+			this.next = new AtomicLong(start);
+			this.max = max;
+		}
+	}
+}
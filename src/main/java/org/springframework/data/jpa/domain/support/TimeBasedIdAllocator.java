@@ -0,0 +1,85 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.jpa.domain.IdAllocator;
+import org.springframework.util.Assert;
+
+/**
+ * {@link IdAllocator} generating time-ordered 64-bit ids entirely in process. An id consists of the milliseconds
+ * elapsed since 2011-01-01 UTC (41 bits), a node id (10 bits) and a sequence number within the millisecond (12 bits).
+ * Ids are strictly increasing per allocator, even if the system clock is set back. Processes sharing a database have
+ * to use distinct node ids.
+ * 
+ * @author Oliver Gierke
+ */
+public class TimeBasedIdAllocator implements IdAllocator {
+
+	static final long EPOCH = 1293840000000L;
+
+	private static final int NODE_BITS = 10;
+	private static final int SEQUENCE_BITS = 12;
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+	static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+	private final long node;
+	private final AtomicLong state = new AtomicLong();
+
+	/**
+	 * Creates a new {@link TimeBasedIdAllocator} for the given node.
+	 * 
+	 * @param nodeId the id of the process, must be between 0 and 1023.
+	 */
+	public TimeBasedIdAllocator(int nodeId) {
+
+		Assert.isTrue(nodeId >= 0 && nodeId <= MAX_NODE_ID, "Node id must be between 0 and " + MAX_NODE_ID + "!");
+		this.node = nodeId;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.domain.IdAllocator#nextId()
+	 */
+	public long nextId() {
+
+		while (true) {
+
+			long previous = state.get();
+			long timestamp = getCurrentTimeMillis() - EPOCH;
+
+			// Keep counting on the previous timestamp if the clock did not advance, overflows carry into the timestamp
+			long next = timestamp > previous >>> SEQUENCE_BITS ? timestamp << SEQUENCE_BITS : previous + 1;
+
+			if (state.compareAndSet(previous, next)) {
+				return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS
+						| (next & SEQUENCE_MASK);
+			}
+		}
+	}
+
+	/**
+	 * Returns the current time in milliseconds.
+	 * 
+	 * @return
+	 */
+	protected long getCurrentTimeMillis() {
+
+		return System.currentTimeMillis();
+	}
+}
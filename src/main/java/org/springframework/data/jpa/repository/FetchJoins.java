@@ -0,0 +1,45 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to declare associations that shall be fetched eagerly by a query derived from the method name. The paths
+ * are applied as (left outer) fetch joins to the query and validated against the JPA metamodel on repository
+ * creation. As fetching collections multiplies the rows returned, the query will be turned into a {@code distinct}
+ * one automatically in that case. Count queries derived for paging will not contain the fetch joins. Collections cannot
+ * be fetched by paginated query methods though, as the persistence provider would have to load all matching rows to
+ * apply the pagination in memory. Such methods are rejected on repository creation.
+ * 
+ * @author Oliver Gierke
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FetchJoins {
+
+	/**
+	 * The association paths to fetch, e.g. {@code roles} or {@code manager.roles}.
+	 * 
+	 * @return
+	 */
+	String[] value();
+}
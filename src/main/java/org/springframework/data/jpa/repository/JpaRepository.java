@@ -21,6 +21,8 @@ import java.util.List;
 import javax.persistence.EntityManager;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Increment;
+import org.springframework.data.jpa.domain.Update;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 /**
@@ -46,6 +48,15 @@ public interface JpaRepository<T, ID extends Serializable> extends PagingAndSort
 	 */
 	List<T> findAll(Sort sort);
 
+	/**
+	 * Returns all entities with the given ids. Issues as few queries as possible, restricting composite ids by row value
+	 * {@code in} clauses if the database supports them.
+	 * 
+	 * @param ids must not be {@literal null}.
+	 * @return the entities found, in no particular order.
+	 */
+	List<T> findAll(Iterable<ID> ids);
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -68,10 +79,56 @@ public interface JpaRepository<T, ID extends Serializable> extends PagingAndSort
 	T saveAndFlush(T entity);
 
 	/**
-	 * Deletes the given entities in a batch which means it will create a single {@link Query}. Assume that we will clear
-	 * the {@link EntityManager} after the call.
+	 * Applies the given {@link Update} to the entity with the given id using a single bulk statement, i.e. without
+	 * loading the entity. Attributes are validated against the JPA metamodel, a numeric version attribute gets
+	 * incremented and a managed copy of the entity is evicted from the {@link EntityManager}. Lifecycle callbacks will
+	 * not be invoked.
+	 * 
+	 * @param id must not be {@literal null}.
+	 * @param update must not be {@literal null} or empty.
+	 * @return whether an entity with the given id was found and updated.
+	 */
+	boolean update(ID id, Update update);
+
+	/**
+	 * Applies the given {@link Update} to the entity with the given id like {@link #update(Serializable, Update)} but
+	 * only if its version attribute still has the given value.
+	 * 
+	 * @param id must not be {@literal null}.
+	 * @param update must not be {@literal null} or empty.
+	 * @param expectedVersion the version the entity was read with, must not be {@literal null}.
+	 * @throws javax.persistence.OptimisticLockException if the entity was modified or deleted concurrently.
+	 */
+	void update(ID id, Update update, Object expectedVersion);
+
+	/**
+	 * Applies the given {@link Update} to the entities with the given ids like {@link #update(Serializable, Update)}
+	 * using as few statements as possible.
+	 * 
+	 * @param ids must not be {@literal null}.
+	 * @param update must not be {@literal null} or empty.
+	 * @return the number of entities updated.
+	 */
+	int update(Iterable<ID> ids, Update update);
+
+	/**
+	 * Atomically adds the deltas of the given {@link Increment} to the numeric attributes of the entity with the given
+	 * id using a single bulk statement. Concurrent increments do not need optimistic locking retries as the database
+	 * applies them one after another. Bounds of the {@link Increment} are checked by the statement itself, a managed copy
+	 * of the entity is evicted from the {@link EntityManager}. Neither lifecycle callbacks nor auditing will be applied.
+	 * 
+	 * @param id must not be {@literal null}.
+	 * @param increment must not be {@literal null} or empty.
+	 * @return whether the entity was found and all bounds were met so that the deltas were applied.
+	 */
+	boolean increment(ID id, Increment increment);
+
+	/**
+	 * Deletes the given entities in a batch which means it will create a single {@link Query} per chunk of ids. Assume
+	 * that we will clear the {@link EntityManager} after the call.
 	 * 
-	 * @param entities
+	 * @param entities must not contain transient entities.
+	 * @throws IllegalArgumentException in case one of the given entities has not been persisted yet.
 	 */
 	void deleteInBatch(Iterable<T> entities);
 }
@@ -20,7 +20,12 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Chunking;
+import org.springframework.data.jpa.domain.FetchPlan;
+import org.springframework.data.jpa.domain.PartitionedScan;
+import org.springframework.data.jpa.domain.ScanCallback;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.Update;
 
 /**
  * Interface to allow execution of {@link Specification}s based on the JPA criteria API.
@@ -63,6 +68,49 @@ public interface JpaSpecificationExecutor<T> {
 	 */
 	List<T> findAll(Specification<T> spec, Sort sort);
 
+	/**
+	 * Returns a single entity matching the given {@link Specification} eagerly fetching the associations contained in
+	 * the given {@link FetchPlan}.
+	 * 
+	 * @param spec
+	 * @param fetchPlan
+	 * @return
+	 */
+	T findOne(Specification<T> spec, FetchPlan fetchPlan);
+
+	/**
+	 * Returns all entities matching the given {@link Specification} eagerly fetching the associations contained in the
+	 * given {@link FetchPlan}.
+	 * 
+	 * @param spec
+	 * @param fetchPlan
+	 * @return
+	 */
+	List<T> findAll(Specification<T> spec, FetchPlan fetchPlan);
+
+	/**
+	 * Returns a {@link Page} of entities matching the given {@link Specification} eagerly fetching the associations
+	 * contained in the given {@link FetchPlan}. The count query issued to calculate the total number of elements will
+	 * not contain the fetches. Fetching collections is rejected if a {@link Pageable} is given.
+	 * 
+	 * @param spec
+	 * @param pageable
+	 * @param fetchPlan
+	 * @return
+	 */
+	Page<T> findAll(Specification<T> spec, Pageable pageable, FetchPlan fetchPlan);
+
+	/**
+	 * Returns all entities matching the given {@link Specification} and {@link Sort} eagerly fetching the associations
+	 * contained in the given {@link FetchPlan}.
+	 * 
+	 * @param spec
+	 * @param sort
+	 * @param fetchPlan
+	 * @return
+	 */
+	List<T> findAll(Specification<T> spec, Sort sort, FetchPlan fetchPlan);
+
 	/**
 	 * Returns the number of instances that the given {@link Specification} will return.
 	 * 
@@ -70,4 +118,62 @@ public interface JpaSpecificationExecutor<T> {
 	 * @return the number of instances
 	 */
 	long count(Specification<T> spec);
+
+	/**
+	 * Hands all entities matching the given {@link Specification} to the given {@link ScanCallback}. The entities are
+	 * read in partitions as described by the given {@link PartitionedScan}, each of them processed on a thread and with
+	 * an {@link javax.persistence.EntityManager} of its own. Returns once all partitions have been processed. Requires the
+	 * entity to have a single id attribute and the partition attribute to be numeric.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param scan must not be {@literal null}.
+	 * @param callback must not be {@literal null}.
+	 */
+	void scan(Specification<T> spec, PartitionedScan scan, ScanCallback<T> callback);
+
+	/**
+	 * Applies the given {@link Update} to all entities matching the given {@link Specification} using bulk statements,
+	 * i.e. without loading the entities. Lifecycle callbacks will not be invoked for the affected entities. A numeric
+	 * version attribute of the entities will be incremented.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param update must not be {@literal null} or empty.
+	 * @return the number of entities updated.
+	 */
+	int updateInBatch(Specification<T> spec, Update update);
+
+	/**
+	 * Deletes all entities matching the given {@link Specification} using bulk statements, i.e. without loading the
+	 * entities. Neither lifecycle callbacks will be invoked nor deletes be cascaded.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @return the number of entities deleted.
+	 */
+	int deleteInBatch(Specification<T> spec);
+
+	/**
+	 * Applies the given {@link Update} to all entities matching the given {@link Specification} using bulk statements
+	 * executed in {@link Chunking chunks}. Each chunk is committed in a transaction of its own. Must not be invoked
+	 * inside a running transaction as the entities held by its persistence context would go stale. The entities of a
+	 * chunk are selected inside its transaction so that entities not matching the {@link Specification} anymore are not
+	 * touched.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param update must not be {@literal null} or empty.
+	 * @param chunking must not be {@literal null}.
+	 * @return the number of entities updated.
+	 */
+	int updateInBatch(Specification<T> spec, Update update, Chunking chunking);
+
+	/**
+	 * Deletes all entities matching the given {@link Specification} using bulk statements executed in {@link Chunking
+	 * chunks}. Each chunk is committed in a transaction of its own. Must not be invoked inside a running transaction as
+	 * the entities held by its persistence context would go stale. The entities of a chunk are selected inside its
+	 * transaction so that entities not matching the {@link Specification} anymore are not deleted.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param chunking must not be {@literal null}.
+	 * @return the number of entities deleted.
+	 */
+	int deleteInBatch(Specification<T> spec, Chunking chunking);
 }
@@ -8,6 +8,8 @@ import java.lang.annotation.Target;
 
 import javax.persistence.LockModeType;
 
+import org.springframework.data.jpa.domain.LockWait;
+
 /**
  * Annotation used to specify the {@link LockModeType} to be used when executing the query. It will be evaluated when
  * using {@link Query} on a query method or if you derive the query from the method name.
@@ -16,5 +18,21 @@ import javax.persistence.LockModeType;
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 public @interface Lock {
+
 	LockModeType value();
+
+	/**
+	 * How to react on rows already locked by other transactions when acquiring pessimistic locks. Only applied if a
+	 * pessimistic {@link #value()} is configured.
+	 * 
+	 * @return
+	 */
+	LockWait lockWait() default LockWait.WAIT;
+
+	/**
+	 * The time in milliseconds to wait for pessimistic locks. Negative values indicate the default shall be used.
+	 * 
+	 * @return
+	 */
+	int timeout() default -1;
 }
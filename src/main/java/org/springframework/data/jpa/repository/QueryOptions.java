@@ -0,0 +1,91 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to configure JDBC level execution settings for a query method in a persistence provider independent way.
+ * The settings will be translated into the according query hints of the persistence provider in use and override the
+ * defaults configured for the repository.
+ * 
+ * @author Oliver Gierke
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryOptions {
+
+	/**
+	 * The number of rows to be fetched from the database in a single round trip. Negative values indicate the default
+	 * shall be used.
+	 * 
+	 * @return
+	 */
+	int fetchSize() default -1;
+
+	/**
+	 * The timeout for the query execution in milliseconds. Negative values indicate the default shall be used.
+	 * 
+	 * @return
+	 */
+	int timeout() default -1;
+
+	/**
+	 * The maximum number of rows the query shall return at all. Negative values indicate the default shall be used.
+	 * 
+	 * @return
+	 */
+	int maxRows() default -1;
+
+	/**
+	 * Whether to execute the query in read-only mode, i.e. without the persistence provider keeping snapshots of the
+	 * entities loaded for dirty checking. Changes to entities loaded that way will not be flushed to the database.
+	 * 
+	 * @return
+	 */
+	boolean readOnly() default false;
+
+	/**
+	 * Whether to cache the results of the query in the query cache of the persistence provider. Requires the query cache
+	 * to be enabled for the persistence unit.
+	 * 
+	 * @return
+	 */
+	boolean cacheable() default false;
+
+	/**
+	 * The time in milliseconds to wait for pessimistic locks acquired by the query. Negative values indicate the default
+	 * shall be used.
+	 * 
+	 * @return
+	 */
+	int lockTimeout() default -1;
+
+	/**
+	 * Whether a paged query method shall compute the total number of elements from the page content instead of issuing
+	 * the count query whenever the content allows to, i.e. if the page is the last one as it is not filled completely.
+	 * Otherwise the count query is executed as usual, so every full page still pays for it. Only the last, partially
+	 * filled page and an empty first page skip the count query.
+	 * 
+	 * @return
+	 */
+	boolean inferTotal() default false;
+}
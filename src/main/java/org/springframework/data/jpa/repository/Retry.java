@@ -0,0 +1,61 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to re-execute a repository or service method if it failed due to a concurrency conflict like an
+ * optimistic locking failure or a deadlock. Each attempt runs in a transaction of its own, so methods are only retried
+ * if they are not invoked inside an already running transaction. Between the attempts the invocation backs off for an
+ * exponentially growing, randomly jittered period of time. Annotating a repository interface or service class applies
+ * the settings to all of its methods.
+ * 
+ * @see org.springframework.data.jpa.repository.support.RetryingMethodInterceptor
+ * @author Oliver Gierke
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface Retry {
+
+	/**
+	 * The maximum number of times the method gets invoked including the initial attempt.
+	 * 
+	 * @return
+	 */
+	int maxAttempts() default 3;
+
+	/**
+	 * The time in milliseconds to back off before the first retry. Doubles with every further retry.
+	 * 
+	 * @return
+	 */
+	long backoff() default 50;
+
+	/**
+	 * The upper bound of the time in milliseconds to back off between two attempts.
+	 * 
+	 * @return
+	 */
+	long maxBackoff() default 1000;
+}
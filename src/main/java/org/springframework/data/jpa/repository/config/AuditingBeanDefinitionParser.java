@@ -61,6 +61,18 @@ public class AuditingBeanDefinitionParser implements BeanDefinitionParser {
 
 		builder.addPropertyValue("dateTimeForNow", element.getAttribute("set-dates"));
 
+		String dateTimeProviderRef = element.getAttribute("date-time-provider-ref");
+
+		if (StringUtils.hasText(dateTimeProviderRef)) {
+			builder.addPropertyReference("dateTimeProvider", dateTimeProviderRef);
+		}
+
+		String cacheScope = element.getAttribute("cache-scope");
+
+		if (StringUtils.hasText(cacheScope)) {
+			builder.addPropertyValue("cacheScope", cacheScope.toUpperCase());
+		}
+
 		registerInfrastructureBeanWithId(builder.getRawBeanDefinition(), AUDITING_ENTITY_LISTENER_CLASS_NAME, parser,
 				element);
 
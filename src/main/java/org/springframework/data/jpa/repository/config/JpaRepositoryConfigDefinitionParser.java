@@ -44,6 +44,7 @@ class JpaRepositoryConfigDefinitionParser extends
 	private static final Class<?> PAB_POST_PROCESSOR = PersistenceAnnotationBeanPostProcessor.class;
 	private static final Class<?> PET_POST_PROCESSOR = PersistenceExceptionTranslationPostProcessor.class;
 	private static final String DEFAULT_TRANSACTION_MANAGER_BEAN_NAME = "transactionManager";
+	private static final String DEFAULT_ENTITY_MANAGER_FACTORY_BEAN_NAME = "entityManagerFactory";
 
 	/*
 	 * (non-Javadoc)
@@ -68,10 +69,70 @@ class JpaRepositoryConfigDefinitionParser extends
 		builder.addPropertyValue("transactionManager", transactionManagerRef);
 
 		String entityManagerRef = ctx.getEntityManagerFactoryRef();
+		String replicaEntityManagerRef = ctx.getReplicaEntityManagerFactoryRef();
 
-		if (StringUtils.hasText(entityManagerRef)) {
+		if (StringUtils.hasText(replicaEntityManagerRef)) {
+			builder.addPropertyValue("entityManager", getRoutingEntityManagerBeanDefinitionFor(entityManagerRef,
+					replicaEntityManagerRef, ctx.getReplicaStickinessWindow(), ctx.getReplicaClientKeyResolverRef(),
+					beanSource));
+		} else if (StringUtils.hasText(entityManagerRef)) {
 			builder.addPropertyValue("entityManager", getEntityManagerBeanDefinitionFor(entityManagerRef, beanSource));
 		}
+
+		if (hasQueryOptions(ctx)) {
+			builder.addPropertyValue("queryOptions", getQueryOptionsBeanDefinitionFor(ctx, beanSource));
+		}
+
+		if (StringUtils.hasText(ctx.getAsyncExecutorRef())) {
+			builder.addPropertyReference("asyncExecutor", ctx.getAsyncExecutorRef());
+		}
+
+		if (StringUtils.hasText(ctx.getParallelCount())) {
+			builder.addPropertyValue("parallelCount", ctx.getParallelCount());
+		}
+
+		if (StringUtils.hasText(ctx.getCountExecutorRef())) {
+			builder.addPropertyReference("countExecutor", ctx.getCountExecutorRef());
+		}
+	}
+
+	private static boolean hasQueryOptions(JpaRepositoryConfiguration ctx) {
+
+		return StringUtils.hasText(ctx.getFetchSize()) || StringUtils.hasText(ctx.getQueryTimeout())
+				|| StringUtils.hasText(ctx.getMaxRows()) || StringUtils.hasText(ctx.getReadOnlyQueries())
+				|| StringUtils.hasText(ctx.getFlushMode());
+	}
+
+	/**
+	 * Creates a bean definition for {@link org.springframework.data.jpa.repository.query.JpaQueryOptions} carrying the
+	 * defaults configured for the repository.
+	 * 
+	 * @param ctx
+	 * @param source
+	 * @return
+	 */
+	private BeanDefinition getQueryOptionsBeanDefinitionFor(JpaRepositoryConfiguration ctx, Object source) {
+
+		BeanDefinitionBuilder builder = BeanDefinitionBuilder
+				.rootBeanDefinition("org.springframework.data.jpa.repository.query.JpaQueryOptions");
+
+		addPropertyValueIfSet(builder, "fetchSize", ctx.getFetchSize());
+		addPropertyValueIfSet(builder, "timeout", ctx.getQueryTimeout());
+		addPropertyValueIfSet(builder, "maxRows", ctx.getMaxRows());
+		addPropertyValueIfSet(builder, "readOnlyInReadOnlyTransactions", ctx.getReadOnlyQueries());
+		addPropertyValueIfSet(builder, "flushMode", ctx.getFlushMode());
+
+		AbstractBeanDefinition bean = builder.getRawBeanDefinition();
+		bean.setSource(source);
+
+		return bean;
+	}
+
+	private static void addPropertyValueIfSet(BeanDefinitionBuilder builder, String property, String value) {
+
+		if (StringUtils.hasText(value)) {
+			builder.addPropertyValue(property, value);
+		}
 	}
 
 	/**
@@ -95,6 +156,40 @@ class JpaRepositoryConfigDefinitionParser extends
 		return bean;
 	}
 
+	/**
+	 * Creates a {@link org.springframework.data.jpa.support.ReadReplicaSharedEntityManagerBean} to route read-only
+	 * transactions to the {@link javax.persistence.EntityManagerFactory} of the read replica.
+	 * 
+	 * @param entityManagerFactoryBeanName can be {@literal null} to use a bean named {@code entityManagerFactory}.
+	 * @param replicaEntityManagerFactoryBeanName
+	 * @param stickinessWindow can be {@literal null}.
+	 * @param clientKeyResolverBeanName can be {@literal null}.
+	 * @param source
+	 * @return
+	 */
+	private BeanDefinition getRoutingEntityManagerBeanDefinitionFor(String entityManagerFactoryBeanName,
+			String replicaEntityManagerFactoryBeanName, String stickinessWindow, String clientKeyResolverBeanName,
+			Object source) {
+
+		BeanDefinitionBuilder builder = BeanDefinitionBuilder
+				.rootBeanDefinition("org.springframework.data.jpa.support.ReadReplicaSharedEntityManagerBean");
+
+		builder.addPropertyReference("entityManagerFactory",
+				StringUtils.hasText(entityManagerFactoryBeanName) ? entityManagerFactoryBeanName
+						: DEFAULT_ENTITY_MANAGER_FACTORY_BEAN_NAME);
+		builder.addPropertyReference("replicaEntityManagerFactory", replicaEntityManagerFactoryBeanName);
+		addPropertyValueIfSet(builder, "stickinessWindow", stickinessWindow);
+
+		if (StringUtils.hasText(clientKeyResolverBeanName)) {
+			builder.addPropertyReference("clientKeyResolver", clientKeyResolverBeanName);
+		}
+
+		AbstractBeanDefinition bean = builder.getRawBeanDefinition();
+		bean.setSource(source);
+
+		return bean;
+	}
+
 	/**
 	 * Registers an additional {@link org.springframework.orm.jpa.support.PersistenceAnnotationBeanPostProcessor} to
 	 * trigger automatic injextion of {@link javax.persistence.EntityManager} .
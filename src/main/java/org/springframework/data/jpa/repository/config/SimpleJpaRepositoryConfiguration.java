@@ -29,6 +29,17 @@ public class SimpleJpaRepositoryConfiguration extends
 
 	private static final String FACTORY_CLASS = "org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean";
 	private static final String ENTITY_MANAGER_FACTORY_REF = "entity-manager-factory-ref";
+	private static final String FETCH_SIZE = "fetch-size";
+	private static final String QUERY_TIMEOUT = "query-timeout";
+	private static final String MAX_ROWS = "max-rows";
+	private static final String REPLICA_ENTITY_MANAGER_FACTORY_REF = "replica-entity-manager-factory-ref";
+	private static final String REPLICA_STICKINESS_WINDOW = "replica-stickiness-window";
+	private static final String REPLICA_CLIENT_KEY_RESOLVER_REF = "replica-client-key-resolver-ref";
+	private static final String READ_ONLY_QUERIES = "read-only-queries";
+	private static final String FLUSH_MODE = "flush-mode";
+	private static final String ASYNC_EXECUTOR_REF = "async-executor-ref";
+	private static final String PARALLEL_COUNT = "parallel-count";
+	private static final String COUNT_EXECUTOR_REF = "count-executor-ref";
 
 	/**
 	 * @param repositoriesElement
@@ -87,6 +98,117 @@ public class SimpleJpaRepositoryConfiguration extends
 		return getSource().getAttribute(ENTITY_MANAGER_FACTORY_REF);
 	}
 
+	/**
+	 * Returns the default JDBC fetch size to be used for the repositories' queries.
+	 * 
+	 * @return
+	 */
+	public String getFetchSize() {
+
+		return getSource().getAttribute(FETCH_SIZE);
+	}
+
+	/**
+	 * Returns the default timeout in milliseconds to be used for the repositories' queries.
+	 * 
+	 * @return
+	 */
+	public String getQueryTimeout() {
+
+		return getSource().getAttribute(QUERY_TIMEOUT);
+	}
+
+	/**
+	 * Returns the default maximum number of rows to be returned by the repositories' queries.
+	 * 
+	 * @return
+	 */
+	public String getMaxRows() {
+
+		return getSource().getAttribute(MAX_ROWS);
+	}
+
+	/**
+	 * Returns the name of the {@link javax.persistence.EntityManagerFactory} bean of the read replica.
+	 * 
+	 * @return
+	 */
+	public String getReplicaEntityManagerFactoryRef() {
+
+		return getSource().getAttribute(REPLICA_ENTITY_MANAGER_FACTORY_REF);
+	}
+
+	/**
+	 * Returns the time in milliseconds read-only transactions are still routed to the primary database after a write.
+	 * 
+	 * @return
+	 */
+	public String getReplicaStickinessWindow() {
+
+		return getSource().getAttribute(REPLICA_STICKINESS_WINDOW);
+	}
+
+	/**
+	 * Returns the name of the {@link org.springframework.data.jpa.support.ClientKeyResolver} bean to track the
+	 * stickiness to the primary database per client.
+	 * 
+	 * @return
+	 */
+	public String getReplicaClientKeyResolverRef() {
+
+		return getSource().getAttribute(REPLICA_CLIENT_KEY_RESOLVER_REF);
+	}
+
+	/**
+	 * Returns whether to execute the repositories' queries as read-only ones inside read-only transactions.
+	 * 
+	 * @return
+	 */
+	public String getReadOnlyQueries() {
+
+		return getSource().getAttribute(READ_ONLY_QUERIES);
+	}
+
+	/**
+	 * Returns the default flush mode to be used for the repositories' queries.
+	 * 
+	 * @return
+	 */
+	public String getFlushMode() {
+
+		return getSource().getAttribute(FLUSH_MODE);
+	}
+
+	/**
+	 * Returns the name of the {@link java.util.concurrent.Executor} bean to execute asynchronous query methods on.
+	 * 
+	 * @return
+	 */
+	public String getAsyncExecutorRef() {
+
+		return getSource().getAttribute(ASYNC_EXECUTOR_REF);
+	}
+
+	/**
+	 * Returns whether to execute count queries for pages concurrently on the asynchronous executor.
+	 * 
+	 * @return
+	 */
+	public String getParallelCount() {
+
+		return getSource().getAttribute(PARALLEL_COUNT);
+	}
+
+	/**
+	 * Returns the name of the {@link java.util.concurrent.Executor} bean to execute parallel count queries on.
+	 * 
+	 * @return
+	 */
+	public String getCountExecutorRef() {
+
+		return getSource().getAttribute(COUNT_EXECUTOR_REF);
+	}
+
 	private static class AutomaticJpaRepositoryConfigInformation extends
 			AutomaticRepositoryConfigInformation<SimpleJpaRepositoryConfiguration> implements JpaRepositoryConfiguration {
 
@@ -105,6 +227,105 @@ public class SimpleJpaRepositoryConfiguration extends
 
 			return getParent().getEntityManagerFactoryRef();
 		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getFetchSize()
+		 */
+		public String getFetchSize() {
+
+			return getParent().getFetchSize();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getQueryTimeout()
+		 */
+		public String getQueryTimeout() {
+
+			return getParent().getQueryTimeout();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getMaxRows()
+		 */
+		public String getMaxRows() {
+
+			return getParent().getMaxRows();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getReplicaEntityManagerFactoryRef()
+		 */
+		public String getReplicaEntityManagerFactoryRef() {
+
+			return getParent().getReplicaEntityManagerFactoryRef();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getReplicaStickinessWindow()
+		 */
+		public String getReplicaStickinessWindow() {
+
+			return getParent().getReplicaStickinessWindow();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getReplicaClientKeyResolverRef()
+		 */
+		public String getReplicaClientKeyResolverRef() {
+
+			return getParent().getReplicaClientKeyResolverRef();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getReadOnlyQueries()
+		 */
+		public String getReadOnlyQueries() {
+
+			return getParent().getReadOnlyQueries();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getFlushMode()
+		 */
+		public String getFlushMode() {
+
+			return getParent().getFlushMode();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getAsyncExecutorRef()
+		 */
+		public String getAsyncExecutorRef() {
+
+			return getParent().getAsyncExecutorRef();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getParallelCount()
+		 */
+		public String getParallelCount() {
+
+			return getParent().getParallelCount();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getCountExecutorRef()
+		 */
+		public String getCountExecutorRef() {
+
+			return getParent().getCountExecutorRef();
+		}
 	}
 
 	private static class ManualJpaRepositoryConfigInformation extends
@@ -126,11 +347,132 @@ public class SimpleJpaRepositoryConfiguration extends
 
 			return getAttribute(ENTITY_MANAGER_FACTORY_REF);
 		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getFetchSize()
+		 */
+		public String getFetchSize() {
+
+			return getAttribute(FETCH_SIZE);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getQueryTimeout()
+		 */
+		public String getQueryTimeout() {
+
+			return getAttribute(QUERY_TIMEOUT);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getMaxRows()
+		 */
+		public String getMaxRows() {
+
+			return getAttribute(MAX_ROWS);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getReplicaEntityManagerFactoryRef()
+		 */
+		public String getReplicaEntityManagerFactoryRef() {
+
+			return getAttribute(REPLICA_ENTITY_MANAGER_FACTORY_REF);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getReplicaStickinessWindow()
+		 */
+		public String getReplicaStickinessWindow() {
+
+			return getAttribute(REPLICA_STICKINESS_WINDOW);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getReplicaClientKeyResolverRef()
+		 */
+		public String getReplicaClientKeyResolverRef() {
+
+			return getAttribute(REPLICA_CLIENT_KEY_RESOLVER_REF);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getReadOnlyQueries()
+		 */
+		public String getReadOnlyQueries() {
+
+			return getAttribute(READ_ONLY_QUERIES);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getFlushMode()
+		 */
+		public String getFlushMode() {
+
+			return getAttribute(FLUSH_MODE);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getAsyncExecutorRef()
+		 */
+		public String getAsyncExecutorRef() {
+
+			return getAttribute(ASYNC_EXECUTOR_REF);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getParallelCount()
+		 */
+		public String getParallelCount() {
+
+			return getAttribute(PARALLEL_COUNT);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.repository.config.SimpleJpaRepositoryConfiguration.JpaRepositoryConfiguration#getCountExecutorRef()
+		 */
+		public String getCountExecutorRef() {
+
+			return getAttribute(COUNT_EXECUTOR_REF);
+		}
 	}
 
 	static interface JpaRepositoryConfiguration extends
 			SingleRepositoryConfigInformation<SimpleJpaRepositoryConfiguration> {
 
 		String getEntityManagerFactoryRef();
+
+		String getFetchSize();
+
+		String getQueryTimeout();
+
+		String getMaxRows();
+
+		String getReplicaEntityManagerFactoryRef();
+
+		String getReplicaStickinessWindow();
+
+		String getReplicaClientKeyResolverRef();
+
+		String getReadOnlyQueries();
+
+		String getFlushMode();
+
+		String getAsyncExecutorRef();
+
+		String getParallelCount();
+
+		String getCountExecutorRef();
 	}
 }
@@ -15,16 +15,24 @@
  */
 package org.springframework.data.jpa.repository.query;
 
+import java.util.List;
+
 import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 import javax.persistence.Query;
 import javax.persistence.QueryHint;
 import javax.persistence.TypedQuery;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.CollectionExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.ModifyingExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.PagedExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.SingleEntityExecution;
+import org.springframework.data.repository.query.Parameter;
+import org.springframework.data.repository.query.Parameters;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.util.Assert;
 
@@ -35,9 +43,13 @@ import org.springframework.util.Assert;
  */
 public abstract class AbstractJpaQuery implements RepositoryQuery {
 
+	private static final Logger LOG = LoggerFactory.getLogger(AbstractJpaQuery.class);
+
 	private final JpaQueryMethod method;
 	private final EntityManager em;
 
+	private Class<?> auditedType;
+
 	/**
 	 * Creates a new {@link AbstractJpaQuery} from the given {@link JpaQueryMethod}.
 	 * 
@@ -98,9 +110,11 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 	protected JpaQueryExecution getExecution() {
 
 		if (method.isCollectionQuery()) {
-			return new CollectionExecution();
+			return new CollectionExecution(method.getParameters());
 		} else if (method.isPageQuery()) {
-			return new PagedExecution(method.getParameters());
+			JpaQueryOptions options = method.getQueryOptions();
+			return new PagedExecution(method.getParameters(), options.getCountExecutor(), Boolean.TRUE.equals(options
+					.getInferTotal()));
 		} else if (method.isModifyingQuery()) {
 			return method.getClearAutomatically() ? new ModifyingExecution(method, em) : new ModifyingExecution(method, null);
 		} else {
@@ -138,19 +152,144 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 		return query;
 	}
 
+	/**
+	 * Returns the {@link Sort} the query results are ordered by for the given parameter values. Used to restore the order
+	 * of the results in case the query is executed in multiple chunks. Defaults to the dynamic {@link Sort} handed into
+	 * the query method.
+	 * 
+	 * @param values must not be {@literal null}.
+	 * @return the {@link Sort} or {@literal null} if the results are not ordered.
+	 */
+	protected Sort getSort(Object[] values) {
+
+		Parameters parameters = method.getParameters();
+		return parameters.potentiallySortsDynamically() ? new ParametersParameterAccessor(parameters, values).getSort()
+				: null;
+	}
+
+	/**
+	 * Returns whether the query declares an ordering that cannot be expressed as {@link Sort} and thus cannot be restored
+	 * in memory.
+	 * 
+	 * @return
+	 */
+	protected boolean isStaticallyOrdered() {
+
+		return false;
+	}
+
+	/**
+	 * Returns whether the given collection parameter is exclusively bound to positive {@code in} predicates so that the
+	 * query can be executed for chunks of its elements and the partial results can be merged.
+	 * 
+	 * @param parameter
+	 * @return
+	 */
+	protected boolean isBoundToInClauseOnly(Parameter parameter) {
+
+		return false;
+	}
+
+	/**
+	 * Returns whether the query only returns distinct results.
+	 * 
+	 * @return
+	 */
+	protected boolean isDistinct() {
+
+		return false;
+	}
+
 	protected ParameterBinder createBinder(Object[] values) {
 		return new ParameterBinder(getQueryMethod().getParameters(), values);
 	}
 
 	protected Query createQuery(Object[] values) {
-		return applyLockMode(applyHints(doCreateQuery(values), method), method);
+		return applyAuditing(applyQueryOptions(applyLockMode(applyHints(doCreateQuery(values), method), method), method));
 	}
 
 	protected TypedQuery<Long> createCountQuery(Object[] values) {
-		TypedQuery<Long> countQuery = doCreateCountQuery(values);
+		TypedQuery<Long> countQuery = applyQueryOptions(doCreateCountQuery(values), method);
 		return method.applyHintsToCountQuery() ? applyHints(countQuery, method) : countQuery;
 	}
 
+	/**
+	 * Prepares binding the modification auditing information to the given query created on bootstrap if it is a
+	 * modifying one and a {@link BulkUpdateAuditor} is configured. Resolves the entity type updated by the statement and
+	 * reports update statements that do not declare the parameters to bind the auditing information to. Falls back to
+	 * the domain type of the repository if the statement cannot be inspected.
+	 * 
+	 * @param query must not be {@literal null}.
+	 */
+	protected void prepareAuditing(Query query) {
+
+		BulkUpdateAuditor auditor = method.getQueryOptions().getBulkUpdateAuditor();
+
+		if (auditor == null || !method.isModifyingQuery()) {
+			return;
+		}
+
+		String queryString = method.getAnnotatedQuery();
+		QueryExtractor extractor = method.getQueryExtractor();
+
+		if (queryString == null && extractor.canExtractQuery()) {
+			queryString = extractor.extractQueryString(query);
+		}
+
+		if (queryString == null) {
+			this.auditedType = method.getEntityInformation().getJavaType();
+			return;
+		}
+
+		if (!QueryUtils.isUpdateQuery(queryString)) {
+			return;
+		}
+
+		this.auditedType = QueryUtils.getModifiedEntityType(queryString, em.getMetamodel());
+
+		if (auditedType == null) {
+			return;
+		}
+
+		List<String> undeclared = auditor.getUndeclaredParameters(query, auditedType, em.getMetamodel());
+
+		if (!undeclared.isEmpty()) {
+			LOG.warn("Modifying query method {} updates the auditable entity {} but does not declare the parameters {} "
+					+ "so the modification auditing information will not be set!", new Object[] { method,
+					auditedType.getName(), undeclared });
+		}
+	}
+
+	/**
+	 * Binds the modification auditing information to the given query if it updates an auditable entity and a
+	 * {@link BulkUpdateAuditor} is configured.
+	 * 
+	 * @param query
+	 * @return
+	 */
+	private Query applyAuditing(Query query) {
+
+		BulkUpdateAuditor auditor = method.getQueryOptions().getBulkUpdateAuditor();
+
+		if (auditor == null || auditedType == null || !method.isModifyingQuery()) {
+			return query;
+		}
+
+		return auditor.bind(query, auditedType, em.getMetamodel());
+	}
+
+	/**
+	 * Applies the {@link JpaQueryOptions} configured for the given method to the given query.
+	 * 
+	 * @param query
+	 * @param method
+	 * @return
+	 */
+	private <T extends Query> T applyQueryOptions(T query, JpaQueryMethod method) {
+
+		return method.getQueryOptions().applyTo(query, method.getHintResolver());
+	}
+
 	/**
 	 * Creates a {@link Query} instance for the given values.
 	 * 
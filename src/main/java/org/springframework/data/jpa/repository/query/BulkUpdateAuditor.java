@@ -0,0 +1,246 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.persistence.Parameter;
+import javax.persistence.Query;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.joda.time.DateTime;
+import org.springframework.data.domain.Auditable;
+import org.springframework.data.jpa.domain.Update;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import org.springframework.util.Assert;
+
+/**
+ * Sets the modification auditing information on bulk updates of {@link Auditable} entities as these bypass the
+ * {@link AuditingEntityListener}. The current auditor and date are obtained from the given
+ * {@link AuditingEntityListener} and assigned to the {@code lastModifiedBy} and {@code lastModifiedDate} attributes
+ * if the entity maps them. JPQL statements are never rewritten to do so. Instead, modifying queries opt in by assigning
+ * the named parameters {@code :lastModifiedBy} and {@code :lastModifiedDate}, e.g.
+ * 
+ * <pre>
+ * update AuditableUser u set u.firstname = :firstname, u.lastModifiedBy = :lastModifiedBy where u.id = :id
+ * </pre>
+ * 
+ * The values are bound to these parameters if the query method does not bind them itself. This applies to declared
+ * as well as named queries. Modifying queries updating an auditable entity without declaring the parameters are
+ * reported on bootstrap but executed unaudited.
+ * 
+ * @author Oliver Gierke
+ */
+public class BulkUpdateAuditor {
+
+	static final String LAST_MODIFIED_BY = "lastModifiedBy";
+	static final String LAST_MODIFIED_DATE = "lastModifiedDate";
+
+	private final AuditingEntityListener<?> listener;
+
+	/**
+	 * Creates a new {@link BulkUpdateAuditor} using the given {@link AuditingEntityListener}.
+	 * 
+	 * @param listener must not be {@literal null}.
+	 */
+	public BulkUpdateAuditor(AuditingEntityListener<?> listener) {
+
+		Assert.notNull(listener);
+		this.listener = listener;
+	}
+
+	/**
+	 * Returns the attributes to be assigned when bulk updating entities of the given type.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @param metamodel must not be {@literal null}.
+	 * @return the attributes or an empty {@link List} if the given type is not {@link Auditable}.
+	 */
+	public List<SingularAttribute<?, ?>> getAuditedAttributes(Class<?> type, Metamodel metamodel) {
+
+		Assert.notNull(type);
+		Assert.notNull(metamodel);
+
+		if (!Auditable.class.isAssignableFrom(type)) {
+			return Collections.emptyList();
+		}
+
+		ManagedType<?> managedType = metamodel.managedType(type);
+		List<SingularAttribute<?, ?>> result = new ArrayList<SingularAttribute<?, ?>>();
+
+		SingularAttribute<?, ?> lastModifiedBy = getAttribute(managedType, LAST_MODIFIED_BY);
+
+		if (listener.hasAuditorAware() && lastModifiedBy != null) {
+			result.add(lastModifiedBy);
+		}
+
+		SingularAttribute<?, ?> lastModifiedDate = getAttribute(managedType, LAST_MODIFIED_DATE);
+
+		if (listener.isDateTimeForNow() && lastModifiedDate != null && isDateType(lastModifiedDate.getJavaType())) {
+			result.add(lastModifiedDate);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the current value for the given attribute previously returned by
+	 * {@link #getAuditedAttributes(Class, Metamodel)}.
+	 * 
+	 * @param attribute must not be {@literal null}.
+	 * @return
+	 */
+	public Object getCurrentValue(SingularAttribute<?, ?> attribute) {
+
+		Assert.notNull(attribute);
+
+		if (LAST_MODIFIED_BY.equals(attribute.getName())) {
+			return listener.getCurrentAuditor();
+		}
+
+		DateTime now = listener.getCurrentDateTime();
+		Class<?> type = attribute.getJavaType();
+
+		if (now == null || DateTime.class.equals(type)) {
+			return now;
+		}
+
+		return Date.class.equals(type) ? now.toDate() : now.toGregorianCalendar();
+	}
+
+	/**
+	 * Binds the current values of the modification auditing information of the given type to the equally named
+	 * parameters of the given {@link Query} that are not bound yet.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @param metamodel must not be {@literal null}.
+	 * @return the given {@link Query}.
+	 */
+	public <T extends Query> T bind(T query, Class<?> type, Metamodel metamodel) {
+
+		Assert.notNull(query);
+
+		Set<String> unbound = new HashSet<String>();
+
+		for (Parameter<?> parameter : query.getParameters()) {
+			if (parameter.getName() != null && !query.isBound(parameter)) {
+				unbound.add(parameter.getName());
+			}
+		}
+
+		if (unbound.isEmpty()) {
+			return query;
+		}
+
+		for (SingularAttribute<?, ?> attribute : getAuditedAttributes(type, metamodel)) {
+			if (unbound.contains(attribute.getName())) {
+				query.setParameter(attribute.getName(), getCurrentValue(attribute));
+			}
+		}
+
+		return query;
+	}
+
+	/**
+	 * Returns the names of the parameters the given {@link Query} would have to declare to receive the modification
+	 * auditing information of the given type but doesn't.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @param metamodel must not be {@literal null}.
+	 * @return the names of the missing parameters, never {@literal null}.
+	 */
+	public List<String> getUndeclaredParameters(Query query, Class<?> type, Metamodel metamodel) {
+
+		Assert.notNull(query);
+
+		Set<String> declared = new HashSet<String>();
+
+		for (Parameter<?> parameter : query.getParameters()) {
+			if (parameter.getName() != null) {
+				declared.add(parameter.getName());
+			}
+		}
+
+		List<String> result = new ArrayList<String>();
+
+		for (SingularAttribute<?, ?> attribute : getAuditedAttributes(type, metamodel)) {
+			if (!declared.contains(attribute.getName())) {
+				result.add(attribute.getName());
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns an {@link Update} containing the assignments of the given one plus the ones of the modification auditing
+	 * information for the given type. Attributes already assigned by the given {@link Update} are left untouched.
+	 * 
+	 * @param update must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @param metamodel must not be {@literal null}.
+	 * @return
+	 */
+	public Update audit(Update update, Class<?> type, Metamodel metamodel) {
+
+		Assert.notNull(update);
+
+		List<SingularAttribute<?, ?>> attributes = getAuditedAttributes(type, metamodel);
+
+		if (attributes.isEmpty()) {
+			return update;
+		}
+
+		Update result = new Update();
+
+		for (Entry<String, Object> assignment : update.getAssignments().entrySet()) {
+			result.set(assignment.getKey(), assignment.getValue());
+		}
+
+		for (SingularAttribute<?, ?> attribute : attributes) {
+			if (!update.getAssignments().containsKey(attribute.getName())) {
+				result.set(attribute.getName(), getCurrentValue(attribute));
+			}
+		}
+
+		return result;
+	}
+
+	private static SingularAttribute<?, ?> getAttribute(ManagedType<?> type, String name) {
+
+		try {
+			return type.getSingularAttribute(name);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static boolean isDateType(Class<?> type) {
+
+		return Date.class.equals(type) || Calendar.class.equals(type) || DateTime.class.equals(type);
+	}
+}
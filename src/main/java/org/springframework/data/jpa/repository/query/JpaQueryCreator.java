@@ -53,6 +53,7 @@ public class JpaQueryCreator extends AbstractQueryCreator<CriteriaQuery<Object>,
 	private final Root<?> root;
 	private final CriteriaQuery<Object> query;
 	private final ParameterExpressionProvider provider;
+	private final List<String> fetchJoins;
 
 	/**
 	 * Create a new {@link JpaQueryCreator}.
@@ -64,8 +65,27 @@ public class JpaQueryCreator extends AbstractQueryCreator<CriteriaQuery<Object>,
 	 */
 	public JpaQueryCreator(PartTree tree, Class<?> domainClass, Parameters parameters, EntityManager em) {
 
+		this(tree, domainClass, parameters, em, Collections.<String> emptyList());
+	}
+
+	/**
+	 * Create a new {@link JpaQueryCreator} applying the given association paths as fetch joins.
+	 * 
+	 * @param tree
+	 * @param domainClass
+	 * @param parameters
+	 * @param em
+	 * @param fetchJoins must not be {@literal null}.
+	 */
+	public JpaQueryCreator(PartTree tree, Class<?> domainClass, Parameters parameters, EntityManager em,
+			List<String> fetchJoins) {
+
 		super(tree);
 
+		Assert.notNull(fetchJoins);
+
+		this.fetchJoins = fetchJoins;
+
 		this.builder = em.getCriteriaBuilder();
 		this.query = builder.createQuery().distinct(tree.isDistinct());
 		this.root = query.from(domainClass);
@@ -136,7 +156,8 @@ public class JpaQueryCreator extends AbstractQueryCreator<CriteriaQuery<Object>,
 
 	/**
 	 * Template method to finalize the given {@link Predicate} using the given {@link CriteriaQuery} and
-	 * {@link CriteriaBuilder}.
+	 * {@link CriteriaBuilder}. Applies the configured fetch joins and turns the query into a distinct one if a
+	 * collection is fetched.
 	 * 
 	 * @param predicate
 	 * @param sort
@@ -147,6 +168,10 @@ public class JpaQueryCreator extends AbstractQueryCreator<CriteriaQuery<Object>,
 	protected CriteriaQuery<Object> complete(Predicate predicate, Sort sort, CriteriaQuery<Object> query,
 			CriteriaBuilder builder, Root<?> root) {
 
+		if (QueryUtils.applyFetchJoins(root, fetchJoins)) {
+			query.distinct(true);
+		}
+
 		return this.query.select(root).where(predicate).orderBy(QueryUtils.toOrders(sort, root, builder));
 	}
 
@@ -15,20 +15,39 @@
  */
 package org.springframework.data.jpa.repository.query;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.support.PropertyComparator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.comparator.CompoundComparator;
 
 /**
  * Set of classes to contain query execution strategies. Depending (mostly) on the return type of a {@link QueryMethod}
@@ -67,13 +86,172 @@ public abstract class JpaQueryExecution {
 	protected abstract Object doExecute(AbstractJpaQuery query, Object[] values);
 
 	/**
-	 * Executes the {@link AbstractStringBasedJpaQuery} to return a simple collection of entities.
+	 * Executes the {@link AbstractStringBasedJpaQuery} to return a simple collection of entities. If one of the
+	 * collection parameters handed into the method exceeds the configured chunk size, the query is executed once per chunk
+	 * of the collection and the partial results are merged, which keeps the generated {@code in} clauses within the
+	 * bind parameter limits of the database. Chunking is only applied to parameters exclusively bound to positive
+	 * {@code in} predicates as splitting e.g. a {@code not in} clause would change the query result. Queries binding
+	 * the parameter elsewhere are executed unchunked, leaving it to the database to accept the long {@code in} list.
 	 */
 	static class CollectionExecution extends JpaQueryExecution {
 
+		/**
+		 * The default maximum number of elements bound to a single {@code in} clause. Oracle rejects in lists of more than
+		 * 1000 elements and thus defines the lowest common denominator.
+		 */
+		public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+		private static final Logger LOG = LoggerFactory.getLogger(CollectionExecution.class);
+
+		private final Parameters parameters;
+		private final int chunkSize;
+
+		/**
+		 * Creates a new {@link CollectionExecution} using the {@link #DEFAULT_CHUNK_SIZE}.
+		 * 
+		 * @param parameters must not be {@literal null}.
+		 */
+		public CollectionExecution(Parameters parameters) {
+
+			this(parameters, DEFAULT_CHUNK_SIZE);
+		}
+
+		/**
+		 * Creates a new {@link CollectionExecution} splitting collection parameters into chunks of the given size.
+		 * 
+		 * @param parameters must not be {@literal null}.
+		 * @param chunkSize must be greater than zero.
+		 */
+		public CollectionExecution(Parameters parameters, int chunkSize) {
+
+			Assert.notNull(parameters);
+			Assert.isTrue(chunkSize > 0, "Chunk size must be greater than zero!");
+
+			this.parameters = parameters;
+			this.chunkSize = chunkSize;
+		}
+
 		@Override
 		protected Object doExecute(AbstractJpaQuery query, Object[] values) {
-			return query.createQuery(values).getResultList();
+
+			Parameter parameter = getOversizedParameter(values);
+
+			if (parameter == null || query.isStaticallyOrdered()) {
+				return query.createQuery(values).getResultList();
+			}
+
+			if (!query.isBoundToInClauseOnly(parameter)) {
+				LOG.debug("Collection parameter {} exceeds {} elements but is not exclusively bound to an in clause, "
+						+ "executing query without chunking", parameter.getIndex(), chunkSize);
+				return query.createQuery(values).getResultList();
+			}
+
+			int index = parameter.getIndex();
+			List<Object> elements = Arrays.asList(toArray(values[index]));
+			Collection<Object> result = query.isDistinct() ? new LinkedHashSet<Object>() : new ArrayList<Object>();
+
+			for (int i = 0; i < elements.size(); i += chunkSize) {
+
+				Object[] chunkValues = values.clone();
+				chunkValues[index] = new ArrayList<Object>(elements.subList(i, Math.min(elements.size(), i + chunkSize)));
+
+				for (Object element : query.createQuery(chunkValues).getResultList()) {
+					result.add(element);
+				}
+			}
+
+			List<Object> merged = new ArrayList<Object>(result);
+			Sort sort = query.getSort(values);
+
+			if (sort != null) {
+				assertSortable(merged, sort);
+				Collections.sort(merged, toComparator(sort));
+			}
+
+			return merged;
+		}
+
+		/**
+		 * Returns the first bindable collection or array parameter that contains more elements than the configured chunk
+		 * size. Returns {@literal null} if there is none or the query is paginated, as chunking would break the page
+		 * boundaries.
+		 * 
+		 * @param values
+		 * @return
+		 */
+		private Parameter getOversizedParameter(Object[] values) {
+
+			if (parameters.hasPageableParameter() && values[parameters.getPageableIndex()] != null) {
+				return null;
+			}
+
+			for (Parameter parameter : parameters.getBindableParameters()) {
+
+				Object value = values[parameter.getIndex()];
+
+				if (value instanceof Collection && ((Collection<?>) value).size() > chunkSize) {
+					return parameter;
+				}
+
+				if (ObjectUtils.isArray(value) && ObjectUtils.toObjectArray(value).length > chunkSize) {
+					return parameter;
+				}
+			}
+
+			return null;
+		}
+
+		/**
+		 * Verifies that all properties of the given {@link Sort} can be read from the given results as the ordering could
+		 * not be restored in memory otherwise, e.g. for projections.
+		 * 
+		 * @param results
+		 * @param sort
+		 * @throws IllegalStateException if a property cannot be read from one of the results.
+		 */
+		private static void assertSortable(List<Object> results, Sort sort) {
+
+			Set<Class<?>> verified = new HashSet<Class<?>>();
+
+			for (Object result : results) {
+
+				if (result == null || !verified.add(result.getClass())) {
+					continue;
+				}
+
+				BeanWrapper wrapper = new BeanWrapperImpl(result);
+
+				for (Order order : sort) {
+					if (!wrapper.isReadableProperty(order.getProperty())) {
+						throw new IllegalStateException(String.format(
+								"Cannot restore ordering by %s on results of type %s merged from chunked query executions!",
+								order.getProperty(), result.getClass().getName()));
+					}
+				}
+			}
+		}
+
+		private static Object[] toArray(Object value) {
+
+			return value instanceof Collection ? ((Collection<?>) value).toArray() : ObjectUtils.toObjectArray(value);
+		}
+
+		/**
+		 * Creates a {@link Comparator} ordering objects according to the given {@link Sort}.
+		 * 
+		 * @param sort must not be {@literal null}.
+		 * @return
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private static Comparator<Object> toComparator(Sort sort) {
+
+			CompoundComparator comparator = new CompoundComparator();
+
+			for (Order order : sort) {
+				comparator.addComparator(new PropertyComparator(order.getProperty(), false, order.isAscending()));
+			}
+
+			return comparator;
 		}
 	}
 
@@ -83,25 +261,86 @@ public abstract class JpaQueryExecution {
 	static class PagedExecution extends JpaQueryExecution {
 
 		private final Parameters parameters;
+		private final ParallelCountExecutor countExecutor;
+		private final boolean inferTotal;
 
 		public PagedExecution(Parameters parameters) {
 
+			this(parameters, null);
+		}
+
+		/**
+		 * Creates a new {@link PagedExecution} executing the count query using the given {@link ParallelCountExecutor}.
+		 * 
+		 * @param parameters
+		 * @param countExecutor can be {@literal null}.
+		 */
+		public PagedExecution(Parameters parameters, ParallelCountExecutor countExecutor) {
+
+			this(parameters, countExecutor, false);
+		}
+
+		/**
+		 * Creates a new {@link PagedExecution} executing the count query using the given {@link ParallelCountExecutor}.
+		 * If {@code inferTotal} is {@literal true} the content is read first and the count query is only executed if the
+		 * total cannot be computed from the content.
+		 * 
+		 * @see QueryUtils#inferTotal(Query, List)
+		 * @param parameters
+		 * @param countExecutor can be {@literal null}.
+		 * @param inferTotal
+		 */
+		public PagedExecution(Parameters parameters, ParallelCountExecutor countExecutor, boolean inferTotal) {
+
 			this.parameters = parameters;
+			this.countExecutor = countExecutor;
+			this.inferTotal = inferTotal;
 		}
 
 		@Override
 		@SuppressWarnings("unchecked")
-		protected Object doExecute(AbstractJpaQuery repositoryQuery, Object[] values) {
+		protected Object doExecute(final AbstractJpaQuery repositoryQuery, final Object[] values) {
+
+			ParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
+
+			if (inferTotal) {
+
+				Query query = repositoryQuery.createQuery(values);
+				List<Object> content = query.getResultList();
+				Long total = QueryUtils.inferTotal(query, content);
+
+				return new PageImpl<Object>(content, accessor.getPageable(), total == null ? count(repositoryQuery, values)
+						: total);
+			}
+
+			if (countExecutor == null) {
+				Long total = count(repositoryQuery, values);
+				return new PageImpl<Object>(repositoryQuery.createQuery(values).getResultList(), accessor.getPageable(), total);
+			}
+
+			Callable<Long> count = new Callable<Long>() {
+
+				public Long call() {
+					return count(repositoryQuery, values);
+				}
+			};
+
+			Callable<List<Object>> content = new Callable<List<Object>>() {
+
+				public List<Object> call() {
+					return repositoryQuery.createQuery(values).getResultList();
+				}
+			};
+
+			return countExecutor.readPage(content, count, accessor.getPageable());
+		}
+
+		private static Long count(AbstractJpaQuery repositoryQuery, Object[] values) {
 
 			// Execute query to compute total
 			TypedQuery<Long> projection = repositoryQuery.createCountQuery(values);
 			List<Long> totals = projection.getResultList();
-			Long total = totals.size() == 1 ? totals.get(0) : totals.size();
-
-			Query query = repositoryQuery.createQuery(values);
-			ParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
-
-			return new PageImpl<Object>(query.getResultList(), accessor.getPageable(), total);
+			return totals.size() == 1 ? totals.get(0) : totals.size();
 		}
 	}
 
@@ -122,11 +361,12 @@ public abstract class JpaQueryExecution {
 	 */
 	static class ModifyingExecution extends JpaQueryExecution {
 
+		private final JpaQueryMethod method;
 		private final EntityManager em;
 
 		/**
-		 * Creates an execution that automatically clears the given {@link EntityManager} after execution if the given
-		 * {@link EntityManager} is not {@literal null}.
+		 * Creates an execution that automatically evicts the entities affected from the given {@link EntityManager} after
+		 * execution if the given {@link EntityManager} is not {@literal null}.
 		 * 
 		 * @param em
 		 */
@@ -139,19 +379,45 @@ public abstract class JpaQueryExecution {
 
 			Assert.isTrue(isInt || isVoid, "Modifying queries can only use void or int/Integer as return type!");
 
+			this.method = method;
 			this.em = em;
 		}
 
 		@Override
 		protected Object doExecute(AbstractJpaQuery query, Object[] values) {
 
-			int result = query.createQuery(values).executeUpdate();
+			Query modifyingQuery = query.createQuery(values);
+			int result = modifyingQuery.executeUpdate();
 
 			if (em != null) {
-				em.clear();
+				evictAffectedEntities(modifyingQuery);
 			}
 
 			return result;
 		}
+
+		/**
+		 * Removes the instances of the entity type modified by the given {@link Query} from the {@link EntityManager}.
+		 * Clears the {@link EntityManager} entirely if the entity type cannot be determined.
+		 * 
+		 * @param query
+		 */
+		private void evictAffectedEntities(Query query) {
+
+			String queryString = method.getAnnotatedQuery();
+			QueryExtractor extractor = method.getQueryExtractor();
+
+			if (queryString == null && extractor.canExtractQuery()) {
+				queryString = extractor.extractQueryString(query);
+			}
+
+			Class<?> type = QueryUtils.getModifiedEntityType(queryString, em.getMetamodel());
+
+			if (type == null) {
+				em.clear();
+			} else {
+				method.getEvictor().evict(em, type);
+			}
+		}
 	}
-}
\ No newline at end of file
+}
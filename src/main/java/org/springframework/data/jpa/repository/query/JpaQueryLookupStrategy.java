@@ -51,11 +51,13 @@ public final class JpaQueryLookupStrategy {
 
 		private final EntityManager em;
 		private final QueryExtractor provider;
+		private final JpaQueryOptions defaults;
 
-		public AbstractQueryLookupStrategy(EntityManager em, QueryExtractor extractor) {
+		public AbstractQueryLookupStrategy(EntityManager em, QueryExtractor extractor, JpaQueryOptions defaults) {
 
 			this.em = em;
 			this.provider = extractor;
+			this.defaults = defaults;
 		}
 
 		/*
@@ -68,7 +70,7 @@ public final class JpaQueryLookupStrategy {
 		 */
 		public final RepositoryQuery resolveQuery(Method method, RepositoryMetadata metadata, NamedQueries namedQueries) {
 
-			return resolveQuery(new JpaQueryMethod(method, metadata, provider), em, namedQueries);
+			return resolveQuery(new JpaQueryMethod(method, metadata, provider, defaults), em, namedQueries);
 		}
 
 		protected abstract RepositoryQuery resolveQuery(JpaQueryMethod method, EntityManager em, NamedQueries namedQueries);
@@ -81,9 +83,9 @@ public final class JpaQueryLookupStrategy {
 	 */
 	private static class CreateQueryLookupStrategy extends AbstractQueryLookupStrategy {
 
-		public CreateQueryLookupStrategy(EntityManager em, QueryExtractor extractor) {
+		public CreateQueryLookupStrategy(EntityManager em, QueryExtractor extractor, JpaQueryOptions defaults) {
 
-			super(em, extractor);
+			super(em, extractor, defaults);
 		}
 
 		@Override
@@ -101,9 +103,9 @@ public final class JpaQueryLookupStrategy {
 	 */
 	private static class DeclaredQueryLookupStrategy extends AbstractQueryLookupStrategy {
 
-		public DeclaredQueryLookupStrategy(EntityManager em, QueryExtractor extractor) {
+		public DeclaredQueryLookupStrategy(EntityManager em, QueryExtractor extractor, JpaQueryOptions defaults) {
 
-			super(em, extractor);
+			super(em, extractor, defaults);
 		}
 
 		@Override
@@ -143,11 +145,11 @@ public final class JpaQueryLookupStrategy {
 		private final DeclaredQueryLookupStrategy strategy;
 		private final CreateQueryLookupStrategy createStrategy;
 
-		public CreateIfNotFoundQueryLookupStrategy(EntityManager em, QueryExtractor extractor) {
+		public CreateIfNotFoundQueryLookupStrategy(EntityManager em, QueryExtractor extractor, JpaQueryOptions defaults) {
 
-			super(em, extractor);
-			this.strategy = new DeclaredQueryLookupStrategy(em, extractor);
-			this.createStrategy = new CreateQueryLookupStrategy(em, extractor);
+			super(em, extractor, defaults);
+			this.strategy = new DeclaredQueryLookupStrategy(em, extractor, defaults);
+			this.createStrategy = new CreateQueryLookupStrategy(em, extractor, defaults);
 		}
 
 		@Override
@@ -170,17 +172,33 @@ public final class JpaQueryLookupStrategy {
 	 */
 	public static QueryLookupStrategy create(EntityManager em, Key key, QueryExtractor extractor) {
 
+		return create(em, key, extractor, null);
+	}
+
+	/**
+	 * Creates a {@link QueryLookupStrategy} for the given {@link EntityManager} and {@link Key} applying the given
+	 * {@link JpaQueryOptions} to all queries not declaring their own ones.
+	 * 
+	 * @param em
+	 * @param key
+	 * @param extractor
+	 * @param defaults can be {@literal null}.
+	 * @return
+	 */
+	public static QueryLookupStrategy create(EntityManager em, Key key, QueryExtractor extractor,
+			JpaQueryOptions defaults) {
+
 		if (key == null) {
-			return new CreateIfNotFoundQueryLookupStrategy(em, extractor);
+			return new CreateIfNotFoundQueryLookupStrategy(em, extractor, defaults);
 		}
 
 		switch (key) {
 		case CREATE:
-			return new CreateQueryLookupStrategy(em, extractor);
+			return new CreateQueryLookupStrategy(em, extractor, defaults);
 		case USE_DECLARED_QUERY:
-			return new DeclaredQueryLookupStrategy(em, extractor);
+			return new DeclaredQueryLookupStrategy(em, extractor, defaults);
 		case CREATE_IF_NOT_FOUND:
-			return new CreateIfNotFoundQueryLookupStrategy(em, extractor);
+			return new CreateIfNotFoundQueryLookupStrategy(em, extractor, defaults);
 		default:
 			throw new IllegalArgumentException(String.format("Unsupported query lookup strategy %s!", key));
 		}
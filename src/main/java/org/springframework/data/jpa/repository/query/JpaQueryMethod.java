@@ -18,22 +18,34 @@ package org.springframework.data.jpa.repository.query;
 import static org.springframework.core.annotation.AnnotationUtils.*;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
 
+import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
 
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.domain.LockWait;
+import org.springframework.data.jpa.repository.FetchJoins;
+import org.springframework.data.jpa.repository.FlushMode;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.QueryOptions;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -43,8 +55,46 @@ import org.springframework.util.StringUtils;
  */
 public class JpaQueryMethod extends QueryMethod {
 
+	private static final QueryHintResolver NO_PROVIDER_SPECIFIC_HINTS = new QueryHintResolver() {
+
+		public String getFetchSizeHint() {
+			return null;
+		}
+
+		public String getReadOnlyHint() {
+			return null;
+		}
+
+		public String getQueryCacheHint() {
+			return null;
+		}
+
+		public String getLockTimeoutHint() {
+			return JpaQueryOptions.LOCK_TIMEOUT_HINT;
+		}
+
+		public Map<String, Object> getLockWaitHints(LockWait lockWait) {
+			return lockWait == LockWait.WAIT ? Collections.<String, Object> emptyMap() : Collections
+					.<String, Object> singletonMap(JpaQueryOptions.LOCK_TIMEOUT_HINT, 0);
+		}
+	};
+
+	private static final PersistenceContextEvictor CLEARING_EVICTOR = new PersistenceContextEvictor() {
+
+		public void evict(EntityManager em, Class<?> type) {
+			em.clear();
+		}
+
+		public void evict(EntityManager em, Class<?> type, Iterable<?> ids) {
+			em.clear();
+		}
+	};
+
 	private final QueryExtractor extractor;
 	private final Method method;
+	private final JpaQueryOptions queryOptions;
+	private final Class<?> returnType;
+	private final boolean async;
 
 	/**
 	 * Creates a {@link JpaQueryMethod}.
@@ -55,6 +105,20 @@ public class JpaQueryMethod extends QueryMethod {
 	 */
 	public JpaQueryMethod(Method method, RepositoryMetadata metadata, QueryExtractor extractor) {
 
+		this(method, metadata, extractor, null);
+	}
+
+	/**
+	 * Creates a {@link JpaQueryMethod} using the given {@link JpaQueryOptions} as defaults for the ones declared on the
+	 * method.
+	 * 
+	 * @param method must not be {@literal null}
+	 * @param metadata must not be {@literal null}
+	 * @param extractor must not be {@literal null}
+	 * @param defaults can be {@literal null}.
+	 */
+	public JpaQueryMethod(Method method, RepositoryMetadata metadata, QueryExtractor extractor, JpaQueryOptions defaults) {
+
 		super(method, metadata);
 
 		Assert.notNull(method, "Method must not be null!");
@@ -62,11 +126,99 @@ public class JpaQueryMethod extends QueryMethod {
 
 		this.method = method;
 		this.extractor = extractor;
+		this.queryOptions = getDeclaredQueryOptions(method).mergeWith(defaults);
+		this.async = Future.class.isAssignableFrom(method.getReturnType());
+		this.returnType = async ? getFutureResultType(method) : method.getReturnType();
 
 		Assert.isTrue(!(isModifyingQuery() && getParameters().hasSpecialParameter()),
 				String.format("Modifying method must not contain %s!", Parameters.TYPES));
 	}
 
+	/**
+	 * Returns the {@link JpaQueryOptions} declared on the given method via {@link QueryOptions}, {@link FlushMode} and
+	 * {@link Lock}. A lock timeout declared on {@link Lock} overrides the one declared on {@link QueryOptions}.
+	 * 
+	 * @param method
+	 * @return
+	 */
+	private static JpaQueryOptions getDeclaredQueryOptions(Method method) {
+
+		JpaQueryOptions options = JpaQueryOptions.from(method.getAnnotation(QueryOptions.class));
+		FlushMode flushMode = getAnnotation(method, FlushMode.class);
+
+		if (flushMode != null) {
+			options.setFlushMode(flushMode.value());
+		}
+
+		Lock lock = getAnnotation(method, Lock.class);
+
+		if (lock != null) {
+
+			if (lock.timeout() >= 0) {
+				options.setLockTimeout(lock.timeout());
+			}
+
+			options.setLockWait(lock.lockWait() == LockWait.WAIT ? null : lock.lockWait());
+		}
+
+		return options;
+	}
+
+	/**
+	 * Returns the type of the value the {@link Future} returned by the given method will eventually hold.
+	 * 
+	 * @param method
+	 * @return
+	 */
+	private static Class<?> getFutureResultType(Method method) {
+
+		Type type = method.getGenericReturnType();
+
+		if (!(type instanceof ParameterizedType)) {
+			return Object.class;
+		}
+
+		Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+
+		if (argument instanceof ParameterizedType) {
+			return (Class<?>) ((ParameterizedType) argument).getRawType();
+		}
+
+		return argument instanceof Class ? (Class<?>) argument : Object.class;
+	}
+
+	/**
+	 * Returns whether the query method returns a {@link Future} and is thus supposed to be executed asynchronously.
+	 * 
+	 * @return
+	 */
+	public boolean isAsyncQuery() {
+
+		return async;
+	}
+
+	/**
+	 * Considers the result type of the {@link Future} for asynchronous query methods.
+	 * 
+	 * @see org.springframework.data.repository.query.QueryMethod#isCollectionQuery()
+	 */
+	@Override
+	public boolean isCollectionQuery() {
+
+		return async ? ClassUtils.isAssignable(List.class, returnType) : super.isCollectionQuery();
+	}
+
+	/**
+	 * Considers the result type of the {@link Future} for asynchronous query methods.
+	 * 
+	 * @see org.springframework.data.repository.query.QueryMethod#isPageQuery()
+	 */
+	@Override
+	public boolean isPageQuery() {
+
+		return async ? ClassUtils.isAssignable(Page.class, returnType) : super.isPageQuery();
+	}
+
 	/**
 	 * Returns whether the finder is a modifying one.
 	 * 
@@ -106,6 +258,17 @@ public class JpaQueryMethod extends QueryMethod {
 		return lock == null ? null : lock.value();
 	}
 
+	/**
+	 * Returns the association paths to be fetched as declared by an optional {@link FetchJoins} annotation.
+	 * 
+	 * @return the fetch paths or an empty {@link List} if none declared.
+	 */
+	List<String> getFetchJoins() {
+
+		FetchJoins fetchJoins = getAnnotation(method, FetchJoins.class);
+		return fetchJoins == null ? Collections.<String> emptyList() : Arrays.asList(fetchJoins.value());
+	}
+
 	/**
 	 * Returns whether the potentially configured {@link QueryHint}s shall be applied when triggering the count query for
 	 * pagination.
@@ -118,6 +281,39 @@ public class JpaQueryMethod extends QueryMethod {
 		return hints != null ? hints.forCounting() : false;
 	}
 
+	/**
+	 * Returns the {@link JpaQueryOptions} to be applied to the query. Combines the ones declared via {@link QueryOptions}
+	 * with the repository defaults.
+	 * 
+	 * @return
+	 */
+	JpaQueryOptions getQueryOptions() {
+
+		return queryOptions;
+	}
+
+	/**
+	 * Returns the {@link QueryHintResolver} to be used to translate the {@link JpaQueryOptions} into provider specific
+	 * query hints.
+	 * 
+	 * @return
+	 */
+	QueryHintResolver getHintResolver() {
+
+		return extractor instanceof QueryHintResolver ? (QueryHintResolver) extractor : NO_PROVIDER_SPECIFIC_HINTS;
+	}
+
+	/**
+	 * Returns the {@link PersistenceContextEvictor} to be used to remove entities affected by modifying queries from the
+	 * persistence context.
+	 * 
+	 * @return
+	 */
+	PersistenceContextEvictor getEvictor() {
+
+		return extractor instanceof PersistenceContextEvictor ? (PersistenceContextEvictor) extractor : CLEARING_EVICTOR;
+	}
+
 	/**
 	 * Returns the {@link QueryExtractor}.
 	 * 
@@ -129,13 +325,14 @@ public class JpaQueryMethod extends QueryMethod {
 	}
 
 	/**
-	 * Returns the actual return type of the method.
+	 * Returns the actual return type of the method. For asynchronous query methods this is the type of the value the
+	 * returned {@link Future} will hold.
 	 * 
 	 * @return
 	 */
 	Class<?> getReturnType() {
 
-		return method.getReturnType();
+		return returnType;
 	}
 
 	/**
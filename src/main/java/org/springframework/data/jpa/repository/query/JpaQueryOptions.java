@@ -0,0 +1,453 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.persistence.FlushModeType;
+import javax.persistence.LockModeType;
+import javax.persistence.Query;
+
+import org.springframework.data.jpa.domain.LockWait;
+import org.springframework.data.jpa.repository.QueryOptions;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Value object to capture the execution settings of a query, i.e. fetch size, timeout, the maximum number of rows to
+ * be returned, the flush mode, whether to execute the query in read-only mode, whether to cache its results, the lock
+ * timeout and how to react on rows already locked. Instances are used to configure repository wide defaults as well
+ * as to represent the settings declared via {@link QueryOptions} on a query method.
+ * 
+ * @author Oliver Gierke
+ */
+public class JpaQueryOptions {
+
+	static final String TIMEOUT_HINT = "javax.persistence.query.timeout";
+	static final String LOCK_TIMEOUT_HINT = "javax.persistence.lock.timeout";
+
+	private Integer fetchSize;
+	private Integer timeout;
+	private Integer maxRows;
+	private Boolean readOnly;
+	private Boolean readOnlyInReadOnlyTransactions;
+	private FlushModeType flushMode;
+	private Boolean cacheable;
+	private Integer lockTimeout;
+	private LockWait lockWait;
+	private Boolean inferTotal;
+	private ParallelCountExecutor countExecutor;
+	private BulkUpdateAuditor bulkUpdateAuditor;
+
+	/**
+	 * Creates a new {@link JpaQueryOptions} instance from the given {@link QueryOptions} annotation.
+	 * 
+	 * @param annotation can be {@literal null}.
+	 * @return
+	 */
+	public static JpaQueryOptions from(QueryOptions annotation) {
+
+		JpaQueryOptions options = new JpaQueryOptions();
+
+		if (annotation == null) {
+			return options;
+		}
+
+		options.setFetchSize(annotation.fetchSize() < 0 ? null : annotation.fetchSize());
+		options.setTimeout(annotation.timeout() < 0 ? null : annotation.timeout());
+		options.setMaxRows(annotation.maxRows() < 0 ? null : annotation.maxRows());
+		options.setReadOnly(annotation.readOnly() ? true : null);
+		options.setCacheable(annotation.cacheable() ? true : null);
+		options.setLockTimeout(annotation.lockTimeout() < 0 ? null : annotation.lockTimeout());
+		options.setInferTotal(annotation.inferTotal() ? true : null);
+
+		return options;
+	}
+
+	/**
+	 * Returns the JDBC fetch size to be used.
+	 * 
+	 * @return the fetch size or {@literal null} if not configured.
+	 */
+	public Integer getFetchSize() {
+
+		return fetchSize;
+	}
+
+	/**
+	 * Configures the JDBC fetch size to be used.
+	 * 
+	 * @param fetchSize
+	 */
+	public void setFetchSize(Integer fetchSize) {
+
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Returns the query timeout in milliseconds.
+	 * 
+	 * @return the timeout or {@literal null} if not configured.
+	 */
+	public Integer getTimeout() {
+
+		return timeout;
+	}
+
+	/**
+	 * Configures the query timeout in milliseconds.
+	 * 
+	 * @param timeout
+	 */
+	public void setTimeout(Integer timeout) {
+
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Returns the maximum number of rows a query shall return.
+	 * 
+	 * @return the maximum number of rows or {@literal null} if not configured.
+	 */
+	public Integer getMaxRows() {
+
+		return maxRows;
+	}
+
+	/**
+	 * Configures the maximum number of rows a query shall return.
+	 * 
+	 * @param maxRows
+	 */
+	public void setMaxRows(Integer maxRows) {
+
+		this.maxRows = maxRows;
+	}
+
+	/**
+	 * Returns whether the query shall be executed in read-only mode.
+	 * 
+	 * @return the read-only flag or {@literal null} if not configured.
+	 */
+	public Boolean getReadOnly() {
+
+		return readOnly;
+	}
+
+	/**
+	 * Configures whether to execute the query in read-only mode, i.e. without the persistence provider keeping snapshots
+	 * of the entities loaded for dirty checking.
+	 * 
+	 * @param readOnly
+	 */
+	public void setReadOnly(Boolean readOnly) {
+
+		this.readOnly = readOnly;
+	}
+
+	/**
+	 * Returns whether queries shall be executed in read-only mode if the current transaction is a read-only one.
+	 * 
+	 * @return the flag or {@literal null} if not configured.
+	 */
+	public Boolean getReadOnlyInReadOnlyTransactions() {
+
+		return readOnlyInReadOnlyTransactions;
+	}
+
+	/**
+	 * Configures whether to execute queries in read-only mode if the current transaction is a read-only one.
+	 * 
+	 * @param readOnlyInReadOnlyTransactions
+	 */
+	public void setReadOnlyInReadOnlyTransactions(Boolean readOnlyInReadOnlyTransactions) {
+
+		this.readOnlyInReadOnlyTransactions = readOnlyInReadOnlyTransactions;
+	}
+
+	/**
+	 * Returns the {@link FlushModeType} to be used for the query.
+	 * 
+	 * @return the flush mode or {@literal null} if not configured.
+	 */
+	public FlushModeType getFlushMode() {
+
+		return flushMode;
+	}
+
+	/**
+	 * Configures the {@link FlushModeType} to be used for the query. {@link FlushModeType#COMMIT} prevents the
+	 * persistence context from being flushed before the query is executed.
+	 * 
+	 * @param flushMode
+	 */
+	public void setFlushMode(FlushModeType flushMode) {
+
+		this.flushMode = flushMode;
+	}
+
+	/**
+	 * Returns whether the results of the query shall be cached in the persistence provider's query cache.
+	 * 
+	 * @return the flag or {@literal null} if not configured.
+	 */
+	public Boolean getCacheable() {
+
+		return cacheable;
+	}
+
+	/**
+	 * Configures whether to cache the results of the query in the persistence provider's query cache. Has no effect if
+	 * the persistence provider does not support caching query results on a per query basis.
+	 * 
+	 * @param cacheable
+	 */
+	public void setCacheable(Boolean cacheable) {
+
+		this.cacheable = cacheable;
+	}
+
+	/**
+	 * Returns the time in milliseconds to wait for pessimistic locks.
+	 * 
+	 * @return the lock timeout or {@literal null} if not configured.
+	 */
+	public Integer getLockTimeout() {
+
+		return lockTimeout;
+	}
+
+	/**
+	 * Configures the time in milliseconds to wait for pessimistic locks acquired by the query.
+	 * 
+	 * @param lockTimeout
+	 */
+	public void setLockTimeout(Integer lockTimeout) {
+
+		this.lockTimeout = lockTimeout;
+	}
+
+	/**
+	 * Returns how to react on rows already locked by other transactions when acquiring pessimistic locks.
+	 * 
+	 * @return the {@link LockWait} or {@literal null} if not configured.
+	 */
+	public LockWait getLockWait() {
+
+		return lockWait;
+	}
+
+	/**
+	 * Configures how to react on rows already locked by other transactions when acquiring pessimistic locks.
+	 * 
+	 * @param lockWait
+	 */
+	public void setLockWait(LockWait lockWait) {
+
+		this.lockWait = lockWait;
+	}
+
+	/**
+	 * Returns whether paged queries shall compute the total number of elements from the page content if possible.
+	 * 
+	 * @return the flag or {@literal null} if not configured.
+	 */
+	public Boolean getInferTotal() {
+
+		return inferTotal;
+	}
+
+	/**
+	 * Configures whether paged queries shall compute the total number of elements from the page content instead of
+	 * executing the count query if the content allows to. This is only the case for the last, partially filled page,
+	 * full pages still execute the count query.
+	 * 
+	 * @see QueryUtils#inferTotal(Query, java.util.List)
+	 * @param inferTotal
+	 */
+	public void setInferTotal(Boolean inferTotal) {
+
+		this.inferTotal = inferTotal;
+	}
+
+	/**
+	 * Returns the {@link ParallelCountExecutor} to read {@link org.springframework.data.domain.Page}s with.
+	 * 
+	 * @return the executor or {@literal null} if count queries shall be executed sequentially.
+	 */
+	public ParallelCountExecutor getCountExecutor() {
+
+		return countExecutor;
+	}
+
+	/**
+	 * Configures the {@link ParallelCountExecutor} to execute count queries concurrently to the content queries when
+	 * reading {@link org.springframework.data.domain.Page}s.
+	 * 
+	 * @param countExecutor
+	 */
+	public void setCountExecutor(ParallelCountExecutor countExecutor) {
+
+		this.countExecutor = countExecutor;
+	}
+
+	/**
+	 * Returns the {@link BulkUpdateAuditor} to set the modification auditing information on bulk updates with.
+	 * 
+	 * @return the auditor or {@literal null} if bulk updates shall not be audited.
+	 */
+	public BulkUpdateAuditor getBulkUpdateAuditor() {
+
+		return bulkUpdateAuditor;
+	}
+
+	/**
+	 * Configures the {@link BulkUpdateAuditor} to set the modification auditing information on bulk updates of
+	 * {@link org.springframework.data.domain.Auditable} entities with.
+	 * 
+	 * @param bulkUpdateAuditor
+	 */
+	public void setBulkUpdateAuditor(BulkUpdateAuditor bulkUpdateAuditor) {
+
+		this.bulkUpdateAuditor = bulkUpdateAuditor;
+	}
+
+	/**
+	 * Returns a new {@link JpaQueryOptions} instance using the settings of the current one and falling back to the given
+	 * defaults for the ones not configured.
+	 * 
+	 * @param defaults can be {@literal null}.
+	 * @return
+	 */
+	public JpaQueryOptions mergeWith(JpaQueryOptions defaults) {
+
+		JpaQueryOptions result = new JpaQueryOptions();
+
+		result.setFetchSize(fetchSize == null && defaults != null ? defaults.getFetchSize() : fetchSize);
+		result.setTimeout(timeout == null && defaults != null ? defaults.getTimeout() : timeout);
+		result.setMaxRows(maxRows == null && defaults != null ? defaults.getMaxRows() : maxRows);
+		result.setReadOnly(readOnly == null && defaults != null ? defaults.getReadOnly() : readOnly);
+		result.setReadOnlyInReadOnlyTransactions(readOnlyInReadOnlyTransactions == null && defaults != null ? defaults
+				.getReadOnlyInReadOnlyTransactions() : readOnlyInReadOnlyTransactions);
+		result.setFlushMode(flushMode == null && defaults != null ? defaults.getFlushMode() : flushMode);
+		result.setCacheable(cacheable == null && defaults != null ? defaults.getCacheable() : cacheable);
+		result.setLockTimeout(lockTimeout == null && defaults != null ? defaults.getLockTimeout() : lockTimeout);
+		result.setLockWait(lockWait == null && defaults != null ? defaults.getLockWait() : lockWait);
+		result.setInferTotal(inferTotal == null && defaults != null ? defaults.getInferTotal() : inferTotal);
+		result.setCountExecutor(countExecutor == null && defaults != null ? defaults.getCountExecutor() : countExecutor);
+		result.setBulkUpdateAuditor(bulkUpdateAuditor == null && defaults != null ? defaults.getBulkUpdateAuditor()
+				: bulkUpdateAuditor);
+
+		return result;
+	}
+
+	/**
+	 * Applies the configured settings to the given {@link Query}. The maximum number of rows will only narrow down the
+	 * number of results already configured on the {@link Query}, e.g. by pagination. The read-only mode is applied if
+	 * configured explicitly or if configured for read-only transactions and the current transaction is a read-only one.
+	 * The {@link LockWait} is only applied if the {@link Query} has a pessimistic lock mode set already.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @param resolver must not be {@literal null}.
+	 * @return the given {@link Query}.
+	 */
+	public <T extends Query> T applyTo(T query, QueryHintResolver resolver) {
+
+		if (fetchSize != null && resolver.getFetchSizeHint() != null) {
+			query.setHint(resolver.getFetchSizeHint(), fetchSize);
+		}
+
+		if (timeout != null) {
+			query.setHint(TIMEOUT_HINT, timeout);
+		}
+
+		if (maxRows != null && maxRows < query.getMaxResults()) {
+			query.setMaxResults(maxRows);
+		}
+
+		if (flushMode != null) {
+			query.setFlushMode(flushMode);
+		}
+
+		if (isReadOnly() && resolver.getReadOnlyHint() != null) {
+			query.setHint(resolver.getReadOnlyHint(), true);
+		}
+
+		if (Boolean.TRUE.equals(cacheable) && resolver.getQueryCacheHint() != null) {
+			query.setHint(resolver.getQueryCacheHint(), true);
+		}
+
+		if (lockTimeout != null && resolver.getLockTimeoutHint() != null) {
+			query.setHint(resolver.getLockTimeoutHint(), lockTimeout);
+		}
+
+		if (lockWait != null && isPessimisticallyLocking(query)) {
+			for (Entry<String, Object> hint : resolver.getLockWaitHints(lockWait).entrySet()) {
+				query.setHint(hint.getKey(), hint.getValue());
+			}
+		}
+
+		return query;
+	}
+
+	/**
+	 * Returns whether the given {@link Query} acquires pessimistic locks. Queries not exposing a lock mode, e.g. native
+	 * ones, are considered not to.
+	 * 
+	 * @param query
+	 * @return
+	 */
+	private static boolean isPessimisticallyLocking(Query query) {
+
+		LockModeType lockMode;
+
+		try {
+			lockMode = query.getLockMode();
+		} catch (IllegalStateException e) {
+			return false;
+		}
+
+		return lockMode == LockModeType.PESSIMISTIC_READ || lockMode == LockModeType.PESSIMISTIC_WRITE
+				|| lockMode == LockModeType.PESSIMISTIC_FORCE_INCREMENT;
+	}
+
+	/**
+	 * Returns the hints to be handed to {@link javax.persistence.EntityManager#find(Class, Object, Map)} to apply the
+	 * configured settings to lookups by id. Only the read-only mode applies to those.
+	 * 
+	 * @param resolver must not be {@literal null}.
+	 * @return the hints keyed by name, never {@literal null}.
+	 */
+	public Map<String, Object> getFindHints(QueryHintResolver resolver) {
+
+		if (isReadOnly() && resolver.getReadOnlyHint() != null) {
+			return Collections.<String, Object> singletonMap(resolver.getReadOnlyHint(), true);
+		}
+
+		return Collections.emptyMap();
+	}
+
+	private boolean isReadOnly() {
+
+		if (readOnly != null) {
+			return readOnly;
+		}
+
+		return Boolean.TRUE.equals(readOnlyInReadOnlyTransactions)
+				&& TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+}
@@ -21,6 +21,7 @@ import javax.persistence.TypedQuery;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.QueryCreationException;
 import org.springframework.data.repository.query.QueryMethod;
@@ -78,6 +79,7 @@ final class NamedQuery extends AbstractJpaQuery {
 		// until it gets fixed
 		if (null != query) {
 			query.getHints();
+			prepareAuditing(query);
 		}
 	}
 
@@ -124,4 +126,57 @@ final class NamedQuery extends AbstractJpaQuery {
 		return createBinder(values).bind(
 				getEntityManager().createQuery(QueryUtils.createCountQueryFor(queryString), Long.class));
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Inspects the query string backing the named query for an {@literal order by} clause. Assumes an ordering if the
+	 * query string cannot be extracted.
+	 * 
+	 * @see org.springframework.data.jpa.repository.query.AbstractJpaQuery#isStaticallyOrdered()
+	 */
+	@Override
+	protected boolean isStaticallyOrdered() {
+
+		if (!extractor.canExtractQuery()) {
+			return true;
+		}
+
+		Query query = getEntityManager().createNamedQuery(queryName);
+		return QueryUtils.hasOrderByClause(extractor.extractQueryString(query));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.AbstractJpaQuery#isDistinct()
+	 */
+	@Override
+	protected boolean isDistinct() {
+
+		return QueryUtils.isDistinctQuery(getQueryString());
+	}
+
+	/**
+	 * Inspects the query string backing the named query for the references to the given {@link Parameter}. Assumes the
+	 * parameter cannot be chunked if the query string cannot be extracted.
+	 * 
+	 * @see org.springframework.data.jpa.repository.query.AbstractJpaQuery#isBoundToInClauseOnly(org.springframework.data.repository.query.Parameter)
+	 */
+	@Override
+	protected boolean isBoundToInClauseOnly(Parameter parameter) {
+
+		return QueryUtils.isBoundToInClauseOnly(getQueryString(), getQueryMethod().getParameters(), parameter);
+	}
+
+	/**
+	 * Returns the query string backing the named query.
+	 * 
+	 * @return the query string or {@literal null} if it cannot be extracted.
+	 */
+	private String getQueryString() {
+
+		if (!extractor.canExtractQuery()) {
+			return null;
+		}
+
+		return extractor.extractQueryString(getEntityManager().createNamedQuery(queryName));
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+/**
+ * Reads {@link Page}s executing the count query concurrently to the content query. The count query is executed on the
+ * configured {@link Executor} inside a read-only transaction of its own and thus on a separate connection. As that
+ * transaction would not see changes pending in the current one, both queries are executed sequentially inside
+ * read-write transactions. The {@link Executor} must not be one the content queries might be executed on as a saturated
+ * pool would have them wait for count queries that never get a thread.
+ * 
+ * @author Oliver Gierke
+ */
+public class ParallelCountExecutor {
+
+	private final Executor executor;
+	private final TransactionTemplate template;
+
+	/**
+	 * Creates a new {@link ParallelCountExecutor} using the given {@link Executor} and
+	 * {@link PlatformTransactionManager}.
+	 * 
+	 * @param executor must not be {@literal null}.
+	 * @param transactionManager must not be {@literal null}.
+	 */
+	public ParallelCountExecutor(Executor executor, PlatformTransactionManager transactionManager) {
+
+		Assert.notNull(executor);
+		Assert.notNull(transactionManager);
+
+		this.executor = executor;
+		this.template = new TransactionTemplate(transactionManager);
+		this.template.setReadOnly(true);
+	}
+
+	/**
+	 * Reads a {@link Page} using the given callbacks to obtain the content and the total number of elements.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param count must not be {@literal null}.
+	 * @param pageable can be {@literal null}.
+	 * @return
+	 */
+	public <T> Page<T> readPage(Callable<List<T>> content, final Callable<Long> count, Pageable pageable) {
+
+		Assert.notNull(content);
+		Assert.notNull(count);
+
+		if (!canExecuteConcurrently()) {
+			Long total = call(count);
+			return new PageImpl<T>(call(content), pageable, total);
+		}
+
+		FutureTask<Long> total = new FutureTask<Long>(new Callable<Long>() {
+
+			public Long call() throws Exception {
+
+				return template.execute(new TransactionCallback<Long>() {
+
+					public Long doInTransaction(TransactionStatus status) {
+						return ParallelCountExecutor.call(count);
+					}
+				});
+			}
+		});
+
+		executor.execute(total);
+
+		try {
+			return new PageImpl<T>(call(content), pageable, total.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for count query!", e);
+		} catch (ExecutionException e) {
+			throw rethrow(e.getCause());
+		} finally {
+			total.cancel(false);
+		}
+	}
+
+	/**
+	 * Returns whether the count query can be executed in a separate transaction, i.e. there's no transaction running or
+	 * it is a read-only one.
+	 * 
+	 * @return
+	 */
+	private static boolean canExecuteConcurrently() {
+
+		return !TransactionSynchronizationManager.isActualTransactionActive()
+				|| TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+
+	private static <T> T call(Callable<T> callable) {
+
+		try {
+			return callable.call();
+		} catch (Exception e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static RuntimeException rethrow(Throwable e) {
+
+		if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+
+		throw new IllegalStateException(e);
+	}
+}
@@ -15,7 +15,11 @@
  */
 package org.springframework.data.jpa.repository.query;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
@@ -24,8 +28,12 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.ParameterExpression;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.Part.Type;
 import org.springframework.data.repository.query.parser.PartTree;
 
 /**
@@ -38,6 +46,9 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 	private final Class<?> domainClass;
 	private final PartTree tree;
 	private final Parameters parameters;
+	private final List<String> fetchJoins;
+	private final boolean fetchesCollection;
+	private final Set<Integer> inParameters;
 
 	private final QueryPreparer query;
 	private final QueryPreparer countQuery;
@@ -55,6 +66,14 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 		this.domainClass = method.getEntityInformation().getJavaType();
 		this.tree = new PartTree(method.getName(), domainClass);
 		this.parameters = method.getParameters();
+		this.fetchJoins = method.getFetchJoins();
+		this.fetchesCollection = validateFetchJoins(fetchJoins, em);
+
+		if (fetchesCollection && parameters.hasPageableParameter()) {
+			throw new IllegalStateException(String.format("Paginated query method %s must not fetch collections as "
+					+ "the persistence provider would have to apply the pagination in memory!", method));
+		}
+		this.inParameters = getInParameterIndexes(tree, parameters);
 
 		this.query = new QueryPreparer(parameters.potentiallySortsDynamically());
 		this.countQuery = new CountQueryPreparer(parameters.potentiallySortsDynamically());
@@ -81,6 +100,98 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 		return (TypedQuery<Long>) countQuery.createQuery(values);
 	}
 
+	/**
+	 * Combines the static {@link Sort} derived from the method name with the dynamic one handed into the method.
+	 * 
+	 * @see org.springframework.data.jpa.repository.query.AbstractJpaQuery#getSort(java.lang.Object[])
+	 */
+	@Override
+	protected Sort getSort(Object[] values) {
+
+		Sort staticSort = tree.getSort();
+		Sort dynamicSort = super.getSort(values);
+
+		if (staticSort == null || dynamicSort == null) {
+			return staticSort == null ? dynamicSort : staticSort;
+		}
+
+		List<Order> orders = new ArrayList<Order>();
+
+		for (Order order : staticSort) {
+			orders.add(order);
+		}
+
+		for (Order order : dynamicSort) {
+			orders.add(order);
+		}
+
+		return new Sort(orders);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.AbstractJpaQuery#isDistinct()
+	 */
+	@Override
+	protected boolean isDistinct() {
+
+		return tree.isDistinct() || fetchesCollection;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.AbstractJpaQuery#isBoundToInClauseOnly(org.springframework.data.repository.query.Parameter)
+	 */
+	@Override
+	protected boolean isBoundToInClauseOnly(Parameter parameter) {
+
+		return inParameters.contains(parameter.getIndex());
+	}
+
+	/**
+	 * Returns the indexes of the method parameters bound to {@link Type#IN} parts of the given {@link PartTree}.
+	 * 
+	 * @param tree
+	 * @param parameters
+	 * @return
+	 */
+	private static Set<Integer> getInParameterIndexes(PartTree tree, Parameters parameters) {
+
+		Set<Integer> result = new HashSet<Integer>();
+		Iterator<Parameter> bindableParameters = parameters.getBindableParameters().iterator();
+
+		for (Part part : tree.getParts()) {
+			for (int i = 0; i < part.getNumberOfArguments() && bindableParameters.hasNext(); i++) {
+
+				Parameter parameter = bindableParameters.next();
+
+				if (part.getType() == Type.IN) {
+					result.add(parameter.getIndex());
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Validates the given fetch paths against the metamodel and returns whether any of them fetches a collection.
+	 * 
+	 * @param fetchJoins
+	 * @param em
+	 * @return
+	 */
+	private boolean validateFetchJoins(List<String> fetchJoins, EntityManager em) {
+
+		boolean result = false;
+
+		for (String path : fetchJoins) {
+			result |= QueryUtils.isCollectionFetch(path, domainClass, em.getMetamodel());
+		}
+
+		return result;
+	}
+
 	/**
 	 * Query preparer to create {@link CriteriaQuery} instances and potentially cache them.
 	 * 
@@ -121,7 +232,7 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 
 		protected JpaQueryCreator createCreator() {
 
-			return new JpaQueryCreator(tree, domainClass, parameters, getEntityManager());
+			return new JpaQueryCreator(tree, domainClass, parameters, getEntityManager(), fetchJoins);
 		}
 
 		/**
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Interface to hide the persistence provider specific means of removing selected entities from the persistence context
+ * of an {@link EntityManager}, e.g. after they were changed by bulk statements.
+ * 
+ * @author Oliver Gierke
+ */
+public interface PersistenceContextEvictor {
+
+	/**
+	 * Removes all instances of the given type from the given {@link EntityManager}.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 */
+	void evict(EntityManager em, Class<?> type);
+
+	/**
+	 * Removes the instances of the given type with the given ids from the given {@link EntityManager}.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @param ids must not be {@literal null}.
+	 */
+	void evict(EntityManager em, Class<?> type, Iterable<?> ids);
+}
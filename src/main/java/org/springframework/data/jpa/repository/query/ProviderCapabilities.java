@@ -0,0 +1,48 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+/**
+ * Service provider interface to capture the functionality of a persistence provider that goes beyond the JPA
+ * specification. Implementations fall back to standard JPA behaviour for everything the underlying persistence provider
+ * does not support.
+ * 
+ * @author Oliver Gierke
+ */
+public interface ProviderCapabilities extends QueryExtractor, QueryHintResolver, PersistenceContextEvictor {
+
+	/**
+	 * Executes the given {@link TypedQuery} and returns a {@link ResultCursor} reading the results from the database
+	 * lazily instead of materializing all of them at once.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @return the {@link ResultCursor} or {@literal null} if the persistence provider does not support cursors for the
+	 *         given query.
+	 */
+	<T> ResultCursor<T> openCursor(TypedQuery<T> query);
+
+	/**
+	 * Returns whether the database behind the given {@link EntityManager} supports row value constructors in {@code in}
+	 * lists, i.e. {@code (x.a, x.b) in ((?1, ?2), (?3, ?4))}, and the persistence provider allows to use them in JPQL.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @return
+	 */
+	boolean supportsRowValueInList(EntityManager em);
+}
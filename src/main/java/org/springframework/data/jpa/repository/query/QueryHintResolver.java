@@ -0,0 +1,71 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import java.util.Map;
+
+import javax.persistence.Query;
+
+import org.springframework.data.jpa.domain.LockWait;
+
+/**
+ * Interface to hide the persistence provider specific names of query hints that are not standardized by JPA.
+ * 
+ * @author Oliver Gierke
+ */
+public interface QueryHintResolver {
+
+	/**
+	 * Returns the name of the query hint to configure the JDBC fetch size of a {@link Query}.
+	 * 
+	 * @return the name of the hint or {@literal null} if the persistence provider does not support configuring the fetch
+	 *         size.
+	 */
+	String getFetchSizeHint();
+
+	/**
+	 * Returns the name of the query hint to execute a {@link Query} in read-only mode, i.e. without the persistence
+	 * provider keeping snapshots of the entities loaded for dirty checking. The hint will be set to {@literal true}.
+	 * 
+	 * @return the name of the hint or {@literal null} if the persistence provider does not support read-only queries.
+	 */
+	String getReadOnlyHint();
+
+	/**
+	 * Returns the name of the query hint to cache the results of a {@link Query} in the persistence provider's query
+	 * cache. The hint will be set to {@literal true}.
+	 * 
+	 * @return the name of the hint or {@literal null} if the persistence provider does not support caching query results
+	 *         on a per query basis.
+	 */
+	String getQueryCacheHint();
+
+	/**
+	 * Returns the name of the query hint to configure the time in milliseconds to wait for pessimistic locks acquired by
+	 * a {@link Query}.
+	 * 
+	 * @return the name of the hint or {@literal null} if the persistence provider does not support lock timeouts.
+	 */
+	String getLockTimeoutHint();
+
+	/**
+	 * Returns the query hints to apply the given {@link LockWait} to a {@link Query} acquiring pessimistic locks.
+	 * 
+	 * @param lockWait must not be {@literal null}.
+	 * @return the hints keyed by name, never {@literal null}.
+	 */
+	Map<String, Object> getLockWaitHints(LockWait lockWait);
+}
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,14 +30,26 @@ import javax.persistence.Parameter;
 import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.FetchParent;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.query.Parameter;
+import org.springframework.data.repository.query.Parameters;
 import org.springframework.util.Assert;
 
 /**
@@ -56,10 +69,18 @@ public abstract class QueryUtils {
 
 	private static final Pattern ALIAS_MATCH;
 	private static final Pattern COUNT_MATCH;
+	private static final Pattern ORDER_BY = compile(".*order\\s+by\\s+.*", CASE_INSENSITIVE | DOTALL);
+	private static final Pattern SELECT_DISTINCT = compile("^\\s*select\\s+distinct\\b", CASE_INSENSITIVE);
+	private static final Pattern IN_CLAUSE_END = compile("(?<![\\w.$])in\\s*\\(?\\s*$", CASE_INSENSITIVE);
+	private static final Pattern NOT_IN_CLAUSE_END = compile("(?<![\\w.$])not\\s+in\\s*\\(?\\s*$", CASE_INSENSITIVE);
 
 	private static final String IDENTIFIER = "[\\p{L}._$]+";
 	private static final String IDENTIFIER_GROUP = String.format("(%s)", IDENTIFIER);
 
+	private static final Pattern UPDATE = compile("^\\s*update\\s", CASE_INSENSITIVE);
+	private static final Pattern MODIFIED_ENTITY = compile("^\\s*(?:update|delete(?:\\s+from)?)\\s+" + IDENTIFIER_GROUP,
+			CASE_INSENSITIVE);
+
 	static {
 
 		StringBuilder builder = new StringBuilder();
@@ -162,6 +183,49 @@ public abstract class QueryUtils {
 		return matcher.find() ? matcher.group(2) : null;
 	}
 
+	/**
+	 * Returns whether the given query is a JPQL update statement.
+	 * 
+	 * @param query can be {@literal null}.
+	 * @return
+	 */
+	public static boolean isUpdateQuery(String query) {
+
+		return query != null && UPDATE.matcher(query).find();
+	}
+
+	/**
+	 * Resolves the type of the entity modified by the given JPQL update or delete statement.
+	 * 
+	 * @param query can be {@literal null}.
+	 * @param metamodel must not be {@literal null}.
+	 * @return the entity type or {@literal null} if the query is not an update or delete statement or the entity could
+	 *         not be found in the given {@link Metamodel}.
+	 */
+	public static Class<?> getModifiedEntityType(String query, Metamodel metamodel) {
+
+		if (query == null) {
+			return null;
+		}
+
+		Assert.notNull(metamodel);
+		Matcher matcher = MODIFIED_ENTITY.matcher(query);
+
+		if (!matcher.find()) {
+			return null;
+		}
+
+		String entityName = matcher.group(1);
+
+		for (EntityType<?> type : metamodel.getEntities()) {
+			if (entityName.equals(type.getName()) || entityName.equals(type.getJavaType().getName())) {
+				return type.getJavaType();
+			}
+		}
+
+		return null;
+	}
+
 	/**
 	 * Creates a where-clause referencing the given entities and appends it to the given query string. Binds the given
 	 * entities to the query.
@@ -213,6 +277,29 @@ public abstract class QueryUtils {
 		return query;
 	}
 
+	/**
+	 * Computes the total number of elements from the content read by the given paginated {@link Query} if the content
+	 * allows to. This is the case if the query returned less elements than requested, as the page read is the last one
+	 * then. The total of an empty page can only be inferred for the first one. Full pages always require a count query.
+	 * 
+	 * @param query the query the content was read with, must not be {@literal null}.
+	 * @param content must not be {@literal null}.
+	 * @return the total number of elements or {@literal null} if it has to be obtained by a count query.
+	 */
+	public static Long inferTotal(Query query, List<?> content) {
+
+		Assert.notNull(query);
+		Assert.notNull(content);
+
+		int offset = query.getFirstResult();
+
+		if (content.size() >= query.getMaxResults() || content.isEmpty() && offset > 0) {
+			return null;
+		}
+
+		return (long) offset + content.size();
+	}
+
 	/**
 	 * Creates a count projected query from the given orginal query.
 	 * 
@@ -227,6 +314,81 @@ public abstract class QueryUtils {
 		return matcher.replaceFirst(COUNT_REPLACEMENT);
 	}
 
+	/**
+	 * Returns whether the given query string contains an {@literal order by} clause.
+	 * 
+	 * @param query can be {@literal null}.
+	 * @return
+	 */
+	public static boolean hasOrderByClause(String query) {
+
+		return query != null && ORDER_BY.matcher(query).matches();
+	}
+
+	/**
+	 * Returns whether the given query string selects distinct results only.
+	 * 
+	 * @param query can be {@literal null}.
+	 * @return
+	 */
+	public static boolean isDistinctQuery(String query) {
+
+		return query != null && SELECT_DISTINCT.matcher(query).find();
+	}
+
+	/**
+	 * Returns whether all references to the given {@link Parameter} in the given query string are the right hand side of
+	 * a positive {@code in} predicate. Returns {@literal false} if the parameter is not referenced at all.
+	 * 
+	 * @param query can be {@literal null}.
+	 * @param parameters must not be {@literal null}.
+	 * @param parameter must not be {@literal null}.
+	 * @return
+	 */
+	public static boolean isBoundToInClauseOnly(String query, Parameters parameters, Parameter parameter) {
+
+		Assert.notNull(parameters);
+		Assert.notNull(parameter);
+
+		if (query == null) {
+			return false;
+		}
+
+		String reference = parameter.isNamedParameter() ? ":" + parameter.getName() : null;
+
+		if (reference == null || !query.contains(reference)) {
+
+			int position = 0;
+
+			for (Parameter candidate : parameters.getBindableParameters()) {
+
+				position++;
+
+				if (candidate.getIndex() == parameter.getIndex()) {
+					break;
+				}
+			}
+
+			reference = "?" + position;
+		}
+
+		Matcher matcher = compile(Pattern.quote(reference) + "(?![\\w$])").matcher(query);
+		boolean referenced = false;
+
+		while (matcher.find()) {
+
+			String prefix = query.substring(0, matcher.start());
+
+			if (!IN_CLAUSE_END.matcher(prefix).find() || NOT_IN_CLAUSE_END.matcher(prefix).find()) {
+				return false;
+			}
+
+			referenced = true;
+		}
+
+		return referenced;
+	}
+
 	/**
 	 * Returns whether the given {@link Query} contains named parameters.
 	 * 
@@ -301,4 +463,97 @@ public abstract class QueryUtils {
 		Path<Object> result = path.get(property.getSegment());
 		return property.hasNext() ? toExpressionRecursively(result, property.next()) : result;
 	}
+
+	/**
+	 * Validates the given fetch path against the given {@link Metamodel} and returns whether it traverses a collection
+	 * valued association.
+	 * 
+	 * @param path must not be {@literal null} or empty.
+	 * @param domainClass must not be {@literal null}.
+	 * @param metamodel must not be {@literal null}.
+	 * @return
+	 * @throws IllegalArgumentException in case the path does not point to an association of the given domain class.
+	 */
+	public static boolean isCollectionFetch(String path, Class<?> domainClass, Metamodel metamodel) {
+
+		Assert.hasText(path);
+		Assert.notNull(domainClass);
+		Assert.notNull(metamodel);
+
+		ManagedType<?> type = metamodel.managedType(domainClass);
+		boolean collection = false;
+
+		for (String segment : path.split("\\.")) {
+
+			if (type == null) {
+				throw new IllegalArgumentException(String.format("Invalid fetch path %s for %s!", path,
+						domainClass.getName()));
+			}
+
+			Attribute<?, ?> attribute = getAttribute(type, segment, path);
+
+			if (!attribute.isAssociation() && !attribute.isCollection()) {
+				throw new IllegalArgumentException(String.format("Fetch path %s of %s does not point to an association!",
+						path, domainClass.getName()));
+			}
+
+			collection |= attribute.isCollection();
+
+			Type<?> next = attribute.isCollection() ? ((PluralAttribute<?, ?, ?>) attribute).getElementType()
+					: ((SingularAttribute<?, ?>) attribute).getType();
+			type = next instanceof ManagedType ? (ManagedType<?>) next : null;
+		}
+
+		return collection;
+	}
+
+	/**
+	 * Applies the given fetch paths as left outer fetch joins to the given {@link FetchParent}. Fetch joins already
+	 * present will be reused. Returns whether a collection valued association was fetched.
+	 * 
+	 * @param root must not be {@literal null}.
+	 * @param paths must not be {@literal null}.
+	 * @return
+	 */
+	public static boolean applyFetchJoins(FetchParent<?, ?> root, Iterable<String> paths) {
+
+		Assert.notNull(root);
+		Assert.notNull(paths);
+
+		boolean collection = false;
+
+		for (String path : paths) {
+
+			FetchParent<?, ?> parent = root;
+
+			for (String segment : path.split("\\.")) {
+				Fetch<?, ?> fetch = getOrCreateFetch(parent, segment);
+				collection |= fetch.getAttribute().isCollection();
+				parent = fetch;
+			}
+		}
+
+		return collection;
+	}
+
+	private static Fetch<?, ?> getOrCreateFetch(FetchParent<?, ?> parent, String attribute) {
+
+		for (Fetch<?, ?> fetch : parent.getFetches()) {
+			if (fetch.getAttribute().getName().equals(attribute)) {
+				return fetch;
+			}
+		}
+
+		return parent.fetch(attribute, JoinType.LEFT);
+	}
+
+	private static Attribute<?, ?> getAttribute(ManagedType<?> type, String name, String path) {
+
+		try {
+			return type.getAttribute(name);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(String.format("Invalid fetch path %s! No attribute %s found on %s!", path,
+					name, type.getJavaType().getName()), e);
+		}
+	}
 }
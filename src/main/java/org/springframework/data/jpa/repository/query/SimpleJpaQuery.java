@@ -21,6 +21,7 @@ import javax.persistence.TypedQuery;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
@@ -55,7 +56,7 @@ final class SimpleJpaQuery extends AbstractJpaQuery {
 				.getCountQuery();
 
 		// Try to create a
-		em.createQuery(queryString);
+		prepareAuditing(em.createQuery(queryString));
 	}
 
 	/*
@@ -82,6 +83,36 @@ final class SimpleJpaQuery extends AbstractJpaQuery {
 		return createBinder(values).bind(getEntityManager().createQuery(countQuery, Long.class));
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.AbstractJpaQuery#isStaticallyOrdered()
+	 */
+	@Override
+	protected boolean isStaticallyOrdered() {
+
+		return QueryUtils.hasOrderByClause(queryString);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.AbstractJpaQuery#isDistinct()
+	 */
+	@Override
+	protected boolean isDistinct() {
+
+		return QueryUtils.isDistinctQuery(queryString);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.AbstractJpaQuery#isBoundToInClauseOnly(org.springframework.data.repository.query.Parameter)
+	 */
+	@Override
+	protected boolean isBoundToInClauseOnly(Parameter parameter) {
+
+		return QueryUtils.isBoundToInClauseOnly(queryString, parameters, parameter);
+	}
+
 	/**
 	 * Creates a {@link RepositoryQuery} from the given {@link QueryMethod} that is potentially annotated with
 	 * {@link org.springframework.data.jpa.repository.Query}.
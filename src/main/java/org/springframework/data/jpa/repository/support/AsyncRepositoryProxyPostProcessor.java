@@ -0,0 +1,172 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+/**
+ * {@link RepositoryProxyPostProcessor} to execute repository methods returning a {@link Future} asynchronously on a
+ * configurable {@link Executor}. Each invocation runs inside a transaction of its own (read-only unless the method is
+ * annotated with {@link Modifying}) and thus uses an {@link javax.persistence.EntityManager} of its own as well. If no
+ * {@link Executor} is configured, the methods are executed synchronously in the calling thread participating in a
+ * potentially running transaction.
+ * <p>
+ * Cancelling the {@link Future} returned will prevent the execution if it has not started yet. As JDBC drivers do not
+ * react on thread interruption, use a query timeout (e.g. through
+ * {@link org.springframework.data.jpa.repository.QueryOptions}) to bound the execution time of running queries.
+ * 
+ * @author Oliver Gierke
+ */
+class AsyncRepositoryProxyPostProcessor implements RepositoryProxyPostProcessor {
+
+	private final Executor executor;
+	private final BeanFactory beanFactory;
+	private final String transactionManagerName;
+
+	/**
+	 * Creates a new {@link AsyncRepositoryProxyPostProcessor} using the given {@link Executor} and the
+	 * {@link PlatformTransactionManager} with the given name.
+	 * 
+	 * @param executor can be {@literal null}.
+	 * @param beanFactory must not be {@literal null}.
+	 * @param transactionManagerName must not be {@literal null} or empty.
+	 */
+	public AsyncRepositoryProxyPostProcessor(Executor executor, BeanFactory beanFactory, String transactionManagerName) {
+
+		Assert.notNull(beanFactory);
+		Assert.hasText(transactionManagerName);
+
+		this.executor = executor;
+		this.beanFactory = beanFactory;
+		this.transactionManagerName = transactionManagerName;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.core.support.RepositoryProxyPostProcessor#postProcess(org.springframework.aop.framework.ProxyFactory)
+	 */
+	public void postProcess(ProxyFactory factory) {
+
+		factory.addAdvice(new AsyncExecutionMethodInterceptor(executor, beanFactory, transactionManagerName));
+	}
+
+	/**
+	 * {@link MethodInterceptor} to hand invocations of methods returning a {@link Future} to an {@link Executor}.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	static class AsyncExecutionMethodInterceptor implements MethodInterceptor {
+
+		private final Executor executor;
+		private final BeanFactory beanFactory;
+		private final String transactionManagerName;
+
+		private PlatformTransactionManager transactionManager;
+
+		/**
+		 * Creates a new {@link AsyncExecutionMethodInterceptor}.
+		 * 
+		 * @param executor can be {@literal null}.
+		 * @param beanFactory must not be {@literal null}.
+		 * @param transactionManagerName must not be {@literal null} or empty.
+		 */
+		public AsyncExecutionMethodInterceptor(Executor executor, BeanFactory beanFactory, String transactionManagerName) {
+
+			this.executor = executor;
+			this.beanFactory = beanFactory;
+			this.transactionManagerName = transactionManagerName;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.aopalliance.intercept.MethodInterceptor#invoke(org.aopalliance.intercept.MethodInvocation)
+		 */
+		public Object invoke(final MethodInvocation invocation) throws Throwable {
+
+			Method method = invocation.getMethod();
+
+			if (!Future.class.isAssignableFrom(method.getReturnType())) {
+				return invocation.proceed();
+			}
+
+			final TransactionTemplate template = new TransactionTemplate(getTransactionManager());
+			template.setReadOnly(!method.isAnnotationPresent(Modifying.class));
+
+			FutureTask<Object> task = new FutureTask<Object>(new Callable<Object>() {
+
+				public Object call() throws Exception {
+
+					Object result = template.execute(new TransactionCallback<Object>() {
+
+						public Object doInTransaction(TransactionStatus status) {
+							return proceed(invocation);
+						}
+					});
+
+					// Custom implementations might already return a Future
+					return result instanceof Future ? ((Future<?>) result).get() : result;
+				}
+			});
+
+			if (executor == null) {
+				task.run();
+			} else {
+				executor.execute(task);
+			}
+
+			return task;
+		}
+
+		private PlatformTransactionManager getTransactionManager() {
+
+			if (transactionManager == null) {
+				transactionManager = beanFactory.getBean(transactionManagerName, PlatformTransactionManager.class);
+			}
+
+			return transactionManager;
+		}
+
+		private static Object proceed(MethodInvocation invocation) {
+
+			try {
+				return invocation.proceed();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new UndeclaredThrowableException(e);
+			}
+		}
+	}
+}
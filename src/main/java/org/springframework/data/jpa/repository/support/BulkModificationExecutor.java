@@ -0,0 +1,785 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.data.jpa.domain.ChunkListener;
+import org.springframework.data.jpa.domain.Chunking;
+import org.springframework.data.jpa.domain.Increment;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.Update;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Executes bulk updates and deletes for the entities matching a {@link Specification}. As JPA 2.0 does not allow to
+ * use the criteria API for bulk statements, the ids of the matching entities are selected first and then handed to
+ * JPQL bulk statements restricting them using an {@link IdRestriction}. If the entity has a single {@link Comparable}
+ * id attribute, the ids are selected in slices ordered by id right before each statement, so that the
+ * {@link Specification} is re-applied for every statement and the ids don't have to be held in memory all at once.
+ * Affected entities are evicted from the {@link EntityManager} and the second level cache afterwards. Optionally, the
+ * statements can be executed in {@link Chunking chunks} committed separately.
+ * 
+ * @author Oliver Gierke
+ */
+class BulkModificationExecutor<T> {
+
+	private static final String UPDATE_QUERY_STRING = "update %s x set ";
+
+	private final JpaEntityInformation<T, ?> entityInformation;
+	private final EntityManager em;
+	private final PersistenceProvider provider;
+	private final IdRestriction<T> restriction;
+
+	/**
+	 * Creates a new {@link BulkModificationExecutor}.
+	 * 
+	 * @param entityInformation must not be {@literal null}.
+	 * @param em must not be {@literal null}.
+	 * @param provider must not be {@literal null}.
+	 */
+	public BulkModificationExecutor(JpaEntityInformation<T, ?> entityInformation, EntityManager em,
+			PersistenceProvider provider) {
+
+		Assert.notNull(entityInformation);
+		Assert.notNull(em);
+		Assert.notNull(provider);
+
+		this.entityInformation = entityInformation;
+		this.em = em;
+		this.provider = provider;
+		this.restriction = new IdRestriction<T>(entityInformation, em, provider);
+	}
+
+	/**
+	 * Returns the ids of all entities matching the given {@link Specification}. As entities using an
+	 * {@link javax.persistence.IdClass} do not have a single id attribute to select, their id attributes are selected
+	 * and the instances of the id class are assembled from them.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @return
+	 */
+	public List<Object> getIds(Specification<T> spec) {
+
+		SingularAttribute<? super T, ?> idAttribute = entityInformation.getIdAttribute();
+
+		if (idAttribute == null) {
+			return getIdClassIds(spec);
+		}
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<Object> query = builder.createQuery(Object.class);
+		Root<T> root = query.from(entityInformation.getJavaType());
+		query.select(root.get(idAttribute.getName()));
+
+		Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+
+		if (predicate != null) {
+			query.where(predicate);
+		}
+
+		return em.createQuery(query).getResultList();
+	}
+
+	/**
+	 * Returns the ids of all entities matching the given {@link Specification} for an entity using an
+	 * {@link javax.persistence.IdClass}. Selects the id attributes only and populates the fields of the id class named
+	 * after them.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @return
+	 */
+	private List<Object> getIdClassIds(Specification<T> spec) {
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+		Root<T> root = query.from(entityInformation.getJavaType());
+
+		List<String> attributes = new ArrayList<String>();
+		List<Selection<?>> selections = new ArrayList<Selection<?>>();
+
+		for (String attribute : entityInformation.getIdAttributeNames()) {
+			attributes.add(attribute);
+			selections.add(root.get(attribute));
+		}
+
+		query.multiselect(selections);
+
+		Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+
+		if (predicate != null) {
+			query.where(predicate);
+		}
+
+		List<Object[]> result = em.createQuery(query).getResultList();
+		List<Object> ids = new ArrayList<Object>(result.size());
+
+		for (Object[] values : result) {
+
+			Object id = BeanUtils.instantiateClass(entityInformation.getIdType());
+			DirectFieldAccessor accessor = new DirectFieldAccessor(id);
+
+			for (int i = 0; i < attributes.size(); i++) {
+				accessor.setPropertyValue(attributes.get(i), values[i]);
+			}
+
+			ids.add(id);
+		}
+
+		return ids;
+	}
+
+	/**
+	 * Returns the number of entities matching the given {@link Specification}.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @return
+	 */
+	public long count(Specification<T> spec) {
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<Long> query = builder.createQuery(Long.class);
+		Root<T> root = query.from(entityInformation.getJavaType());
+		query.select(builder.count(root));
+
+		Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+
+		if (predicate != null) {
+			query.where(predicate);
+		}
+
+		return em.createQuery(query).getSingleResult();
+	}
+
+	/**
+	 * Returns whether the ids of the entities can be read in slices ordered by id, i.e. the entity has a single
+	 * {@link Comparable} id attribute.
+	 * 
+	 * @return
+	 */
+	boolean canSliceIds() {
+
+		SingularAttribute<? super T, ?> idAttribute = entityInformation.getIdAttribute();
+
+		return idAttribute != null
+				&& Comparable.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(idAttribute.getJavaType()));
+	}
+
+	/**
+	 * Returns the given number of ids of entities matching the given {@link Specification} ordered by id, starting after
+	 * the given one.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param lastId the id to start after, can be {@literal null} to start with the first one.
+	 * @param maxResults
+	 * @return
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private List<Object> getIds(Specification<T> spec, Object lastId, int maxResults) {
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<Object> query = builder.createQuery(Object.class);
+		Root<T> root = query.from(entityInformation.getJavaType());
+		Path<Comparable> id = root.get(entityInformation.getIdAttribute().getName());
+
+		query.select(id);
+
+		List<Predicate> predicates = new ArrayList<Predicate>();
+		Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+
+		if (predicate != null) {
+			predicates.add(predicate);
+		}
+
+		if (lastId != null) {
+			predicates.add(builder.greaterThan(id, (Comparable) lastId));
+		}
+
+		query.where(predicates.toArray(new Predicate[predicates.size()]));
+		query.orderBy(builder.asc(id));
+
+		return em.createQuery(query).setMaxResults(maxResults).getResultList();
+	}
+
+	/**
+	 * Deletes all entities matching the given {@link Specification}.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @return the number of entities deleted.
+	 */
+	public int delete(Specification<T> spec) {
+
+		return execute(getDeleteQueryString(), new ArrayList<Object>(), spec);
+	}
+
+	/**
+	 * Deletes all entities matching the given {@link Specification} in chunks, each of them executed in a transaction of
+	 * its own.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param chunking must not be {@literal null}.
+	 * @param template must not be {@literal null}.
+	 * @return the number of entities deleted.
+	 */
+	public int delete(Specification<T> spec, Chunking chunking, TransactionTemplate template) {
+
+		return executeInChunks(getDeleteQueryString(), new ArrayList<Object>(), spec, chunking, template);
+	}
+
+	/**
+	 * Deletes the entities with the given ids.
+	 * 
+	 * @param ids must not be {@literal null}.
+	 * @return the number of entities deleted.
+	 */
+	public int delete(List<?> ids) {
+
+		return execute(getDeleteQueryString(), null, new ArrayList<Object>(), ids);
+	}
+
+	/**
+	 * Deletes the entities with the given ids in chunks, each of them executed in a transaction of its own.
+	 * 
+	 * @param ids must not be {@literal null}.
+	 * @param chunking must not be {@literal null}.
+	 * @param template must not be {@literal null}.
+	 * @return the number of entities deleted.
+	 */
+	public int delete(List<?> ids, Chunking chunking, TransactionTemplate template) {
+
+		return executeInChunks(getDeleteQueryString(), new ArrayList<Object>(), ids, chunking, template);
+	}
+
+	/**
+	 * Applies the given {@link Update} to the entities with the given ids. A numeric version attribute gets incremented
+	 * so that concurrent modifications of the affected entities will fail the optimistic locking check.
+	 * 
+	 * @param update must not be {@literal null} or empty.
+	 * @param ids must not be {@literal null}.
+	 * @return the number of entities updated.
+	 */
+	public int update(Update update, List<?> ids) {
+
+		List<Object> values = new ArrayList<Object>();
+		return execute(getUpdateQueryString(update, values), null, values, ids);
+	}
+
+	/**
+	 * Applies the given {@link Update} to all entities matching the given {@link Specification}. A numeric version
+	 * attribute gets incremented.
+	 * 
+	 * @param update must not be {@literal null} or empty.
+	 * @param spec can be {@literal null}.
+	 * @return the number of entities updated.
+	 */
+	public int update(Update update, Specification<T> spec) {
+
+		List<Object> values = new ArrayList<Object>();
+		return execute(getUpdateQueryString(update, values), values, spec);
+	}
+
+	/**
+	 * Applies the given {@link Update} to all entities matching the given {@link Specification} in chunks, each of them
+	 * executed in a transaction of its own.
+	 * 
+	 * @param update must not be {@literal null} or empty.
+	 * @param spec can be {@literal null}.
+	 * @param chunking must not be {@literal null}.
+	 * @param template must not be {@literal null}.
+	 * @return the number of entities updated.
+	 */
+	public int update(Update update, Specification<T> spec, Chunking chunking, TransactionTemplate template) {
+
+		List<Object> values = new ArrayList<Object>();
+		return executeInChunks(getUpdateQueryString(update, values), values, spec, chunking, template);
+	}
+
+	/**
+	 * Applies the given {@link Update} to the entity with the given id if its version attribute still has the given
+	 * value. A numeric version attribute gets incremented along the way.
+	 * 
+	 * @param update must not be {@literal null} or empty.
+	 * @param id must not be {@literal null}.
+	 * @param expectedVersion must not be {@literal null}.
+	 * @return whether the entity was updated, i.e. it exists and was not modified concurrently.
+	 */
+	public boolean update(Update update, Object id, Object expectedVersion) {
+
+		Assert.notNull(id);
+		Assert.notNull(expectedVersion);
+
+		SingularAttribute<? super T, ?> version = entityInformation.getVersionAttribute();
+		Assert.state(version != null, String.format("%s does not declare a version attribute!", entityInformation
+				.getJavaType().getName()));
+
+		List<Object> values = new ArrayList<Object>();
+		String queryString = getUpdateQueryString(update, values);
+
+		values.add(expectedVersion);
+		String condition = String.format("x.%s = ?%s", version.getName(), values.size());
+
+		return execute(queryString, condition, values, Collections.singletonList(id)) == 1;
+	}
+
+	/**
+	 * Atomically adds the deltas of the given {@link Increment} to the entity with the given id. The bounds of the
+	 * {@link Increment} are checked in the where clause so that the statement does not touch the entity if one of them
+	 * would be violated. A numeric version attribute gets incremented along the way.
+	 * 
+	 * @param increment must not be {@literal null} or empty.
+	 * @param id must not be {@literal null}.
+	 * @return whether the entity was updated, i.e. it exists and all bounds were met.
+	 */
+	public boolean increment(Increment increment, Object id) {
+
+		Assert.notNull(increment);
+		Assert.isTrue(!increment.isEmpty(), "Increment must contain at least one delta!");
+		Assert.notNull(id);
+
+		EntityType<T> type = em.getMetamodel().entity(entityInformation.getJavaType());
+		StringBuilder builder = new StringBuilder(getQueryString(UPDATE_QUERY_STRING, entityInformation.getEntityName()));
+		List<Object> values = new ArrayList<Object>();
+		Map<String, Integer> positions = new HashMap<String, Integer>();
+
+		for (Entry<String, Number> delta : increment.getDeltas().entrySet()) {
+
+			SingularAttribute<? super T, ?> attribute = getNumericAttribute(type, delta.getKey());
+
+			if (!values.isEmpty()) {
+				builder.append(", ");
+			}
+
+			values.add(convert(delta.getValue(), attribute));
+			positions.put(delta.getKey(), values.size());
+			builder.append(String.format("x.%1$s = x.%1$s + ?%2$s", attribute.getName(), values.size()));
+		}
+
+		appendVersionIncrement(builder, type);
+
+		List<String> conditions = new ArrayList<String>();
+		appendBounds(conditions, increment.getMinimums(), ">=", positions, values, type);
+		appendBounds(conditions, increment.getMaximums(), "<=", positions, values, type);
+
+		String condition = conditions.isEmpty() ? null : StringUtils.collectionToDelimitedString(conditions, " and ");
+
+		return execute(builder.toString(), condition, values, Collections.singletonList(id)) == 1;
+	}
+
+	/**
+	 * Adds a condition comparing the incremented value of the attribute with the bound to the given {@link List} of
+	 * conditions for each of the given bounds.
+	 * 
+	 * @param conditions
+	 * @param bounds
+	 * @param operator
+	 * @param positions the positions of the parameters carrying the deltas keyed by attribute name.
+	 * @param values
+	 * @param type
+	 */
+	private void appendBounds(List<String> conditions, Map<String, Number> bounds, String operator,
+			Map<String, Integer> positions, List<Object> values, EntityType<T> type) {
+
+		for (Entry<String, Number> bound : bounds.entrySet()) {
+
+			SingularAttribute<? super T, ?> attribute = getNumericAttribute(type, bound.getKey());
+			values.add(convert(bound.getValue(), attribute));
+
+			conditions.add(String.format("x.%s + ?%s %s ?%s", attribute.getName(), positions.get(bound.getKey()),
+					operator, values.size()));
+		}
+	}
+
+	/**
+	 * Applies the given {@link Update} to the entities with the given ids in chunks, each of them executed in a
+	 * transaction of its own.
+	 * 
+	 * @param update must not be {@literal null} or empty.
+	 * @param ids must not be {@literal null}.
+	 * @param chunking must not be {@literal null}.
+	 * @param template must not be {@literal null}.
+	 * @return the number of entities updated.
+	 */
+	public int update(Update update, List<?> ids, Chunking chunking, TransactionTemplate template) {
+
+		List<Object> values = new ArrayList<Object>();
+		return executeInChunks(getUpdateQueryString(update, values), values, ids, chunking, template);
+	}
+
+	private String getDeleteQueryString() {
+
+		return getQueryString(DELETE_ALL_QUERY_STRING, entityInformation.getEntityName());
+	}
+
+	/**
+	 * Creates the update statement for the given {@link Update} and collects the values to be bound into the given
+	 * {@link List}.
+	 * 
+	 * @param update must not be {@literal null} or empty.
+	 * @param values must not be {@literal null}.
+	 * @return
+	 */
+	private String getUpdateQueryString(Update update, List<Object> values) {
+
+		Assert.notNull(update);
+		Assert.isTrue(!update.isEmpty(), "Update must contain at least one assignment!");
+
+		EntityType<T> type = em.getMetamodel().entity(entityInformation.getJavaType());
+		StringBuilder builder = new StringBuilder(getQueryString(UPDATE_QUERY_STRING, entityInformation.getEntityName()));
+
+		for (Entry<String, Object> assignment : update.getAssignments().entrySet()) {
+
+			SingularAttribute<? super T, ?> attribute = getValidatedAttribute(type, assignment.getKey(),
+					assignment.getValue());
+
+			if (!values.isEmpty()) {
+				builder.append(", ");
+			}
+
+			values.add(assignment.getValue());
+			builder.append(String.format("x.%s = ?%s", attribute.getName(), values.size()));
+		}
+
+		appendVersionIncrement(builder, type);
+
+		return builder.toString();
+	}
+
+	private static <T> void appendVersionIncrement(StringBuilder builder, EntityType<T> type) {
+
+		SingularAttribute<? super T, ?> version = getNumericVersionAttribute(type);
+
+		if (version != null) {
+			builder.append(String.format(", x.%1$s = x.%1$s + 1", version.getName()));
+		}
+	}
+
+	/**
+	 * Executes the given bulk statement for all entities matching the given {@link Specification}. Reads the ids to
+	 * restrict each statement to right before executing it if possible.
+	 * 
+	 * @param queryString the bulk statement without where clause.
+	 * @param values the values to bind to the positional parameters already contained in the statement.
+	 * @param spec can be {@literal null}.
+	 * @return
+	 */
+	private int execute(String queryString, List<Object> values, Specification<T> spec) {
+
+		if (!canSliceIds()) {
+			return execute(queryString, null, values, getIds(spec));
+		}
+
+		int maxIds = restriction.getMaxIdsPerStatement();
+		int result = 0;
+		Object lastId = null;
+		List<Object> ids;
+
+		do {
+
+			ids = getIds(spec, lastId, maxIds);
+			result += execute(queryString, null, values, ids);
+			lastId = ids.isEmpty() ? null : ids.get(ids.size() - 1);
+
+		} while (ids.size() == maxIds);
+
+		return result;
+	}
+
+	/**
+	 * Executes the given bulk statement for all entities matching the given {@link Specification} in chunks, each of
+	 * them in a transaction of its own. The ids of a chunk are read inside its transaction so that the
+	 * {@link Specification} is re-applied for every chunk. Notifies the {@link ChunkListener} configured after each
+	 * committed chunk and pauses between the chunks if configured.
+	 * 
+	 * @param queryString the bulk statement without where clause.
+	 * @param values the values to bind to the positional parameters already contained in the statement.
+	 * @param spec can be {@literal null}.
+	 * @param chunking must not be {@literal null}.
+	 * @param template must not be {@literal null}.
+	 * @return
+	 */
+	private int executeInChunks(final String queryString, final List<Object> values, final Specification<T> spec,
+			final Chunking chunking, TransactionTemplate template) {
+
+		Assert.notNull(chunking);
+		Assert.notNull(template);
+
+		if (!canSliceIds()) {
+
+			List<Object> ids = template.execute(new TransactionCallback<List<Object>>() {
+
+				public List<Object> doInTransaction(TransactionStatus status) {
+					return getIds(spec);
+				}
+			});
+
+			return executeInChunks(queryString, values, ids, chunking, template);
+		}
+
+		ChunkListener listener = chunking.getListener();
+		int total = listener == null ? 0 : template.execute(new TransactionCallback<Long>() {
+
+			public Long doInTransaction(TransactionStatus status) {
+				return count(spec);
+			}
+		}).intValue();
+
+		int result = 0;
+		int processed = 0;
+		Object lastId = null;
+
+		while (true) {
+
+			if (processed > 0) {
+				pause(chunking.getPause());
+			}
+
+			final Object start = lastId;
+			final List<Object> chunk = new ArrayList<Object>();
+
+			int affected = template.execute(new TransactionCallback<Integer>() {
+
+				public Integer doInTransaction(TransactionStatus status) {
+
+					chunk.addAll(getIds(spec, start, chunking.getSize()));
+					return execute(queryString, null, values, chunk);
+				}
+			});
+
+			if (chunk.isEmpty()) {
+				return result;
+			}
+
+			result += affected;
+			processed += chunk.size();
+
+			if (listener != null) {
+				listener.chunkProcessed(affected, processed, Math.max(total, processed));
+			}
+
+			if (chunk.size() < chunking.getSize()) {
+				return result;
+			}
+
+			lastId = chunk.get(chunk.size() - 1);
+		}
+	}
+
+	/**
+	 * Executes the given bulk statement for chunks of the given ids, each of them in a transaction of its own. Notifies
+	 * the {@link ChunkListener} configured after each committed chunk and pauses between the chunks if configured.
+	 * 
+	 * @param queryString the bulk statement without where clause.
+	 * @param values the values to bind to the positional parameters already contained in the statement.
+	 * @param ids must not be {@literal null}.
+	 * @param chunking must not be {@literal null}.
+	 * @param template must not be {@literal null}.
+	 * @return
+	 */
+	private int executeInChunks(final String queryString, final List<Object> values, List<?> ids, Chunking chunking,
+			TransactionTemplate template) {
+
+		Assert.notNull(ids);
+		Assert.notNull(chunking);
+		Assert.notNull(template);
+
+		ChunkListener listener = chunking.getListener();
+		int result = 0;
+
+		for (int start = 0; start < ids.size(); start += chunking.getSize()) {
+
+			if (start > 0) {
+				pause(chunking.getPause());
+			}
+
+			final List<?> chunk = ids.subList(start, Math.min(start + chunking.getSize(), ids.size()));
+
+			int affected = template.execute(new TransactionCallback<Integer>() {
+
+				public Integer doInTransaction(TransactionStatus status) {
+					return execute(queryString, null, values, chunk);
+				}
+			});
+
+			result += affected;
+
+			if (listener != null) {
+				listener.chunkProcessed(affected, start + chunk.size(), ids.size());
+			}
+		}
+
+		return result;
+	}
+
+	private static void pause(long millis) {
+
+		if (millis == 0) {
+			return;
+		}
+
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while pausing between chunks!", e);
+		}
+	}
+
+	/**
+	 * Executes the given bulk statement for the given ids. Issues one statement per
+	 * {@link IdRestriction#getMaxIdsPerStatement()} ids as some databases limit the number of parameters per statement.
+	 * 
+	 * @param queryString the bulk statement without where clause.
+	 * @param condition an additional condition to restrict the statement with, can be {@literal null}.
+	 * @param values the values to bind to the positional parameters already contained in the statement or condition.
+	 * @param ids
+	 * @return
+	 */
+	private int execute(String queryString, String condition, List<Object> values, List<?> ids) {
+
+		Assert.notNull(ids);
+
+		if (ids.isEmpty()) {
+			return 0;
+		}
+
+		em.flush();
+
+		int result = 0;
+		int maxIds = restriction.getMaxIdsPerStatement();
+
+		for (int start = 0; start < ids.size(); start += maxIds) {
+
+			List<?> chunk = ids.subList(start, Math.min(start + maxIds, ids.size()));
+			List<Object> parameters = new ArrayList<Object>(values);
+			String idRestriction = restriction.render("x", chunk, parameters);
+			String where = condition == null ? idRestriction : condition + " and (" + idRestriction + ")";
+			Query query = em.createQuery(queryString + " where " + where);
+
+			for (int i = 0; i < parameters.size(); i++) {
+				query.setParameter(i + 1, parameters.get(i));
+			}
+
+			result += query.executeUpdate();
+		}
+
+		evict(ids);
+
+		return result;
+	}
+
+	/**
+	 * Evicts the entities with the given ids from the {@link EntityManager} and the second level cache.
+	 * 
+	 * @param ids
+	 */
+	private void evict(List<?> ids) {
+
+		Class<T> domainClass = entityInformation.getJavaType();
+		Cache cache = em.getEntityManagerFactory().getCache();
+
+		if (cache != null) {
+			for (Object id : ids) {
+				cache.evict(domainClass, id);
+			}
+		}
+
+		provider.evict(em, domainClass, ids);
+	}
+
+	private static <T> SingularAttribute<? super T, ?> getValidatedAttribute(EntityType<T> type, String name,
+			Object value) {
+
+		SingularAttribute<? super T, ?> attribute = type.getSingularAttribute(name);
+
+		Assert.isTrue(!attribute.isId(), String.format("Cannot update id attribute %s!", name));
+		Assert.isTrue(!attribute.isVersion(), String.format("Cannot update version attribute %s!", name));
+		Assert.isTrue(value == null || ClassUtils.isAssignableValue(attribute.getJavaType(), value), String.format(
+				"Value %s is not assignable to attribute %s of type %s!", value, name, attribute.getJavaType()));
+
+		return attribute;
+	}
+
+	private static <T> SingularAttribute<? super T, ?> getNumericAttribute(EntityType<T> type, String name) {
+
+		SingularAttribute<? super T, ?> attribute = type.getSingularAttribute(name);
+		Class<?> javaType = ClassUtils.resolvePrimitiveIfNecessary(attribute.getJavaType());
+
+		Assert.isTrue(!attribute.isId(), String.format("Cannot increment id attribute %s!", name));
+		Assert.isTrue(!attribute.isVersion(), String.format("Cannot increment version attribute %s!", name));
+		Assert.isTrue(Number.class.isAssignableFrom(javaType),
+				String.format("Attribute %s of type %s is not numeric!", name, javaType));
+
+		return attribute;
+	}
+
+	/**
+	 * Converts the given {@link Number} into the type of the given attribute so that persistence providers do not reject
+	 * it when binding it to an arithmetic expression.
+	 * 
+	 * @param number
+	 * @param attribute
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private static Number convert(Number number, SingularAttribute<?, ?> attribute) {
+
+		Class<?> javaType = ClassUtils.resolvePrimitiveIfNecessary(attribute.getJavaType());
+		return NumberUtils.convertNumberToTargetClass(number, (Class<Number>) javaType);
+	}
+
+	private static <T> SingularAttribute<? super T, ?> getNumericVersionAttribute(EntityType<T> type) {
+
+		if (!type.hasVersionAttribute()) {
+			return null;
+		}
+
+		for (SingularAttribute<? super T, ?> attribute : type.getSingularAttributes()) {
+			if (attribute.isVersion()) {
+				Class<?> javaType = ClassUtils.resolvePrimitiveIfNecessary(attribute.getJavaType());
+				return Number.class.isAssignableFrom(javaType) ? attribute : null;
+			}
+		}
+
+		return null;
+	}
+}
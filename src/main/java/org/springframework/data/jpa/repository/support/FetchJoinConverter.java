@@ -0,0 +1,174 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.FetchParent;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Creates views on a {@link Root} that turn fetch joins requested by a
+ * {@link org.springframework.data.jpa.domain.Specification} into plain joins. Used to build count queries from a fresh
+ * {@link Root} that never gets fetches registered, as fetch joins are invalid in count queries but cannot be removed
+ * portably once added. Predicates on the joined paths keep working.
+ * 
+ * @author Oliver Gierke
+ */
+class FetchJoinConverter {
+
+	private boolean collectionJoined = false;
+
+	/**
+	 * Returns whether the given {@link FetchParent} or any of its joins has fetches registered.
+	 * 
+	 * @param parent must not be {@literal null}.
+	 * @return
+	 */
+	public static boolean hasFetches(FetchParent<?, ?> parent) {
+
+		Assert.notNull(parent);
+
+		if (!parent.getFetches().isEmpty()) {
+			return true;
+		}
+
+		if (parent instanceof From) {
+			for (Join<?, ?> join : ((From<?, ?>) parent).getJoins()) {
+				if (hasFetches(join)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns a view on the given {@link Root} converting fetches into joins.
+	 * 
+	 * @param root must not be {@literal null}.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Root<T> convert(Root<T> root) {
+
+		Assert.notNull(root);
+		return (Root<T>) createProxy(root, Root.class);
+	}
+
+	/**
+	 * Returns whether a fetch of a collection valued association was converted into a join, i.e. whether the query now
+	 * returns duplicates of the root entities.
+	 * 
+	 * @return
+	 */
+	public boolean hasJoinedCollection() {
+
+		return collectionJoined;
+	}
+
+	private Object createProxy(Object target, Class<?> type) {
+
+		Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+		interfaces.add(type);
+
+		for (Class<?> candidate : ClassUtils.getAllInterfacesAsSet(target)) {
+			if (Modifier.isPublic(candidate.getModifiers())) {
+				interfaces.add(candidate);
+			}
+		}
+
+		return Proxy.newProxyInstance(target.getClass().getClassLoader(), interfaces.toArray(new Class<?>[interfaces.size()]),
+				new FetchConvertingInvocationHandler(target));
+	}
+
+	/**
+	 * {@link InvocationHandler} delegating to the {@link From} it wraps and turning calls to {@code fetch(...)} into
+	 * calls to {@code join(...)}.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private class FetchConvertingInvocationHandler implements InvocationHandler {
+
+		private final Object target;
+
+		public FetchConvertingInvocationHandler(Object target) {
+
+			this.target = target;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+		 */
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			String name = method.getName();
+			int arguments = args == null ? 0 : args.length;
+
+			if (name.equals("fetch") && arguments > 0) {
+				return join(args[0], arguments > 1 ? (JoinType) args[1] : JoinType.INNER);
+			} else if (name.equals("getFetches") && arguments == 0) {
+				return Collections.emptySet();
+			} else if (name.equals("equals") && arguments == 1) {
+				return proxy == args[0] || target.equals(args[0]);
+			}
+
+			Method targetMethod = method.getDeclaringClass().isInstance(target) ? method : ReflectionUtils.findMethod(
+					target.getClass(), name, method.getParameterTypes());
+
+			if (targetMethod == null) {
+				throw new UnsupportedOperationException(String.format("Cannot invoke %s on %s!", method, target));
+			}
+
+			ReflectionUtils.makeAccessible(targetMethod);
+
+			try {
+				return targetMethod.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			}
+		}
+
+		private Fetch<?, ?> join(Object attribute, JoinType joinType) {
+
+			String attributeName = attribute instanceof Attribute ? ((Attribute<?, ?>) attribute).getName()
+					: (String) attribute;
+
+			Join<?, ?> join = ((From<?, ?>) target).join(attributeName, joinType);
+			collectionJoined |= join.getAttribute().isCollection();
+
+			return (Fetch<?, ?>) createProxy(join, Fetch.class);
+		}
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.data.jpa.repository.query.ProviderCapabilities;
+import org.springframework.util.Assert;
+
+/**
+ * Renders JPQL restrictions to select entities by a list of ids. Simple ids are restricted using an {@code in} clause.
+ * Composite ids are restricted using a row value {@code in} clause if the database supports it and by a disjunction of
+ * conjunctions of the id attributes otherwise. As some databases limit the number of parameters per statement, callers
+ * have to split up the ids into chunks of {@link #getMaxIdsPerStatement()}.
+ * 
+ * @author Oliver Gierke
+ */
+class IdRestriction<T> {
+
+	static final int MAX_PARAMETERS_PER_STATEMENT = 1000;
+
+	private final JpaEntityInformation<T, ?> entityInformation;
+	private final List<String> compositeIdAttributes;
+	private final String compositeIdPrefix;
+	private final boolean useRowValues;
+
+	/**
+	 * Creates a new {@link IdRestriction} for the given {@link JpaEntityInformation}.
+	 * 
+	 * @param entityInformation must not be {@literal null}.
+	 * @param em must not be {@literal null}.
+	 * @param capabilities must not be {@literal null}.
+	 */
+	public IdRestriction(JpaEntityInformation<T, ?> entityInformation, EntityManager em,
+			ProviderCapabilities capabilities) {
+
+		Assert.notNull(entityInformation);
+		Assert.notNull(em);
+		Assert.notNull(capabilities);
+
+		this.entityInformation = entityInformation;
+
+		if (entityInformation.hasCompositeId()) {
+
+			List<String> attributes = new ArrayList<String>();
+
+			for (String attribute : entityInformation.getIdAttributeNames()) {
+				attributes.add(attribute);
+			}
+
+			this.compositeIdAttributes = Collections.unmodifiableList(attributes);
+			this.compositeIdPrefix = entityInformation.getIdAttribute() == null ? "." : "."
+					+ entityInformation.getIdAttribute().getName() + ".";
+			this.useRowValues = attributes.size() > 1 && capabilities.supportsRowValueInList(em);
+
+		} else {
+
+			this.compositeIdAttributes = null;
+			this.compositeIdPrefix = null;
+			this.useRowValues = false;
+		}
+	}
+
+	/**
+	 * Returns the maximum number of ids to be handed to {@link #render(String, List, List)} at once.
+	 * 
+	 * @return
+	 */
+	public int getMaxIdsPerStatement() {
+
+		return compositeIdAttributes == null ? MAX_PARAMETERS_PER_STATEMENT : Math.max(1, MAX_PARAMETERS_PER_STATEMENT
+				/ compositeIdAttributes.size());
+	}
+
+	/**
+	 * Renders the restriction for the given ids using positional parameters. The values to be bound are added to the
+	 * given {@link List}, the position of a parameter being the size of the {@link List} after its value was added.
+	 * 
+	 * @param alias the alias of the entity in the query, must not be {@literal null} or empty.
+	 * @param ids must not be {@literal null} or empty.
+	 * @param values must not be {@literal null}.
+	 * @return
+	 */
+	public String render(String alias, List<?> ids, List<Object> values) {
+
+		Assert.hasText(alias);
+		Assert.notEmpty(ids);
+		Assert.notNull(values);
+
+		StringBuilder builder = new StringBuilder();
+
+		if (compositeIdAttributes == null) {
+
+			builder.append(alias).append(".").append(entityInformation.getIdAttribute().getName()).append(" in (");
+
+			for (int i = 0; i < ids.size(); i++) {
+				values.add(ids.get(i));
+				builder.append(i == 0 ? "" : ", ").append("?").append(values.size());
+			}
+
+			return builder.append(")").toString();
+		}
+
+		if (useRowValues) {
+
+			builder.append("(");
+
+			for (int i = 0; i < compositeIdAttributes.size(); i++) {
+				builder.append(i == 0 ? "" : ", ").append(alias).append(compositeIdPrefix).append(compositeIdAttributes.get(i));
+			}
+
+			builder.append(") in (");
+
+			for (int i = 0; i < ids.size(); i++) {
+				builder.append(i == 0 ? "" : ", ").append("(");
+				appendCompositeIdValues(builder, null, (Serializable) ids.get(i), values);
+				builder.append(")");
+			}
+
+			return builder.append(")").toString();
+		}
+
+		for (int i = 0; i < ids.size(); i++) {
+			builder.append(i == 0 ? "(" : " or (");
+			appendCompositeIdValues(builder, alias, (Serializable) ids.get(i), values);
+			builder.append(")");
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Appends the parameters for the attributes of the given composite id. Renders a conjunction of equality checks if an
+	 * alias is given and a plain parameter list otherwise.
+	 * 
+	 * @param builder
+	 * @param alias
+	 * @param id
+	 * @param values
+	 */
+	private void appendCompositeIdValues(StringBuilder builder, String alias, Serializable id, List<Object> values) {
+
+		Assert.notNull(id, "Ids must not be null!");
+
+		for (int i = 0; i < compositeIdAttributes.size(); i++) {
+
+			String attribute = compositeIdAttributes.get(i);
+			values.add(entityInformation.getCompositeIdAttributeValue(id, attribute));
+
+			if (alias == null) {
+				builder.append(i == 0 ? "" : ", ").append("?").append(values.size());
+			} else {
+				builder.append(i == 0 ? "" : " and ").append(alias).append(compositeIdPrefix).append(attribute)
+						.append(" = ?").append(values.size());
+			}
+		}
+	}
+}
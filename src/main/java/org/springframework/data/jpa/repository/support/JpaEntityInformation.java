@@ -31,10 +31,52 @@ public interface JpaEntityInformation<T, ID extends Serializable> extends Entity
 	/**
 	 * Returns the id attribute of the entity.
 	 * 
-	 * @return
+	 * @return the id attribute or {@literal null} if the entity uses an {@link javax.persistence.IdClass}.
 	 */
 	SingularAttribute<? super T, ?> getIdAttribute();
 
+	/**
+	 * Returns whether the entity has a composite id, declared either through an {@link javax.persistence.EmbeddedId} or
+	 * an {@link javax.persistence.IdClass}.
+	 * 
+	 * @return
+	 */
+	boolean hasCompositeId();
+
+	/**
+	 * Returns the names of the attributes making up the id. For a simple id this is the name of the id attribute itself,
+	 * for an {@link javax.persistence.EmbeddedId} the attributes of the embeddable and for an
+	 * {@link javax.persistence.IdClass} the id attributes of the entity.
+	 * 
+	 * @return
+	 */
+	Iterable<String> getIdAttributeNames();
+
+	/**
+	 * Returns the value of the given attribute of the given composite id.
+	 * 
+	 * @param id must not be {@literal null}.
+	 * @param idAttribute one of the names returned by {@link #getIdAttributeNames()}.
+	 * @return
+	 */
+	Object getCompositeIdAttributeValue(Serializable id, String idAttribute);
+
+	/**
+	 * Returns the version attribute of the entity.
+	 * 
+	 * @return the version attribute or {@literal null} if the entity is not versioned.
+	 */
+	SingularAttribute<? super T, ?> getVersionAttribute();
+
+	/**
+	 * Returns whether new entities cannot be told apart from persisted ones by inspecting them. This is the case for
+	 * entities with a simple, application assigned id and no version attribute, as {@link #isNew(Object)} will consider
+	 * all of them not new as soon as the id is set.
+	 * 
+	 * @return
+	 */
+	boolean requiresExistenceCheck();
+
 	/**
 	 * Returns the JPA entity name.
 	 * 
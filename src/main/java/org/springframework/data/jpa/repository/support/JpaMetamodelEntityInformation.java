@@ -16,20 +16,31 @@
 package org.springframework.data.jpa.repository.support;
 
 import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
-import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 
+import javax.persistence.GeneratedValue;
+import javax.persistence.IdClass;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
 import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.Metamodel;
 import javax.persistence.metamodel.SingularAttribute;
 
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.repository.core.EntityInformation;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
 
 /**
  * Implementation of {@link EntityInformation} that uses JPA {@link Metamodel} to find the domain class' id field.
+ * Composite ids declared through an {@link javax.persistence.EmbeddedId} or an {@link IdClass} are supported as well.
  * 
  * @author Oliver Gierke
  */
@@ -37,6 +48,17 @@ public class JpaMetamodelEntityInformation<T, ID extends Serializable> extends J
 		implements JpaEntityInformation<T, ID> {
 
 	private final SingularAttribute<? super T, ?> attribute;
+	private final SingularAttribute<? super T, ?> versionAttribute;
+	private final boolean assignedId;
+
+	private final MemberAccessor idAccessor;
+	private final MemberAccessor versionAccessor;
+	private final boolean primitiveId;
+
+	private final Class<?> idClass;
+	private final Map<String, MemberAccessor> compositeIdAccessors;
+	private final Map<String, MemberAccessor> idClassAttributeAccessors;
+	private final Map<String, Field> idClassFields;
 
 	/**
 	 * Creates a new {@link JpaMetamodelEntityInformation} for the given domain class and {@link Metamodel}.
@@ -55,7 +77,114 @@ public class JpaMetamodelEntityInformation<T, ID extends Serializable> extends J
 			throw new IllegalArgumentException("The given domain class can not be found in the given Metamodel!");
 		}
 
-		this.attribute = type.getId(type.getIdType().getJavaType());
+		IdClass idClassAnnotation = AnnotationUtils.findAnnotation(domainClass, IdClass.class);
+
+		this.idClass = idClassAnnotation == null ? null : idClassAnnotation.value();
+		this.attribute = idClass == null ? type.getId(type.getIdType().getJavaType()) : null;
+		this.versionAttribute = findVersionAttribute(type);
+		this.assignedId = idClass != null || attribute != null
+				&& !isAnnotationPresent(attribute.getJavaMember(), GeneratedValue.class);
+
+		this.idAccessor = attribute == null ? null : MemberAccessor.forMember(attribute.getJavaMember());
+		this.primitiveId = attribute != null && attribute.getJavaType().isPrimitive();
+
+		if (idClass != null) {
+
+			this.compositeIdAccessors = new LinkedHashMap<String, MemberAccessor>();
+			this.idClassAttributeAccessors = new LinkedHashMap<String, MemberAccessor>();
+			this.idClassFields = new LinkedHashMap<String, Field>();
+
+			for (SingularAttribute<? super T, ?> idAttribute : type.getIdClassAttributes()) {
+
+				String name = idAttribute.getName();
+				Field field = ReflectionUtils.findField(idClass, name);
+
+				if (field == null) {
+					throw new IllegalArgumentException(String.format("Id class %s does not declare a field %s!",
+							idClass.getName(), name));
+				}
+
+				ReflectionUtils.makeAccessible(field);
+				idClassFields.put(name, field);
+				compositeIdAccessors.put(name, MemberAccessor.forMember(field));
+				idClassAttributeAccessors.put(name, MemberAccessor.forMember(idAttribute.getJavaMember()));
+			}
+
+		} else if (attribute != null && attribute.getPersistentAttributeType() == PersistentAttributeType.EMBEDDED) {
+
+			this.compositeIdAccessors = new LinkedHashMap<String, MemberAccessor>();
+			this.idClassAttributeAccessors = null;
+			this.idClassFields = null;
+
+			for (SingularAttribute<?, ?> idAttribute : metamodel.embeddable(attribute.getJavaType())
+					.getSingularAttributes()) {
+				compositeIdAccessors.put(idAttribute.getName(), MemberAccessor.forMember(idAttribute.getJavaMember()));
+			}
+
+		} else {
+
+			this.compositeIdAccessors = Collections.emptyMap();
+			this.idClassAttributeAccessors = null;
+			this.idClassFields = null;
+		}
+
+		boolean useVersion = versionAttribute != null && !versionAttribute.getJavaType().isPrimitive();
+		this.versionAccessor = useVersion ? MemberAccessor.forMember(versionAttribute.getJavaMember()) : null;
+	}
+
+	/**
+	 * Returns the version attribute of the given {@link EntityType}.
+	 * 
+	 * @param type
+	 * @return the version attribute or {@literal null} if the entity is not versioned.
+	 */
+	private static <T> SingularAttribute<? super T, ?> findVersionAttribute(EntityType<T> type) {
+
+		if (!type.hasVersionAttribute()) {
+			return null;
+		}
+
+		for (SingularAttribute<? super T, ?> candidate : type.getSingularAttributes()) {
+			if (candidate.isVersion()) {
+				return candidate;
+			}
+		}
+
+		return null;
+	}
+
+	private static boolean isAnnotationPresent(Member member, Class<? extends Annotation> annotationType) {
+
+		return member instanceof AnnotatedElement && ((AnnotatedElement) member).isAnnotationPresent(annotationType);
+	}
+
+	/**
+	 * Considers entities with a version attribute of a wrapper type new if the version is {@literal null}. Primitive
+	 * versions can't be used for that purpose as persistence providers start versioning with {@literal 0}. Without a
+	 * usable version attribute entities with a primitive id are considered new if the id is {@literal 0}, all others if
+	 * the id is {@literal null}. Entities using an {@link IdClass} are considered new if all id attributes are
+	 * {@literal null}.
+	 * 
+	 * @see org.springframework.data.repository.core.support.AbstractEntityInformation#isNew(java.lang.Object)
+	 */
+	@Override
+	public boolean isNew(T entity) {
+
+		if (versionAccessor != null) {
+			return versionAccessor.getValue(entity) == null;
+		}
+
+		if (idClass != null) {
+			return !hasIdClassAttributeValue(entity);
+		}
+
+		Object id = idAccessor.getValue(entity);
+
+		if (primitiveId && id instanceof Number) {
+			return ((Number) id).longValue() == 0;
+		}
+
+		return id == null;
 	}
 
 	/*
@@ -68,7 +197,32 @@ public class JpaMetamodelEntityInformation<T, ID extends Serializable> extends J
 	@SuppressWarnings("unchecked")
 	public ID getId(T entity) {
 
-		return (ID) getMemberValue(attribute.getJavaMember(), entity);
+		if (idClass == null) {
+			return (ID) idAccessor.getValue(entity);
+		}
+
+		if (!hasIdClassAttributeValue(entity)) {
+			return null;
+		}
+
+		Object id = BeanUtils.instantiateClass(idClass);
+
+		for (Entry<String, MemberAccessor> entry : idClassAttributeAccessors.entrySet()) {
+			ReflectionUtils.setField(idClassFields.get(entry.getKey()), id, entry.getValue().getValue(entity));
+		}
+
+		return (ID) id;
+	}
+
+	private boolean hasIdClassAttributeValue(T entity) {
+
+		for (MemberAccessor accessor : idClassAttributeAccessors.values()) {
+			if (accessor.getValue(entity) != null) {
+				return true;
+			}
+		}
+
+		return false;
 	}
 
 	/*
@@ -80,39 +234,75 @@ public class JpaMetamodelEntityInformation<T, ID extends Serializable> extends J
 	@SuppressWarnings("unchecked")
 	public Class<ID> getIdType() {
 
-		return (Class<ID>) attribute.getJavaType();
+		return (Class<ID>) (idClass == null ? attribute.getJavaType() : idClass);
 	}
 
-	/**
-	 * Returns the value of the given {@link Member} of the given {@link Object} .
+	/*
+	 * (non-Javadoc)
 	 * 
-	 * @param member
-	 * @param source
-	 * @return
+	 * @see org.springframework.data.jpa.repository.support.JpaEntityMetadata#
+	 * getIdAttribute()
 	 */
-	private static Object getMemberValue(Member member, Object source) {
-
-		if (member instanceof Field) {
-			Field field = (Field) member;
-			ReflectionUtils.makeAccessible(field);
-			return ReflectionUtils.getField(field, source);
-		} else if (member instanceof Method) {
-			Method method = (Method) member;
-			ReflectionUtils.makeAccessible(method);
-			return ReflectionUtils.invokeMethod(method, source);
+	public SingularAttribute<? super T, ?> getIdAttribute() {
+
+		return attribute;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.support.JpaEntityInformation#hasCompositeId()
+	 */
+	public boolean hasCompositeId() {
+
+		return !compositeIdAccessors.isEmpty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.support.JpaEntityInformation#getIdAttributeNames()
+	 */
+	public Iterable<String> getIdAttributeNames() {
+
+		if (hasCompositeId()) {
+			return Collections.unmodifiableSet(compositeIdAccessors.keySet());
 		}
 
-		throw new IllegalArgumentException("Given member is neither Field nor Method!");
+		return Collections.singleton(attribute.getName());
 	}
 
 	/*
 	 * (non-Javadoc)
-	 * 
-	 * @see org.springframework.data.jpa.repository.support.JpaEntityMetadata#
-	 * getIdAttribute()
+	 * @see org.springframework.data.jpa.repository.support.JpaEntityInformation#getCompositeIdAttributeValue(java.io.Serializable, java.lang.String)
 	 */
-	public SingularAttribute<? super T, ?> getIdAttribute() {
+	public Object getCompositeIdAttributeValue(Serializable id, String idAttribute) {
 
-		return attribute;
+		Assert.notNull(id);
+		MemberAccessor accessor = compositeIdAccessors.get(idAttribute);
+
+		if (accessor == null) {
+			throw new IllegalArgumentException(String.format("%s is not an attribute of the composite id of %s!",
+					idAttribute, getJavaType().getName()));
+		}
+
+		return accessor.getValue(id);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.support.JpaEntityInformation#getVersionAttribute()
+	 */
+	public SingularAttribute<? super T, ?> getVersionAttribute() {
+
+		return versionAttribute;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.support.JpaEntityInformation#requiresExistenceCheck()
+	 */
+	public boolean requiresExistenceCheck() {
+
+		return assignedId && versionAttribute == null
+				&& (hasCompositeId() || attribute.getPersistentAttributeType() == PersistentAttributeType.BASIC);
 	}
 }
@@ -65,4 +65,15 @@ public class JpaPersistableEntityInformation<T extends Persistable<ID>, ID exten
 
 		return entity.getId();
 	}
+
+	/**
+	 * Returns {@literal false} as {@link Persistable#isNew()} is expected to tell new entities apart from persisted ones.
+	 * 
+	 * @see org.springframework.data.jpa.repository.support.JpaMetamodelEntityInformation#requiresExistenceCheck()
+	 */
+	@Override
+	public boolean requiresExistenceCheck() {
+
+		return false;
+	}
 }
@@ -23,12 +23,14 @@ import javax.persistence.EntityManager;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.query.JpaQueryLookupStrategy;
+import org.springframework.data.jpa.repository.query.JpaQueryOptions;
 import org.springframework.data.jpa.repository.query.QueryExtractor;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.core.support.RepositoryFactorySupport;
 import org.springframework.data.repository.query.QueryLookupStrategy;
 import org.springframework.data.repository.query.QueryLookupStrategy.Key;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.Assert;
 
 /**
@@ -40,6 +42,8 @@ public class JpaRepositoryFactory extends RepositoryFactorySupport {
 
 	private final EntityManager entityManager;
 	private final QueryExtractor extractor;
+	private JpaQueryOptions queryOptions = new JpaQueryOptions();
+	private PlatformTransactionManager transactionManager;
 
 	/**
 	 * Creates a new {@link JpaRepositoryFactory}.
@@ -53,6 +57,29 @@ public class JpaRepositoryFactory extends RepositoryFactorySupport {
 		this.extractor = PersistenceProvider.fromEntityManager(entityManager);
 	}
 
+	/**
+	 * Configures the {@link JpaQueryOptions} to be applied to all queries executed by the repositories created unless a
+	 * query method declares its own ones.
+	 * 
+	 * @param queryOptions must not be {@literal null}.
+	 */
+	public void setQueryOptions(JpaQueryOptions queryOptions) {
+
+		Assert.notNull(queryOptions);
+		this.queryOptions = queryOptions;
+	}
+
+	/**
+	 * Configures the {@link PlatformTransactionManager} the repositories created shall use to execute the chunks of
+	 * chunked bulk modifications.
+	 * 
+	 * @param transactionManager
+	 */
+	public void setTransactionManager(PlatformTransactionManager transactionManager) {
+
+		this.transactionManager = transactionManager;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -82,11 +109,12 @@ public class JpaRepositoryFactory extends RepositoryFactorySupport {
 		Class<?> repositoryInterface = metadata.getRepositoryInterface();
 		JpaEntityInformation<?, Serializable> entityInformation = getEntityInformation(metadata.getDomainClass());
 
-		if (isQueryDslExecutor(repositoryInterface)) {
-			return new QueryDslJpaRepository(entityInformation, entityManager);
-		} else {
-			return new SimpleJpaRepository(entityInformation, entityManager);
-		}
+		SimpleJpaRepository<?, ?> repository = isQueryDslExecutor(repositoryInterface) ? new QueryDslJpaRepository(
+				entityInformation, entityManager) : new SimpleJpaRepository(entityInformation, entityManager);
+		repository.setQueryOptions(queryOptions);
+		repository.setTransactionManager(transactionManager);
+
+		return repository;
 	}
 
 	/*
@@ -128,7 +156,7 @@ public class JpaRepositoryFactory extends RepositoryFactorySupport {
 	@Override
 	protected QueryLookupStrategy getQueryLookupStrategy(Key key) {
 
-		return JpaQueryLookupStrategy.create(entityManager, key, extractor);
+		return JpaQueryLookupStrategy.create(entityManager, key, extractor, queryOptions);
 	}
 
 	/*
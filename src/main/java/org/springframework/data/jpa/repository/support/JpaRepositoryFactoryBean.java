@@ -16,14 +16,21 @@
 package org.springframework.data.jpa.repository.support;
 
 import java.io.Serializable;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.FactoryBean;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.query.BulkUpdateAuditor;
+import org.springframework.data.jpa.repository.query.JpaQueryOptions;
+import org.springframework.data.jpa.repository.query.ParallelCountExecutor;
 import org.springframework.data.repository.core.support.RepositoryFactorySupport;
 import org.springframework.data.repository.core.support.TransactionalRepositoryFactoryBeanSupport;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.Assert;
 
 /**
@@ -37,7 +44,16 @@ import org.springframework.util.Assert;
 public class JpaRepositoryFactoryBean<T extends JpaRepository<S, ID>, S, ID extends Serializable> extends
 		TransactionalRepositoryFactoryBeanSupport<T, S, ID> {
 
+	private static final String DEFAULT_TRANSACTION_MANAGER_NAME = "transactionManager";
+
 	private EntityManager entityManager;
+	private JpaQueryOptions queryOptions;
+	private Executor asyncExecutor;
+	private Executor countExecutor;
+	private boolean parallelCount;
+	private String transactionManagerName = DEFAULT_TRANSACTION_MANAGER_NAME;
+	private BeanFactory beanFactory;
+	private RetryingMethodInterceptor retryInterceptor = new RetryingMethodInterceptor();
 
 	/**
 	 * The {@link EntityManager} to be used.
@@ -50,6 +66,85 @@ public class JpaRepositoryFactoryBean<T extends JpaRepository<S, ID>, S, ID exte
 		this.entityManager = entityManager;
 	}
 
+	/**
+	 * The {@link JpaQueryOptions} to be applied to all queries of the repository by default.
+	 * 
+	 * @param queryOptions the queryOptions to set
+	 */
+	public void setQueryOptions(JpaQueryOptions queryOptions) {
+
+		this.queryOptions = queryOptions;
+	}
+
+	/**
+	 * The {@link Executor} to execute query methods returning a {@link java.util.concurrent.Future} on. If none is
+	 * configured, these methods will be executed synchronously.
+	 * 
+	 * @param asyncExecutor the asyncExecutor to set
+	 */
+	public void setAsyncExecutor(Executor asyncExecutor) {
+
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	/**
+	 * The {@link Executor} to execute parallel count queries on. Must not be the asynchronous {@link Executor} as query
+	 * methods running on it would wait for count queries queued behind them to finish.
+	 * 
+	 * @param countExecutor the countExecutor to set
+	 */
+	public void setCountExecutor(Executor countExecutor) {
+
+		this.countExecutor = countExecutor;
+	}
+
+	/**
+	 * Configures whether to execute the count queries necessary to read {@link org.springframework.data.domain.Page}s
+	 * concurrently to the content queries on the configured count {@link Executor}. Defaults to {@literal false}.
+	 * 
+	 * @param parallelCount the parallelCount to set
+	 * @see ParallelCountExecutor
+	 */
+	public void setParallelCount(boolean parallelCount) {
+
+		this.parallelCount = parallelCount;
+	}
+
+	/**
+	 * The {@link RetryingMethodInterceptor} to re-execute repository methods annotated with
+	 * {@link org.springframework.data.jpa.repository.Retry} with. Configure a shared instance to collect the retry
+	 * statistics of multiple repositories or services in one place. Defaults to an instance of its own.
+	 * 
+	 * @param retryInterceptor must not be {@literal null}.
+	 */
+	public void setRetryInterceptor(RetryingMethodInterceptor retryInterceptor) {
+
+		Assert.notNull(retryInterceptor);
+		this.retryInterceptor = retryInterceptor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.core.support.TransactionalRepositoryFactoryBeanSupport#setTransactionManager(java.lang.String)
+	 */
+	@Override
+	public void setTransactionManager(String transactionManager) {
+
+		super.setTransactionManager(transactionManager);
+		this.transactionManagerName = transactionManager == null ? DEFAULT_TRANSACTION_MANAGER_NAME : transactionManager;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.core.support.TransactionalRepositoryFactoryBeanSupport#setBeanFactory(org.springframework.beans.factory.BeanFactory)
+	 */
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+
+		super.setBeanFactory(beanFactory);
+		this.beanFactory = beanFactory;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -59,7 +154,81 @@ public class JpaRepositoryFactoryBean<T extends JpaRepository<S, ID>, S, ID exte
 	@Override
 	protected RepositoryFactorySupport doCreateRepositoryFactory() {
 
-		return createRepositoryFactory(entityManager);
+		RepositoryFactorySupport factory = createRepositoryFactory(entityManager);
+
+		// Added before the transactional post processor to retry outside of the transaction
+		factory.addRepositoryProxyPostProcessor(new RetryRepositoryProxyPostProcessor(retryInterceptor));
+
+		if (factory instanceof JpaRepositoryFactory) {
+
+			JpaRepositoryFactory jpaFactory = (JpaRepositoryFactory) factory;
+			JpaQueryOptions options = getQueryOptions();
+
+			if (options != null) {
+				jpaFactory.setQueryOptions(options);
+			}
+
+			jpaFactory.setTransactionManager(getTransactionManager());
+		}
+
+		if (beanFactory != null) {
+			factory.addRepositoryProxyPostProcessor(new AsyncRepositoryProxyPostProcessor(asyncExecutor, beanFactory,
+					transactionManagerName));
+		}
+
+		return factory;
+	}
+
+	/**
+	 * Returns the {@link JpaQueryOptions} to be used, equipped with a {@link ParallelCountExecutor} if parallel count
+	 * queries are activated and a {@link BulkUpdateAuditor} if auditing is configured.
+	 * 
+	 * @return
+	 */
+	private JpaQueryOptions getQueryOptions() {
+
+		JpaQueryOptions options = new JpaQueryOptions();
+
+		if (parallelCount) {
+			options.setCountExecutor(new ParallelCountExecutor(countExecutor, beanFactory.getBean(transactionManagerName,
+					PlatformTransactionManager.class)));
+		}
+
+		options.setBulkUpdateAuditor(getBulkUpdateAuditor());
+
+		return options.mergeWith(queryOptions);
+	}
+
+	/**
+	 * Returns a {@link BulkUpdateAuditor} using the {@link AuditingEntityListener} registered by the auditing namespace
+	 * element. As that bean definition is a prototype the listener obtained is not the instance used by the persistence
+	 * provider but is configured identically and shares its transaction bound auditing snapshot.
+	 * 
+	 * @return the auditor or {@literal null} if auditing is not configured.
+	 */
+	private BulkUpdateAuditor getBulkUpdateAuditor() {
+
+		String listenerName = AuditingEntityListener.class.getName();
+
+		if (beanFactory == null || !beanFactory.containsBean(listenerName)) {
+			return null;
+		}
+
+		return new BulkUpdateAuditor(beanFactory.getBean(listenerName, AuditingEntityListener.class));
+	}
+
+	/**
+	 * Returns the {@link PlatformTransactionManager} configured for the repository.
+	 * 
+	 * @return the {@link PlatformTransactionManager} or {@literal null} if none can be found.
+	 */
+	private PlatformTransactionManager getTransactionManager() {
+
+		if (beanFactory == null || !beanFactory.containsBean(transactionManagerName)) {
+			return null;
+		}
+
+		return beanFactory.getBean(transactionManagerName, PlatformTransactionManager.class);
 	}
 
 	/**
@@ -83,6 +252,10 @@ public class JpaRepositoryFactoryBean<T extends JpaRepository<S, ID>, S, ID exte
 	public void afterPropertiesSet() {
 
 		Assert.notNull(entityManager, "EntityManager must not be null!");
+		Assert.state(!parallelCount || (countExecutor != null && beanFactory != null),
+				"Parallel count queries require a count executor and a BeanFactory!");
+		Assert.state(countExecutor == null || countExecutor != asyncExecutor,
+				"Count queries must not be executed on the async executor as that might dead lock it!");
 		super.afterPropertiesSet();
 	}
 }
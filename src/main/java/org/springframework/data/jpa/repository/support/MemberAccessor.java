@@ -0,0 +1,98 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Reads the value of a {@link Field} or getter {@link Method} of an entity. The {@link Member} is made accessible once
+ * on creation so that reading values does not have to check the accessibility again on every invocation.
+ * 
+ * @author Oliver Gierke
+ */
+abstract class MemberAccessor {
+
+	/**
+	 * Creates a {@link MemberAccessor} for the given {@link Member}.
+	 * 
+	 * @param member must be a {@link Field} or a {@link Method}.
+	 * @return
+	 */
+	public static MemberAccessor forMember(Member member) {
+
+		if (member instanceof Field) {
+			return new FieldAccessor((Field) member);
+		} else if (member instanceof Method) {
+			return new MethodAccessor((Method) member);
+		}
+
+		throw new IllegalArgumentException("Given member is neither Field nor Method!");
+	}
+
+	/**
+	 * Returns the value of the {@link Member} of the given source object.
+	 * 
+	 * @param source must not be {@literal null}.
+	 * @return
+	 */
+	public abstract Object getValue(Object source);
+
+	private static class FieldAccessor extends MemberAccessor {
+
+		private final Field field;
+
+		public FieldAccessor(Field field) {
+
+			Assert.notNull(field);
+			ReflectionUtils.makeAccessible(field);
+			this.field = field;
+		}
+
+		@Override
+		public Object getValue(Object source) {
+
+			try {
+				return field.get(source);
+			} catch (IllegalAccessException e) {
+				ReflectionUtils.handleReflectionException(e);
+				return null;
+			}
+		}
+	}
+
+	private static class MethodAccessor extends MemberAccessor {
+
+		private final Method method;
+
+		public MethodAccessor(Method method) {
+
+			Assert.notNull(method);
+			ReflectionUtils.makeAccessible(method);
+			this.method = method;
+		}
+
+		@Override
+		public Object getValue(Object source) {
+
+			return ReflectionUtils.invokeMethod(method, source);
+		}
+	}
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.jpa.domain.PartitionedScan;
+import org.springframework.data.jpa.domain.ScanCallback;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.JpaQueryOptions;
+import org.springframework.data.jpa.repository.query.ResultCursor;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
+
+/**
+ * Executes {@link PartitionedScan}s for a single entity type. The value range of the partition attribute is determined
+ * upfront and split into partitions, which are then handed to a bounded number of workers. Entities without a value
+ * for the partition attribute get a partition of their own. Each partition is read
+ * using a dedicated application managed {@link EntityManager}, ordered by id. If the persistence provider supports
+ * database cursors the partition is streamed, otherwise it is read in chunks. If the id is {@link Comparable} a chunk
+ * continues after the last id read, otherwise plain offsets are used. Entities using an {@link javax.persistence.IdClass}
+ * cannot be scanned as there is no single id attribute to order by. If no {@link Executor} is configured, the
+ * partitions are processed one after another on the calling thread.
+ * 
+ * @author Oliver Gierke
+ */
+class PartitionedScanner<T> {
+
+	private final JpaEntityInformation<T, ?> entityInformation;
+	private final EntityManager em;
+	private final PersistenceProvider provider;
+	private final JpaQueryOptions queryOptions;
+
+	/**
+	 * Creates a new {@link PartitionedScanner}.
+	 * 
+	 * @param entityInformation must not be {@literal null}.
+	 * @param em must not be {@literal null}.
+	 * @param provider must not be {@literal null}.
+	 * @param queryOptions must not be {@literal null}.
+	 */
+	public PartitionedScanner(JpaEntityInformation<T, ?> entityInformation, EntityManager em,
+			PersistenceProvider provider, JpaQueryOptions queryOptions) {
+
+		Assert.notNull(entityInformation);
+		Assert.notNull(em);
+		Assert.notNull(provider);
+		Assert.notNull(queryOptions);
+
+		this.entityInformation = entityInformation;
+		this.em = em;
+		this.provider = provider;
+		this.queryOptions = queryOptions;
+	}
+
+	/**
+	 * Hands all entities matching the given {@link Specification} to the given {@link ScanCallback}. Returns once all
+	 * partitions have been processed. If processing a partition fails, no further partitions will be started and the
+	 * first exception is rethrown.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param scan must not be {@literal null}.
+	 * @param callback must not be {@literal null}.
+	 * @throws IllegalArgumentException if the entity has no single id attribute or the partition attribute is not
+	 *           numeric.
+	 */
+	public void scan(final Specification<T> spec, final PartitionedScan scan, final ScanCallback<T> callback) {
+
+		Assert.notNull(scan);
+		Assert.notNull(callback);
+
+		final String attribute = getPartitionAttribute(scan);
+
+		Object[] range = getRange(spec, attribute);
+
+		final Queue<Partition> partitions = range[0] == null ? Partition.split(0, 0, 1) : Partition.split(
+				((Number) range[0]).longValue(), ((Number) range[1]).longValue(), scan.getPartitions());
+		final EntityManagerFactory factory = em.getEntityManagerFactory();
+		final AtomicBoolean failed = new AtomicBoolean();
+
+		Executor executor = scan.getExecutor() == null ? new SyncTaskExecutor() : scan.getExecutor();
+		List<FutureTask<Object>> workers = new ArrayList<FutureTask<Object>>();
+
+		for (int i = 0; i < scan.getConcurrency(); i++) {
+
+			FutureTask<Object> worker = new FutureTask<Object>(new Runnable() {
+
+				public void run() {
+
+					Partition partition;
+
+					while (!failed.get() && (partition = partitions.poll()) != null) {
+						try {
+							scan(factory, partition, attribute, spec, scan.getChunkSize(), callback, failed);
+						} catch (RuntimeException e) {
+							failed.set(true);
+							throw e;
+						} catch (Error e) {
+							failed.set(true);
+							throw e;
+						}
+					}
+				}
+			}, null);
+
+			workers.add(worker);
+			executor.execute(worker);
+		}
+
+		Throwable cause = null;
+
+		for (FutureTask<Object> worker : workers) {
+			try {
+				worker.get();
+			} catch (InterruptedException e) {
+				failed.set(true);
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for partitions to be processed!", e);
+			} catch (ExecutionException e) {
+				cause = cause == null ? e.getCause() : cause;
+			}
+		}
+
+		if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		}
+
+		if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+	}
+
+	/**
+	 * Returns the name of the attribute to partition by and verifies the entity can be scanned by it.
+	 * 
+	 * @param scan
+	 * @return
+	 */
+	private String getPartitionAttribute(PartitionedScan scan) {
+
+		Class<T> domainClass = entityInformation.getJavaType();
+		SingularAttribute<? super T, ?> idAttribute = entityInformation.getIdAttribute();
+
+		Assert.isTrue(idAttribute != null, String.format(
+				"Cannot scan %s as it does not have a single id attribute to order by!", domainClass.getName()));
+
+		String attribute = scan.getAttribute() == null ? idAttribute.getName() : scan.getAttribute();
+		Class<?> type = em.getMetamodel().managedType(domainClass).getAttribute(attribute).getJavaType();
+
+		Assert.isTrue(Number.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(type)), String.format(
+				"Partition attribute %s of %s must be numeric but is of type %s!", attribute, domainClass.getName(),
+				type.getName()));
+
+		return attribute;
+	}
+
+	/**
+	 * Returns the minimum and maximum value of the given attribute for all entities matching the given
+	 * {@link Specification}.
+	 * 
+	 * @param spec
+	 * @param attribute
+	 * @return
+	 */
+	private Object[] getRange(Specification<T> spec, String attribute) {
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+		Root<T> root = query.from(entityInformation.getJavaType());
+		Path<Number> path = root.get(attribute);
+
+		query.multiselect(builder.min(path), builder.max(path));
+
+		Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+
+		if (predicate != null) {
+			query.where(predicate);
+		}
+
+		return em.createQuery(query).getSingleResult();
+	}
+
+	/**
+	 * Reads the given {@link Partition} using an {@link EntityManager} created from the given
+	 * {@link EntityManagerFactory}. Uses a database cursor if the persistence provider supports it and falls back to
+	 * reading chunks otherwise.
+	 */
+	private void scan(EntityManagerFactory factory, Partition partition, String attribute, Specification<T> spec,
+			int chunkSize, ScanCallback<T> callback, AtomicBoolean failed) {
+
+		EntityManager entityManager = factory.createEntityManager();
+
+		try {
+			if (!scanWithCursor(entityManager, partition, attribute, spec, chunkSize, callback, failed)) {
+				scanInChunks(entityManager, partition, attribute, spec, chunkSize, callback, failed);
+			}
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	private boolean scanWithCursor(EntityManager entityManager, Partition partition, String attribute,
+			Specification<T> spec, int chunkSize, ScanCallback<T> callback, AtomicBoolean failed) {
+
+		TypedQuery<T> query = getPartitionQuery(entityManager, partition, attribute, spec, null);
+		ResultCursor<T> cursor = provider.openCursor(queryOptions.applyTo(query, provider));
+
+		if (cursor == null) {
+			return false;
+		}
+
+		try {
+
+			int count = 0;
+
+			while (!failed.get() && cursor.hasNext()) {
+
+				callback.doWith(cursor.next());
+
+				if (++count % chunkSize == 0) {
+					entityManager.clear();
+				}
+			}
+
+		} finally {
+			cursor.close();
+		}
+
+		return true;
+	}
+
+	private void scanInChunks(EntityManager entityManager, Partition partition, String attribute, Specification<T> spec,
+			int chunkSize, ScanCallback<T> callback, AtomicBoolean failed) {
+
+		boolean keyset = Comparable.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(entityInformation
+				.getIdAttribute().getJavaType()));
+
+		Object lastId = null;
+		int offset = 0;
+		List<T> chunk;
+
+		do {
+
+			TypedQuery<T> query = getPartitionQuery(entityManager, partition, attribute, spec, keyset ? lastId : null);
+			query.setFirstResult(keyset ? 0 : offset);
+			query.setMaxResults(chunkSize);
+
+			chunk = queryOptions.applyTo(query, provider).getResultList();
+
+			for (T entity : chunk) {
+				callback.doWith(entity);
+			}
+
+			if (!chunk.isEmpty()) {
+				lastId = entityInformation.getId(chunk.get(chunk.size() - 1));
+				offset += chunk.size();
+			}
+
+			entityManager.clear();
+
+		} while (chunk.size() == chunkSize && !failed.get());
+	}
+
+	/**
+	 * Creates a query for the entities of the given {@link Partition} ordered by id, starting after the given id if
+	 * given.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private TypedQuery<T> getPartitionQuery(EntityManager entityManager, Partition partition, String attribute,
+			Specification<T> spec, Object lastId) {
+
+		Class<T> domainClass = entityInformation.getJavaType();
+
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<T> query = builder.createQuery(domainClass);
+		Root<T> root = query.from(domainClass);
+
+		Path<Number> path = root.get(attribute);
+		Path<Comparable> id = root.get(entityInformation.getIdAttribute().getName());
+		Class<? extends Number> type = (Class<? extends Number>) ClassUtils.resolvePrimitiveIfNecessary(path
+				.getJavaType());
+
+		List<Predicate> predicates = new ArrayList<Predicate>();
+
+		Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+
+		if (predicate != null) {
+			predicates.add(predicate);
+		}
+
+		if (partition.nullValues) {
+			predicates.add(builder.isNull(path));
+		}
+
+		if (partition.from != null) {
+			predicates.add(builder.ge(path, NumberUtils.convertNumberToTargetClass(partition.from, type)));
+		}
+
+		if (partition.to != null) {
+			predicates.add(builder.lt(path, NumberUtils.convertNumberToTargetClass(partition.to, type)));
+		}
+
+		if (lastId != null) {
+			predicates.add(builder.greaterThan(id, (Comparable) lastId));
+		}
+
+		query.where(predicates.toArray(new Predicate[predicates.size()]));
+		query.orderBy(builder.asc(id));
+
+		TypedQuery<T> result = entityManager.createQuery(query);
+
+		if (provider.getReadOnlyHint() != null) {
+			result.setHint(provider.getReadOnlyHint(), true);
+		}
+
+		return result;
+	}
+
+	/**
+	 * A half-open range of values of the partition attribute. A {@literal null} boundary indicates an unbounded range
+	 * so that the outer partitions also cover the fractional parts of non-integral attributes. A single unbounded
+	 * {@link Partition} covers all values including {@literal null}, otherwise a dedicated {@link Partition} covers the
+	 * {@literal null} values only.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	static class Partition {
+
+		final Long from;
+		final Long to;
+		final boolean nullValues;
+
+		Partition(Long from, Long to) {
+
+			this(from, to, false);
+		}
+
+		private Partition(Long from, Long to, boolean nullValues) {
+
+			this.from = from;
+			this.to = to;
+			this.nullValues = nullValues;
+		}
+
+		/**
+		 * Splits the range between the given minimum and maximum into at most the given number of {@link Partition}s
+		 * plus one for {@literal null} values if the range is split at all.
+		 * 
+		 * @param min
+		 * @param max
+		 * @param count
+		 * @return
+		 */
+		static Queue<Partition> split(long min, long max, int count) {
+
+			long step = Math.max(1, (max - min) / count + 1);
+			Queue<Partition> result = new ConcurrentLinkedQueue<Partition>();
+
+			Long from = null;
+
+			for (int i = 1; i < count && min + i * step <= max; i++) {
+				Long to = min + i * step;
+				result.add(new Partition(from, to));
+				from = to;
+			}
+
+			result.add(new Partition(from, null));
+
+			if (result.size() > 1) {
+				result.add(new Partition(null, null, true));
+			}
+
+			return result;
+		}
+	}
+}
@@ -15,22 +15,46 @@
  */
 package org.springframework.data.jpa.repository.support;
 
-import static org.springframework.data.jpa.repository.utils.JpaClassUtils.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+import javax.persistence.PersistenceUnitUtil;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 
+import org.apache.openjpa.persistence.OpenJPAEntityManager;
 import org.apache.openjpa.persistence.OpenJPAQuery;
 import org.eclipse.persistence.jpa.JpaQuery;
+import org.eclipse.persistence.queries.Cursor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.ejb.HibernateEntityManagerFactory;
 import org.hibernate.ejb.HibernateQuery;
-import org.springframework.data.jpa.repository.query.QueryExtractor;
+import org.hibernate.engine.SessionFactoryImplementor;
+import org.hibernate.engine.SessionImplementor;
+import org.springframework.data.jpa.domain.LockWait;
+import org.springframework.data.jpa.repository.query.ProviderCapabilities;
+import org.springframework.data.jpa.repository.query.ResultCursor;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 /**
- * Enumeration representing peristence providers to be used.
+ * Enumeration representing peristence providers to be used. The provider in use is detected once per
+ * {@link EntityManagerFactory}.
  * 
  * @author Oliver Gierke
  */
-public enum PersistenceProvider implements QueryExtractor {
+public enum PersistenceProvider implements ProviderCapabilities {
 
 	/**
 	 * Hibernate persistence provider.
@@ -54,6 +78,73 @@ public enum PersistenceProvider implements QueryExtractor {
 
 			return "*";
 		}
+
+		@Override
+		public String getFetchSizeHint() {
+
+			return "org.hibernate.fetchSize";
+		}
+
+		@Override
+		public String getReadOnlyHint() {
+
+			return "org.hibernate.readOnly";
+		}
+
+		@Override
+		public String getQueryCacheHint() {
+
+			return "org.hibernate.cacheable";
+		}
+
+		/**
+		 * Scrolls forward only through the results of the query. Criteria queries are wrapped by Hibernate so that the
+		 * native query is only accessible through {@link TypedQuery#unwrap(Class)}, which the wrapper delegates to the
+		 * JPQL query it was compiled into.
+		 */
+		@Override
+		public <T> ResultCursor<T> openCursor(TypedQuery<T> query) {
+
+			org.hibernate.Query hibernateQuery;
+
+			try {
+				hibernateQuery = query.unwrap(org.hibernate.Query.class);
+			} catch (PersistenceException e) {
+				return null;
+			}
+
+			if (hibernateQuery == null) {
+				return null;
+			}
+
+			return new ScrollableResultsCursor<T>(hibernateQuery.scroll(ScrollMode.FORWARD_ONLY));
+		}
+
+		/**
+		 * Asks the {@link org.hibernate.dialect.Dialect} in use as HQL supports row value constructors if the database
+		 * does.
+		 */
+		@Override
+		public boolean supportsRowValueInList(EntityManager em) {
+
+			EntityManagerFactory factory = em.getEntityManagerFactory();
+
+			if (!(factory instanceof HibernateEntityManagerFactory)) {
+				return false;
+			}
+
+			SessionFactory sessionFactory = ((HibernateEntityManagerFactory) factory).getSessionFactory();
+
+			return sessionFactory instanceof SessionFactoryImplementor
+					&& ((SessionFactoryImplementor) sessionFactory).getDialect().supportsRowValueConstructorSyntaxInInList();
+		}
+
+		@Override
+		protected Collection<?> getManagedEntities(EntityManager em) {
+
+			SessionImplementor session = (SessionImplementor) em.getDelegate();
+			return session.getPersistenceContext().getEntitiesByKey().values();
+		}
 	},
 
 	/**
@@ -66,6 +157,41 @@ public enum PersistenceProvider implements QueryExtractor {
 			return ((JpaQuery<?>) query).getDatabaseQuery().getJPQLString();
 		}
 
+		@Override
+		public String getFetchSizeHint() {
+
+			return "eclipselink.jdbc.fetch-size";
+		}
+
+		@Override
+		public String getReadOnlyHint() {
+
+			return "eclipselink.read-only";
+		}
+
+		@Override
+		public String getQueryCacheHint() {
+
+			return "eclipselink.query-results-cache";
+		}
+
+		/**
+		 * EclipseLink renders {@code NOWAIT} through its own pessimistic lock hint rather than a zero lock timeout.
+		 */
+		@Override
+		public Map<String, Object> getLockWaitHints(LockWait lockWait) {
+
+			Assert.notNull(lockWait);
+			return lockWait == LockWait.WAIT ? Collections.<String, Object> emptyMap() : Collections
+					.<String, Object> singletonMap("eclipselink.pessimistic-lock", "LockNoWait");
+		}
+
+		@Override
+		public <T> ResultCursor<T> openCursor(TypedQuery<T> query) {
+
+			query.setHint("eclipselink.cursor", true);
+			return new EclipseLinkCursor<T>((Cursor) query.getSingleResult());
+		}
 	},
 
 	/**
@@ -77,6 +203,18 @@ public enum PersistenceProvider implements QueryExtractor {
 
 			return ((OpenJPAQuery<?>) query).getQueryString();
 		}
+
+		@Override
+		public String getFetchSizeHint() {
+
+			return "openjpa.FetchPlan.FetchBatchSize";
+		}
+
+		@Override
+		protected Collection<?> getManagedEntities(EntityManager em) {
+
+			return ((OpenJPAEntityManager) em.getDelegate()).getManagedObjects();
+		}
 	},
 
 	/**
@@ -96,7 +234,10 @@ public enum PersistenceProvider implements QueryExtractor {
 		}
 	};
 
-	private String entityManagerClassName;
+	private static final Map<EntityManagerFactory, PersistenceProvider> CACHE = Collections
+			.synchronizedMap(new WeakHashMap<EntityManagerFactory, PersistenceProvider>());
+
+	private final Class<?> entityManagerType;
 
 	/**
 	 * Creates a new {@link PersistenceProvider}.
@@ -105,20 +246,43 @@ public enum PersistenceProvider implements QueryExtractor {
 	 */
 	private PersistenceProvider(String entityManagerClassName) {
 
-		this.entityManagerClassName = entityManagerClassName;
+		ClassLoader classLoader = PersistenceProvider.class.getClassLoader();
+		this.entityManagerType = ClassUtils.isPresent(entityManagerClassName, classLoader) ? ClassUtils.resolveClassName(
+				entityManagerClassName, classLoader) : null;
 	}
 
 	/**
 	 * Determines the {@link PersistenceProvider} from the given {@link EntityManager}. If no special one can be
-	 * determined {@value #GENERIC_JPA} will be returned.
+	 * determined {@value #GENERIC_JPA} will be returned. The result is cached for the {@link EntityManagerFactory} the
+	 * {@link EntityManager} was created by.
 	 * 
-	 * @param em
+	 * @param em must not be {@literal null}.
 	 * @return
 	 */
 	public static PersistenceProvider fromEntityManager(EntityManager em) {
 
+		Assert.notNull(em);
+
+		EntityManagerFactory factory = em.getEntityManagerFactory();
+
+		if (factory == null) {
+			return detect(em);
+		}
+
+		PersistenceProvider provider = CACHE.get(factory);
+
+		if (provider == null) {
+			provider = detect(em);
+			CACHE.put(factory, provider);
+		}
+
+		return provider;
+	}
+
+	private static PersistenceProvider detect(EntityManager em) {
+
 		for (PersistenceProvider provider : values()) {
-			if (isEntityManagerOfType(em, provider.entityManagerClassName)) {
+			if (provider.entityManagerType != null && provider.entityManagerType.isInstance(em)) {
 				return provider;
 			}
 		}
@@ -147,4 +311,209 @@ public enum PersistenceProvider implements QueryExtractor {
 
 		return "x";
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.QueryHintResolver#getFetchSizeHint()
+	 */
+	public String getFetchSizeHint() {
+
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.QueryHintResolver#getReadOnlyHint()
+	 */
+	public String getReadOnlyHint() {
+
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.QueryHintResolver#getQueryCacheHint()
+	 */
+	public String getQueryCacheHint() {
+
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.QueryHintResolver#getLockTimeoutHint()
+	 */
+	public String getLockTimeoutHint() {
+
+		return "javax.persistence.lock.timeout";
+	}
+
+	/**
+	 * Uses a lock timeout of zero for {@link LockWait#NO_WAIT} which dialects supporting it render as {@code NOWAIT}.
+	 * 
+	 * @see org.springframework.data.jpa.repository.query.QueryHintResolver#getLockWaitHints(org.springframework.data.jpa.domain.LockWait)
+	 */
+	public Map<String, Object> getLockWaitHints(LockWait lockWait) {
+
+		Assert.notNull(lockWait);
+
+		if (lockWait == LockWait.WAIT) {
+			return Collections.emptyMap();
+		}
+
+		return Collections.<String, Object> singletonMap(getLockTimeoutHint(), 0);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.ProviderCapabilities#openCursor(javax.persistence.TypedQuery)
+	 */
+	public <T> ResultCursor<T> openCursor(TypedQuery<T> query) {
+
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.ProviderCapabilities#supportsRowValueInList(javax.persistence.EntityManager)
+	 */
+	public boolean supportsRowValueInList(EntityManager em) {
+
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.PersistenceContextEvictor#evict(javax.persistence.EntityManager, java.lang.Class)
+	 */
+	public void evict(EntityManager em, Class<?> type) {
+
+		evict(em, type, null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.PersistenceContextEvictor#evict(javax.persistence.EntityManager, java.lang.Class, java.lang.Iterable)
+	 */
+	public void evict(EntityManager em, Class<?> type, Iterable<?> ids) {
+
+		Collection<?> managedEntities = getManagedEntities(em);
+
+		if (managedEntities == null) {
+			em.clear();
+			return;
+		}
+
+		Set<Object> idsToEvict = null;
+
+		if (ids != null) {
+			idsToEvict = new HashSet<Object>();
+			for (Object id : ids) {
+				idsToEvict.add(id);
+			}
+		}
+
+		PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+
+		for (Object entity : new ArrayList<Object>(managedEntities)) {
+			if (type.isInstance(entity) && (idsToEvict == null || idsToEvict.contains(util.getIdentifier(entity)))) {
+				em.detach(entity);
+			}
+		}
+	}
+
+	/**
+	 * Returns the entities currently managed by the given {@link EntityManager}. As JPA does not provide access to them,
+	 * the default implementation returns {@literal null} which causes the {@link EntityManager} to be cleared entirely
+	 * on eviction.
+	 * 
+	 * @param em
+	 * @return the managed entities or {@literal null} if they cannot be determined.
+	 */
+	protected Collection<?> getManagedEntities(EntityManager em) {
+
+		return null;
+	}
+
+	/**
+	 * {@link ResultCursor} adapting Hibernate's {@link ScrollableResults}.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class ScrollableResultsCursor<T> implements ResultCursor<T> {
+
+		private final ScrollableResults results;
+		private Boolean hasNext;
+
+		public ScrollableResultsCursor(ScrollableResults results) {
+
+			this.results = results;
+		}
+
+		public boolean hasNext() {
+
+			if (hasNext == null) {
+				hasNext = results.next();
+			}
+
+			return hasNext;
+		}
+
+		@SuppressWarnings("unchecked")
+		public T next() {
+
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			hasNext = null;
+			return (T) results.get(0);
+		}
+
+		public void remove() {
+
+			throw new UnsupportedOperationException();
+		}
+
+		public void close() {
+
+			results.close();
+		}
+	}
+
+	/**
+	 * {@link ResultCursor} adapting an EclipseLink {@link Cursor}.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	private static class EclipseLinkCursor<T> implements ResultCursor<T> {
+
+		private final Cursor cursor;
+
+		public EclipseLinkCursor(Cursor cursor) {
+
+			this.cursor = cursor;
+		}
+
+		public boolean hasNext() {
+
+			return cursor.hasNext();
+		}
+
+		@SuppressWarnings("unchecked")
+		public T next() {
+
+			return (T) cursor.next();
+		}
+
+		public void remove() {
+
+			throw new UnsupportedOperationException();
+		}
+
+		public void close() {
+
+			cursor.close();
+		}
+	}
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+import org.springframework.util.Assert;
+
+/**
+ * {@link RepositoryProxyPostProcessor} to add a {@link RetryingMethodInterceptor} to repository proxies. Has to be
+ * registered before the post processor adding the transaction interceptor.
+ * 
+ * @author Oliver Gierke
+ */
+class RetryRepositoryProxyPostProcessor implements RepositoryProxyPostProcessor {
+
+	private final RetryingMethodInterceptor interceptor;
+
+	/**
+	 * Creates a new {@link RetryRepositoryProxyPostProcessor} for the given {@link RetryingMethodInterceptor}.
+	 * 
+	 * @param interceptor must not be {@literal null}.
+	 */
+	public RetryRepositoryProxyPostProcessor(RetryingMethodInterceptor interceptor) {
+
+		Assert.notNull(interceptor);
+		this.interceptor = interceptor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.core.support.RepositoryProxyPostProcessor#postProcess(org.springframework.aop.framework.ProxyFactory)
+	 */
+	public void postProcess(ProxyFactory factory) {
+
+		factory.addAdvice(interceptor);
+	}
+}
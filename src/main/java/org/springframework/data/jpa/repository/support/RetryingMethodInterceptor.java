@@ -0,0 +1,300 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.persistence.LockTimeoutException;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PessimisticLockException;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.jpa.repository.Retry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link MethodInterceptor} to re-execute methods annotated with {@link Retry} if they fail due to a concurrency
+ * conflict, i.e. an optimistic locking failure, a pessimistic lock that could not be acquired or a deadlock. The
+ * interceptor has to be applied outside of the transaction interceptor so that every attempt runs in a fresh
+ * transaction with a fresh {@link javax.persistence.EntityManager}. Invocations inside an already running transaction
+ * are not retried as the transaction is marked rollback-only by the failure already.
+ * <p>
+ * {@link JpaRepositoryFactoryBean} applies the interceptor to all repositories. To retry methods of transactional
+ * services, register the interceptor as AOP advice for them, ordered before the transaction advice. The interceptor
+ * counts retries, recovered and exhausted invocations to allow monitoring the contention of an application.
+ * 
+ * @author Oliver Gierke
+ */
+public class RetryingMethodInterceptor implements MethodInterceptor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RetryingMethodInterceptor.class);
+	private static final Object NO_RETRY = new Object();
+	private static final int MAX_BACKOFF_SHIFT = 30;
+
+	private final Map<CacheKey, Object> retryCache = new ConcurrentHashMap<CacheKey, Object>();
+	private final Random random = new Random();
+
+	private final AtomicLong retries = new AtomicLong();
+	private final AtomicLong recoveries = new AtomicLong();
+	private final AtomicLong exhaustions = new AtomicLong();
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.aopalliance.intercept.MethodInterceptor#invoke(org.aopalliance.intercept.MethodInvocation)
+	 */
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+
+		if (!(invocation instanceof ProxyMethodInvocation)
+				|| TransactionSynchronizationManager.isActualTransactionActive()) {
+			return invocation.proceed();
+		}
+
+		ProxyMethodInvocation proxyInvocation = (ProxyMethodInvocation) invocation;
+		Retry retry = getRetry(proxyInvocation);
+
+		if (retry == null) {
+			return invocation.proceed();
+		}
+
+		int maxAttempts = Math.max(1, retry.maxAttempts());
+
+		for (int attempt = 1;; attempt++) {
+
+			try {
+
+				Object result = proxyInvocation.invocableClone().proceed();
+
+				if (attempt > 1) {
+					recoveries.incrementAndGet();
+				}
+
+				return result;
+
+			} catch (Throwable e) {
+
+				if (!isRetryable(e)) {
+					throw e;
+				}
+
+				if (attempt >= maxAttempts) {
+					exhaustions.incrementAndGet();
+					throw e;
+				}
+
+				retries.incrementAndGet();
+
+				if (LOG.isDebugEnabled()) {
+					LOG.debug(String.format("Attempt %s of %s to invoke %s failed, retrying.", attempt, maxAttempts,
+							invocation.getMethod()), e);
+				}
+
+				if (!backOff(retry, attempt)) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of retries executed so far.
+	 * 
+	 * @return
+	 */
+	public long getRetries() {
+
+		return retries.get();
+	}
+
+	/**
+	 * Returns the number of invocations that succeeded after at least one retry.
+	 * 
+	 * @return
+	 */
+	public long getRecoveries() {
+
+		return recoveries.get();
+	}
+
+	/**
+	 * Returns the number of invocations that still failed with a concurrency conflict after all attempts.
+	 * 
+	 * @return
+	 */
+	public long getExhaustions() {
+
+		return exhaustions.get();
+	}
+
+	/**
+	 * Returns whether the given {@link Throwable} or one of its causes indicates a concurrency conflict that might not
+	 * occur again when retrying. Besides Spring's and JPA's locking exceptions this includes {@link SQLException}s
+	 * carrying a transaction rollback SQL state (class {@code 40}), which databases use for deadlocks and serialization
+	 * failures.
+	 * 
+	 * @param e
+	 * @return
+	 */
+	static boolean isRetryable(Throwable e) {
+
+		for (Throwable current = e; current != null; current = current.getCause() == current ? null : current
+				.getCause()) {
+
+			if (current instanceof ConcurrencyFailureException || current instanceof OptimisticLockException
+					|| current instanceof PessimisticLockException || current instanceof LockTimeoutException) {
+				return true;
+			}
+
+			if (current instanceof SQLException) {
+				String state = ((SQLException) current).getSQLState();
+				if (state != null && state.startsWith("40")) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Sleeps before the next attempt. The base delay doubles with every attempt up to the configured maximum, the actual
+	 * delay is chosen randomly between half of the base delay and the base delay so that competing invocations do not
+	 * collide again.
+	 * 
+	 * @param retry
+	 * @param attempt the number of the attempt that failed.
+	 * @return {@literal false} if the thread was interrupted while sleeping.
+	 */
+	private boolean backOff(Retry retry, int attempt) {
+
+		long delay = Math.min(retry.maxBackoff(), retry.backoff() << Math.min(attempt - 1, MAX_BACKOFF_SHIFT));
+
+		if (delay <= 0) {
+			return true;
+		}
+
+		long half = delay / 2;
+
+		try {
+			Thread.sleep(half + (long) (random.nextDouble() * (delay - half)));
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the {@link Retry} annotation applying to the given invocation. Looks up the invoked method first, then the
+	 * most specific method of the target class, the target class and finally the interfaces of the proxy, i.e. the
+	 * repository interface.
+	 * 
+	 * @param invocation
+	 * @return the {@link Retry} annotation or {@literal null} if the invocation shall not be retried.
+	 */
+	private Retry getRetry(ProxyMethodInvocation invocation) {
+
+		Method method = invocation.getMethod();
+		Class<?> proxyClass = invocation.getProxy().getClass();
+		CacheKey key = new CacheKey(method, proxyClass);
+
+		Object cached = retryCache.get(key);
+
+		if (cached == null) {
+			Retry retry = findRetry(method, proxyClass, invocation.getThis());
+			cached = retry == null ? NO_RETRY : retry;
+			retryCache.put(key, cached);
+		}
+
+		return cached == NO_RETRY ? null : (Retry) cached;
+	}
+
+	private static Retry findRetry(Method method, Class<?> proxyClass, Object target) {
+
+		Retry retry = AnnotationUtils.findAnnotation(method, Retry.class);
+
+		if (retry != null) {
+			return retry;
+		}
+
+		if (target != null) {
+
+			Class<?> targetClass = AopUtils.getTargetClass(target);
+			retry = AnnotationUtils.findAnnotation(AopUtils.getMostSpecificMethod(method, targetClass), Retry.class);
+			retry = retry == null ? AnnotationUtils.findAnnotation(targetClass, Retry.class) : retry;
+
+			if (retry != null) {
+				return retry;
+			}
+		}
+
+		for (Class<?> type : proxyClass.getInterfaces()) {
+
+			retry = AnnotationUtils.findAnnotation(type, Retry.class);
+
+			if (retry != null) {
+				return retry;
+			}
+		}
+
+		return null;
+	}
+
+	private static class CacheKey {
+
+		private final Method method;
+		private final Class<?> proxyClass;
+
+		public CacheKey(Method method, Class<?> proxyClass) {
+
+			this.method = method;
+			this.proxyClass = proxyClass;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+
+			CacheKey that = (CacheKey) obj;
+			return this.method.equals(that.method) && ObjectUtils.nullSafeEquals(this.proxyClass, that.proxyClass);
+		}
+
+		@Override
+		public int hashCode() {
+
+			return method.hashCode() * 31 + ObjectUtils.nullSafeHashCode(proxyClass);
+		}
+	}
+}
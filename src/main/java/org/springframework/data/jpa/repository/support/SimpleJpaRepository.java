@@ -19,25 +19,47 @@ import static org.springframework.data.jpa.repository.query.QueryUtils.*;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.OptimisticLockException;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Chunking;
+import org.springframework.data.jpa.domain.FetchPlan;
+import org.springframework.data.jpa.domain.Increment;
+import org.springframework.data.jpa.domain.LockWait;
+import org.springframework.data.jpa.domain.PartitionedScan;
+import org.springframework.data.jpa.domain.ScanCallback;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.Update;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.BulkUpdateAuditor;
+import org.springframework.data.jpa.repository.query.JpaQueryOptions;
+import org.springframework.data.jpa.repository.query.ParallelCountExecutor;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
 /**
@@ -57,6 +79,10 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	private final JpaEntityInformation<T, ?> entityInformation;
 	private final EntityManager em;
 	private final PersistenceProvider provider;
+	private final IdRestriction<T> idRestriction;
+
+	private JpaQueryOptions queryOptions = new JpaQueryOptions();
+	private PlatformTransactionManager transactionManager;
 
 	/**
 	 * Creates a new {@link SimpleJpaRepository} to manage objects of the given {@link JpaEntityInformation}.
@@ -71,6 +97,7 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 		this.entityInformation = entityInformation;
 		this.em = entityManager;
 		this.provider = PersistenceProvider.fromEntityManager(entityManager);
+		this.idRestriction = new IdRestriction<T>(entityInformation, entityManager, provider);
 	}
 
 	/**
@@ -84,6 +111,28 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 		this(JpaEntityInformationSupport.getMetadata(domainClass, em), em);
 	}
 
+	/**
+	 * Configures the {@link JpaQueryOptions} to be applied to the queries executed by the repository.
+	 * 
+	 * @param queryOptions must not be {@literal null}.
+	 */
+	public void setQueryOptions(JpaQueryOptions queryOptions) {
+
+		Assert.notNull(queryOptions);
+		this.queryOptions = queryOptions;
+	}
+
+	/**
+	 * Configures the {@link PlatformTransactionManager} to execute the chunks of chunked bulk modifications with.
+	 * 
+	 * @param transactionManager
+	 * @see Chunking
+	 */
+	public void setTransactionManager(PlatformTransactionManager transactionManager) {
+
+		this.transactionManager = transactionManager;
+	}
+
 	private Class<T> getDomainClass() {
 
 		return entityInformation.getJavaType();
@@ -153,13 +202,20 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	@Transactional
 	public void deleteInBatch(Iterable<T> entities) {
 
-		if (null == entities || !entities.iterator().hasNext()) {
+		if (null == entities) {
 			return;
 		}
 
-		applyAndBind(getQueryString(DELETE_ALL_QUERY_STRING, entityInformation.getEntityName()), entities, em)
-				.executeUpdate();
-		em.clear();
+		List<Object> ids = new ArrayList<Object>();
+
+		for (T entity : entities) {
+
+			Assert.isTrue(!entityInformation.isNew(entity),
+					String.format("Cannot delete transient entity %s in a batch as it has not been persisted yet!", entity));
+			ids.add(entityInformation.getId(entity));
+		}
+
+		new BulkModificationExecutor<T>(entityInformation, em, provider).delete(ids);
 	}
 
 	/*
@@ -171,7 +227,7 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	public void deleteAll() {
 
 		em.createQuery(getDeleteAllQueryString()).executeUpdate();
-		em.clear();
+		provider.evict(em, getDomainClass());
 	}
 
 	/*
@@ -184,7 +240,9 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	public T findOne(ID id) {
 
 		Assert.notNull(id, "The given id must not be null!");
-		return em.find(getDomainClass(), id);
+
+		Map<String, Object> hints = queryOptions.getFindHints(provider);
+		return hints.isEmpty() ? em.find(getDomainClass(), id) : em.find(getDomainClass(), id, hints);
 	}
 
 	/*
@@ -195,16 +253,75 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 
 		String placeholder = provider.getCountQueryPlaceholder();
 		String entityName = entityInformation.getEntityName();
-		String idAttributeName = entityInformation.getIdAttribute().getName();
 
+		if (entityInformation.hasCompositeId()) {
+
+			List<Object> values = new ArrayList<Object>();
+			String existsQuery = String.format(COUNT_QUERY_STRING, placeholder, entityName) + " where "
+					+ idRestriction.render("x", Collections.singletonList(id), values);
+
+			return bind(applyQueryOptions(em.createQuery(existsQuery, Long.class)), values).getSingleResult() == 1;
+		}
+
+		String idAttributeName = entityInformation.getIdAttribute().getName();
 		String existsQuery = String.format(EXISTS_QUERY_STRING, placeholder, entityName, idAttributeName);
 
-		TypedQuery<Long> query = em.createQuery(existsQuery, Long.class);
+		TypedQuery<Long> query = applyQueryOptions(em.createQuery(existsQuery, Long.class));
 		query.setParameter("id", id);
 
 		return query.getSingleResult() == 1;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaRepository#findAll(java.lang.Iterable)
+	 */
+	public List<T> findAll(Iterable<ID> ids) {
+
+		Assert.notNull(ids);
+
+		List<Object> idList = new ArrayList<Object>();
+
+		for (ID id : ids) {
+			idList.add(id);
+		}
+
+		return findAllById(idList);
+	}
+
+	/**
+	 * Loads the entities with the given ids issuing one query per {@link IdRestriction#getMaxIdsPerStatement()} ids.
+	 * 
+	 * @param ids must not be {@literal null}.
+	 * @return
+	 */
+	private List<T> findAllById(List<Object> ids) {
+
+		List<T> result = new ArrayList<T>();
+		String queryString = getQueryString(READ_ALL_QUERY, entityInformation.getEntityName());
+		int maxIds = idRestriction.getMaxIdsPerStatement();
+
+		for (int start = 0; start < ids.size(); start += maxIds) {
+
+			List<Object> chunk = ids.subList(start, Math.min(start + maxIds, ids.size()));
+			List<Object> values = new ArrayList<Object>();
+			String restricted = queryString + " where " + idRestriction.render("x", chunk, values);
+
+			result.addAll(bind(applyQueryOptions(em.createQuery(restricted, getDomainClass())), values).getResultList());
+		}
+
+		return result;
+	}
+
+	private static <S> TypedQuery<S> bind(TypedQuery<S> query, List<Object> values) {
+
+		for (int i = 0; i < values.size(); i++) {
+			query.setParameter(i + 1, values.get(i));
+		}
+
+		return query;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.jpa.repository.JpaRepository#findAll()
@@ -249,11 +366,7 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	 */
 	public T findOne(Specification<T> spec) {
 
-		try {
-			return getQuery(spec, (Sort) null).getSingleResult();
-		} catch (NoResultException e) {
-			return null;
-		}
+		return findOne(spec, (FetchPlan) null);
 	}
 
 	/*
@@ -264,7 +377,7 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	 */
 	public List<T> findAll(Specification<T> spec) {
 
-		return getQuery(spec, (Sort) null).getResultList();
+		return findAll(spec, (FetchPlan) null);
 	}
 
 	/*
@@ -276,9 +389,7 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	 */
 	public Page<T> findAll(Specification<T> spec, Pageable pageable) {
 
-		TypedQuery<T> query = getQuery(spec, pageable);
-
-		return pageable == null ? new PageImpl<T>(query.getResultList()) : readPage(query, pageable, spec);
+		return findAll(spec, pageable, null);
 	}
 
 	/*
@@ -291,7 +402,61 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	 */
 	public List<T> findAll(Specification<T> spec, Sort sort) {
 
-		return getQuery(spec, sort).getResultList();
+		return findAll(spec, sort, null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findOne(org.springframework.data.jpa.domain.Specification, org.springframework.data.jpa.domain.FetchPlan)
+	 */
+	public T findOne(Specification<T> spec, FetchPlan fetchPlan) {
+
+		try {
+			return getQuery(spec, (Sort) null, fetchPlan).getSingleResult();
+		} catch (NoResultException e) {
+			return null;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification, org.springframework.data.jpa.domain.FetchPlan)
+	 */
+	public List<T> findAll(Specification<T> spec, FetchPlan fetchPlan) {
+
+		return getQuery(spec, (Sort) null, fetchPlan).getResultList();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification, org.springframework.data.domain.Pageable, org.springframework.data.jpa.domain.FetchPlan)
+	 */
+	public Page<T> findAll(Specification<T> spec, Pageable pageable, FetchPlan fetchPlan) {
+
+		if (pageable == null) {
+			return new PageImpl<T>(getQuery(spec, (Sort) null, fetchPlan).getResultList());
+		}
+
+		if (fetchesCollection(fetchPlan)) {
+			throw new InvalidDataAccessApiUsageException(String.format("Fetch plan %s must not fetch collections of %s "
+					+ "for a paginated query as the persistence provider would have to apply the pagination in memory!",
+					fetchPlan, getDomainClass().getName()));
+		}
+
+		CriteriaQuery<T> query = em.getCriteriaBuilder().createQuery(getDomainClass());
+		Root<T> root = applySpecificationToCriteria(spec, query);
+		boolean appliesFetches = FetchJoinConverter.hasFetches(root);
+
+		return readPage(getQuery(query, root, pageable.getSort(), fetchPlan), pageable, spec, appliesFetches);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification, org.springframework.data.domain.Sort, org.springframework.data.jpa.domain.FetchPlan)
+	 */
+	public List<T> findAll(Specification<T> spec, Sort sort, FetchPlan fetchPlan) {
+
+		return getQuery(spec, sort, fetchPlan).getResultList();
 	}
 
 	/*
@@ -300,7 +465,7 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	 * @see org.springframework.data.repository.Repository#count()
 	 */
 	public long count() {
-		return em.createQuery(getCountQueryString(), Long.class).getSingleResult();
+		return applyQueryOptions(em.createQuery(getCountQueryString(), Long.class)).getSingleResult();
 	}
 
 	/*
@@ -312,7 +477,151 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	 */
 	public long count(Specification<T> spec) {
 
-		return getCountQuery(spec).getSingleResult();
+		return getCountQuery(spec, null).getSingleResult();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaRepository#update(java.io.Serializable, org.springframework.data.jpa.domain.Update)
+	 */
+	@Transactional
+	public boolean update(ID id, Update update) {
+
+		Assert.notNull(id, "The given id must not be null!");
+
+		BulkModificationExecutor<T> executor = new BulkModificationExecutor<T>(entityInformation, em, provider);
+		return executor.update(audit(update), Collections.singletonList(id)) == 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaRepository#update(java.io.Serializable, org.springframework.data.jpa.domain.Update, java.lang.Object)
+	 */
+	@Transactional
+	public void update(ID id, Update update, Object expectedVersion) {
+
+		Assert.notNull(id, "The given id must not be null!");
+
+		BulkModificationExecutor<T> executor = new BulkModificationExecutor<T>(entityInformation, em, provider);
+
+		if (!executor.update(audit(update), id, expectedVersion)) {
+			throw new OptimisticLockException(String.format(
+					"%s with id %s was updated or deleted concurrently, expected version %s!", getDomainClass().getName(),
+					id, expectedVersion));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaRepository#update(java.lang.Iterable, org.springframework.data.jpa.domain.Update)
+	 */
+	@Transactional
+	public int update(Iterable<ID> ids, Update update) {
+
+		Assert.notNull(ids);
+
+		List<Object> idList = new ArrayList<Object>();
+
+		for (ID id : ids) {
+			idList.add(id);
+		}
+
+		BulkModificationExecutor<T> executor = new BulkModificationExecutor<T>(entityInformation, em, provider);
+		return executor.update(audit(update), idList);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaRepository#increment(java.io.Serializable, org.springframework.data.jpa.domain.Increment)
+	 */
+	@Transactional
+	public boolean increment(ID id, Increment increment) {
+
+		Assert.notNull(id, "The given id must not be null!");
+
+		return new BulkModificationExecutor<T>(entityInformation, em, provider).increment(increment, id);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#scan(org.springframework.data.jpa.domain.Specification, org.springframework.data.jpa.domain.PartitionedScan, org.springframework.data.jpa.domain.ScanCallback)
+	 */
+	public void scan(Specification<T> spec, PartitionedScan scan, ScanCallback<T> callback) {
+
+		new PartitionedScanner<T>(entityInformation, em, provider, queryOptions).scan(spec, scan, callback);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#updateInBatch(org.springframework.data.jpa.domain.Specification, org.springframework.data.jpa.domain.Update)
+	 */
+	@Transactional
+	public int updateInBatch(Specification<T> spec, Update update) {
+
+		BulkModificationExecutor<T> executor = new BulkModificationExecutor<T>(entityInformation, em, provider);
+		return executor.update(audit(update), spec);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#deleteInBatch(org.springframework.data.jpa.domain.Specification)
+	 */
+	@Transactional
+	public int deleteInBatch(Specification<T> spec) {
+
+		BulkModificationExecutor<T> executor = new BulkModificationExecutor<T>(entityInformation, em, provider);
+		return executor.delete(spec);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#updateInBatch(org.springframework.data.jpa.domain.Specification, org.springframework.data.jpa.domain.Update, org.springframework.data.jpa.domain.Chunking)
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public int updateInBatch(Specification<T> spec, Update update, Chunking chunking) {
+
+		BulkModificationExecutor<T> executor = new BulkModificationExecutor<T>(entityInformation, em, provider);
+		return executor.update(audit(update), spec, chunking, getChunkTransactionTemplate());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#deleteInBatch(org.springframework.data.jpa.domain.Specification, org.springframework.data.jpa.domain.Chunking)
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public int deleteInBatch(Specification<T> spec, Chunking chunking) {
+
+		BulkModificationExecutor<T> executor = new BulkModificationExecutor<T>(entityInformation, em, provider);
+		return executor.delete(spec, chunking, getChunkTransactionTemplate());
+	}
+
+	/**
+	 * Adds the modification auditing information to the given {@link Update} if a {@link BulkUpdateAuditor} is
+	 * configured.
+	 * 
+	 * @param update
+	 * @return
+	 */
+	private Update audit(Update update) {
+
+		BulkUpdateAuditor auditor = queryOptions.getBulkUpdateAuditor();
+		return auditor == null ? update : auditor.audit(update, getDomainClass(), em.getMetamodel());
+	}
+
+	/**
+	 * Returns the {@link TransactionTemplate} to execute the chunks of a bulk modification with. Rejects chunked bulk
+	 * modifications inside a running transaction as the entities held by its persistence context could not be evicted
+	 * and would thus go stale.
+	 * 
+	 * @return
+	 */
+	private TransactionTemplate getChunkTransactionTemplate() {
+
+		Assert.state(transactionManager != null, "Chunked bulk modifications require a PlatformTransactionManager!");
+		Assert.state(!TransactionSynchronizationManager.isActualTransactionActive(),
+				"Chunked bulk modifications must not be executed inside a running transaction!");
+
+		return new TransactionTemplate(transactionManager);
 	}
 
 	/*
@@ -363,8 +672,63 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 			return result;
 		}
 
+		if (!entityInformation.requiresExistenceCheck()) {
+
+			for (T entity : entities) {
+				result.add(save(entity));
+			}
+
+			return result;
+		}
+
+		List<T> toSave = new ArrayList<T>();
+
+		for (T entity : entities) {
+			toSave.add(entity);
+		}
+
+		Set<Object> existingIds = loadExisting(toSave);
+
+		for (T entity : toSave) {
+
+			Object id = entityInformation.getId(entity);
+
+			if (id == null || existingIds.contains(id)) {
+				result.add(save(entity));
+			} else {
+				em.persist(entity);
+				existingIds.add(id);
+				result.add(entity);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Loads the already persisted ones of the given entities into the persistence context using as few queries as
+	 * possible. Thus subsequent merges of them do not need to hit the database again.
+	 * 
+	 * @param entities must not be {@literal null}.
+	 * @return the ids of the entities already persisted.
+	 */
+	private Set<Object> loadExisting(List<T> entities) {
+
+		List<Object> ids = new ArrayList<Object>();
+
 		for (T entity : entities) {
-			result.add(save(entity));
+
+			Object id = entityInformation.getId(entity);
+
+			if (id != null) {
+				ids.add(id);
+			}
+		}
+
+		Set<Object> result = new HashSet<Object>();
+
+		for (T existing : findAllById(ids)) {
+			result.add(entityInformation.getId(existing));
 		}
 
 		return result;
@@ -383,82 +747,187 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 
 	/**
 	 * Reads the given {@link TypedQuery} into a {@link Page} applying the given {@link Pageable} and
-	 * {@link Specification}.
+	 * {@link Specification}. The count query is skipped if configured to infer the total from the page content and the
+	 * content allows to, i.e. for the last, partially filled page only.
 	 * 
 	 * @param query
 	 * @param spec
 	 * @param pageable
+	 * @param appliesFetches whether the {@link Specification} applies fetch joins.
 	 * @return
 	 */
-	private Page<T> readPage(TypedQuery<T> query, Pageable pageable, Specification<T> spec) {
+	private Page<T> readPage(final TypedQuery<T> query, Pageable pageable, final Specification<T> spec,
+			final boolean appliesFetches) {
 
 		query.setFirstResult(pageable.getOffset());
 		query.setMaxResults(pageable.getPageSize());
 
-		Long total = getCountQuery(spec).getSingleResult();
+		if (Boolean.TRUE.equals(queryOptions.getInferTotal())) {
 
-		return new PageImpl<T>(query.getResultList(), pageable, total);
+			List<T> content = query.getResultList();
+			Long total = inferTotal(query, content);
+
+			return new PageImpl<T>(content, pageable, total == null ? getCountQuery(spec, appliesFetches).getSingleResult()
+					: total);
+		}
+
+		ParallelCountExecutor countExecutor = queryOptions.getCountExecutor();
+
+		if (countExecutor == null) {
+			Long total = getCountQuery(spec, appliesFetches).getSingleResult();
+			return new PageImpl<T>(query.getResultList(), pageable, total);
+		}
+
+		Callable<Long> count = new Callable<Long>() {
+
+			public Long call() {
+				return getCountQuery(spec, appliesFetches).getSingleResult();
+			}
+		};
+
+		Callable<List<T>> content = new Callable<List<T>>() {
+
+			public List<T> call() {
+				return query.getResultList();
+			}
+		};
+
+		return countExecutor.readPage(content, count, pageable);
 	}
 
 	/**
-	 * Creates a new {@link TypedQuery} from the given {@link Specification}.
+	 * Returns whether the given {@link FetchPlan} fetches a collection valued association.
 	 * 
-	 * @param spec can be {@literal null}
-	 * @param pageable can be {@literal null}
+	 * @param fetchPlan can be {@literal null}.
 	 * @return
 	 */
-	private TypedQuery<T> getQuery(Specification<T> spec, Pageable pageable) {
+	private boolean fetchesCollection(FetchPlan fetchPlan) {
 
-		CriteriaBuilder builder = em.getCriteriaBuilder();
-		CriteriaQuery<T> query = builder.createQuery(getDomainClass());
-
-		Root<T> root = applySpecificationToCriteria(spec, query);
-		query.select(root);
+		if (fetchPlan == null) {
+			return false;
+		}
 
-		if (pageable != null) {
-			query.orderBy(toOrders(pageable.getSort(), root, builder));
+		for (String path : fetchPlan) {
+			if (isCollectionFetch(path, getDomainClass(), em.getMetamodel())) {
+				return true;
+			}
 		}
 
-		return em.createQuery(query);
+		return false;
 	}
 
 	/**
 	 * Creates a {@link TypedQuery} for the given {@link Specification} and {@link Sort}.
 	 * 
-	 * @param spec
-	 * @param sort
+	 * @param spec can be {@literal null}
+	 * @param sort can be {@literal null}
+	 * @param fetchPlan can be {@literal null}
 	 * @return
 	 */
-	private TypedQuery<T> getQuery(Specification<T> spec, Sort sort) {
+	private TypedQuery<T> getQuery(Specification<T> spec, Sort sort, FetchPlan fetchPlan) {
 
-		CriteriaBuilder builder = em.getCriteriaBuilder();
-		CriteriaQuery<T> query = builder.createQuery(getDomainClass());
+		CriteriaQuery<T> query = em.getCriteriaBuilder().createQuery(getDomainClass());
+		return getQuery(query, applySpecificationToCriteria(spec, query), sort, fetchPlan);
+	}
 
-		Root<T> root = applySpecificationToCriteria(spec, query);
+	/**
+	 * Creates a {@link TypedQuery} selecting the given {@link Root} of the given {@link CriteriaQuery} a
+	 * {@link Specification} has already been applied to.
+	 * 
+	 * @param query
+	 * @param root
+	 * @param sort can be {@literal null}
+	 * @param fetchPlan can be {@literal null}
+	 * @return
+	 */
+	private TypedQuery<T> getQuery(CriteriaQuery<T> query, Root<T> root, Sort sort, FetchPlan fetchPlan) {
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
 		query.select(root);
 
+		if (fetchPlan != null && applyFetchJoins(root, fetchPlan)) {
+			query.distinct(true);
+		}
+
 		if (sort != null) {
 			query.orderBy(toOrders(sort, root, builder));
 		}
 
-		return em.createQuery(query);
+		return applyQueryOptions(em.createQuery(query), fetchPlan);
 	}
 
 	/**
-	 * Creates a new count query for the given {@link Specification}.
+	 * Creates a new count query for the given {@link Specification}. Fetch joins the {@link Specification} applies are
+	 * turned into plain joins on a fresh {@link Root} and ordering is dropped as both are not valid for count queries.
+	 * If it is not known yet whether the {@link Specification} applies fetch joins, it is applied to a plain
+	 * {@link Root} first and only reapplied if it turns out to do so.
 	 * 
 	 * @param spec can be {@literal null}.
+	 * @param appliesFetches whether the {@link Specification} applies fetch joins or {@literal null} if not known yet.
 	 * @return
 	 */
-	private TypedQuery<Long> getCountQuery(Specification<T> spec) {
+	private TypedQuery<Long> getCountQuery(Specification<T> spec, Boolean appliesFetches) {
 
 		CriteriaBuilder builder = em.getCriteriaBuilder();
 		CriteriaQuery<Long> query = builder.createQuery(Long.class);
+		Root<T> root = query.from(getDomainClass());
 
-		Root<T> root = applySpecificationToCriteria(spec, query);
-		query.select(builder.count(root));
+		FetchJoinConverter converter = new FetchJoinConverter();
+
+		if (Boolean.TRUE.equals(appliesFetches)) {
+			applySpecificationToCriteria(spec, query, converter.convert(root));
+		} else {
+
+			applySpecificationToCriteria(spec, query, root);
 
-		return em.createQuery(query);
+			if (appliesFetches == null && FetchJoinConverter.hasFetches(root)) {
+				return getCountQuery(spec, true);
+			}
+		}
+
+		boolean distinct = query.isDistinct() || converter.hasJoinedCollection();
+
+		query.orderBy(Collections.<Order> emptyList());
+		query.select(distinct ? builder.countDistinct(root) : builder.count(root));
+
+		return applyQueryOptions(em.createQuery(query));
+	}
+
+	/**
+	 * Applies the configured {@link JpaQueryOptions} to the given {@link TypedQuery}.
+	 * 
+	 * @param query
+	 * @return
+	 */
+	private <S> TypedQuery<S> applyQueryOptions(TypedQuery<S> query) {
+
+		return queryOptions.applyTo(query, provider);
+	}
+
+	/**
+	 * Applies the configured {@link JpaQueryOptions} to the given {@link TypedQuery} enforcing read-only mode and
+	 * locking if requested by the given {@link FetchPlan}.
+	 * 
+	 * @param query
+	 * @param fetchPlan can be {@literal null}.
+	 * @return
+	 */
+	private <S> TypedQuery<S> applyQueryOptions(TypedQuery<S> query, FetchPlan fetchPlan) {
+
+		if (fetchPlan == null) {
+			return applyQueryOptions(query);
+		}
+
+		JpaQueryOptions options = new JpaQueryOptions();
+		options.setReadOnly(fetchPlan.isReadOnly() ? true : null);
+		options.setLockTimeout(fetchPlan.getLockTimeout());
+
+		if (fetchPlan.getLockMode() != null) {
+			query.setLockMode(fetchPlan.getLockMode());
+			options.setLockWait(fetchPlan.getLockWait() == LockWait.WAIT ? null : fetchPlan.getLockWait());
+		}
+
+		return options.mergeWith(queryOptions).applyTo(query, provider);
 	}
 
 	/**
@@ -471,7 +940,18 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	private <S> Root<T> applySpecificationToCriteria(Specification<T> spec, CriteriaQuery<S> query) {
 
 		Assert.notNull(query);
-		Root<T> root = query.from(getDomainClass());
+		return applySpecificationToCriteria(spec, query, query.from(getDomainClass()));
+	}
+
+	/**
+	 * Applies the given {@link Specification} to the given {@link CriteriaQuery} using the given {@link Root}.
+	 * 
+	 * @param spec can be {@literal null}
+	 * @param query
+	 * @param root
+	 * @return
+	 */
+	private <S> Root<T> applySpecificationToCriteria(Specification<T> spec, CriteriaQuery<S> query, Root<T> root) {
 
 		if (spec == null) {
 			return root;
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.support;
+
+/**
+ * Strategy interface to identify the client the current transaction is executed for, e.g. by the id of the current HTTP
+ * session. Used by {@link ReadReplicaSharedEntityManagerBean} to track read-your-writes stickiness per client.
+ * 
+ * @author Oliver Gierke
+ */
+public interface ClientKeyResolver {
+
+	/**
+	 * Returns a key identifying the current client. Keys have to implement {@code equals(...)} and {@code hashCode()}
+	 * consistently.
+	 * 
+	 * @return the key of the current client or {@literal null} to track stickiness for the current thread only.
+	 */
+	Object getClientKey();
+}
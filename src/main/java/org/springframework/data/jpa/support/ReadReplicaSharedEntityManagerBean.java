@@ -0,0 +1,331 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link FactoryBean} to create a shared {@link EntityManager} that routes invocations to an {@link EntityManager} of
+ * a read replica {@link EntityManagerFactory} if the current transaction is read-only and to the one of the primary
+ * {@link EntityManagerFactory} otherwise. To preserve read-your-writes semantics, read-only transactions will be routed
+ * to the primary database as well for a configurable time window after a read-write transaction of the same client has
+ * committed. Clients are identified by a configurable {@link ClientKeyResolver}, e.g. by HTTP session. If none is
+ * configured or it does not resolve a key, the stickiness is tracked per thread. As subsequent requests of a client are
+ * usually served by different threads, read-your-writes across requests is only guaranteed if a
+ * {@link ClientKeyResolver} is configured.
+ * <p>
+ * The target database is determined once per transaction, on the first invocation within it, so that a transaction
+ * never reads through both persistence contexts.
+ * <p>
+ * The {@link EntityManager} of the replica is bound to the current transaction synchronization, i.e. the transaction
+ * has to be driven by the transaction manager of the primary {@link EntityManagerFactory} which is the case for
+ * repositories configured with a replica by default. Note that this transaction manager still begins read-only
+ * transactions on the primary database and thus holds a connection to it while the replica {@link EntityManager} reads
+ * without a transaction of its own. To avoid that, run read-only service methods with a transaction manager of the
+ * replica {@link EntityManagerFactory} instead.
+ * 
+ * @author Oliver Gierke
+ */
+public class ReadReplicaSharedEntityManagerBean implements FactoryBean<EntityManager>, InitializingBean {
+
+	private EntityManagerFactory entityManagerFactory;
+	private EntityManagerFactory replicaEntityManagerFactory;
+	private long stickinessWindow = 0;
+	private ClientKeyResolver clientKeyResolver;
+
+	private EntityManager shared;
+
+	/**
+	 * Configures the primary {@link EntityManagerFactory}.
+	 * 
+	 * @param entityManagerFactory the entityManagerFactory to set
+	 */
+	public void setEntityManagerFactory(EntityManagerFactory entityManagerFactory) {
+
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	/**
+	 * Configures the {@link EntityManagerFactory} of the read replica.
+	 * 
+	 * @param replicaEntityManagerFactory the replicaEntityManagerFactory to set
+	 */
+	public void setReplicaEntityManagerFactory(EntityManagerFactory replicaEntityManagerFactory) {
+
+		this.replicaEntityManagerFactory = replicaEntityManagerFactory;
+	}
+
+	/**
+	 * Configures the time in milliseconds read-only transactions shall still be routed to the primary database after a
+	 * read-write transaction has committed. Defaults to {@literal 0}.
+	 * 
+	 * @param stickinessWindow the stickinessWindow to set
+	 */
+	public void setStickinessWindow(long stickinessWindow) {
+
+		this.stickinessWindow = stickinessWindow;
+	}
+
+	/**
+	 * Configures the {@link ClientKeyResolver} to identify the client read-your-writes stickiness is tracked for.
+	 * Defaults to tracking it per thread.
+	 * 
+	 * @param clientKeyResolver the clientKeyResolver to set
+	 */
+	public void setClientKeyResolver(ClientKeyResolver clientKeyResolver) {
+
+		this.clientKeyResolver = clientKeyResolver;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
+	 */
+	public void afterPropertiesSet() {
+
+		Assert.notNull(entityManagerFactory, "EntityManagerFactory must not be null!");
+		Assert.notNull(replicaEntityManagerFactory, "Replica EntityManagerFactory must not be null!");
+		Assert.isTrue(stickinessWindow >= 0, "Stickiness window must not be negative!");
+
+		EntityManager primary = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+		EntityManager replica = SharedEntityManagerCreator.createSharedEntityManager(replicaEntityManagerFactory);
+
+		this.shared = (EntityManager) Proxy.newProxyInstance(getClass().getClassLoader(),
+				ClassUtils.getAllInterfaces(primary), new RoutingInvocationHandler(primary, replica, stickinessWindow,
+						clientKeyResolver));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.FactoryBean#getObject()
+	 */
+	public EntityManager getObject() {
+
+		return shared;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.FactoryBean#getObjectType()
+	 */
+	public Class<? extends EntityManager> getObjectType() {
+
+		return shared == null ? EntityManager.class : shared.getClass();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.FactoryBean#isSingleton()
+	 */
+	public boolean isSingleton() {
+
+		return true;
+	}
+
+	/**
+	 * {@link InvocationHandler} to route {@link EntityManager} invocations to either the primary or the replica
+	 * {@link EntityManager}.
+	 * 
+	 * @author Oliver Gierke
+	 */
+	static class RoutingInvocationHandler implements InvocationHandler {
+
+		private final EntityManager primary;
+		private final EntityManager replica;
+		private final long stickinessWindow;
+		private final ClientKeyResolver clientKeyResolver;
+
+		private final ThreadLocal<Long> lastThreadWrite = new ThreadLocal<Long>();
+		private final ConcurrentMap<Object, Long> lastClientWrites = new ConcurrentHashMap<Object, Long>();
+
+		public RoutingInvocationHandler(EntityManager primary, EntityManager replica, long stickinessWindow) {
+
+			this(primary, replica, stickinessWindow, null);
+		}
+
+		/**
+		 * Creates a new {@link RoutingInvocationHandler} tracking the stickiness per client identified by the given
+		 * {@link ClientKeyResolver}.
+		 * 
+		 * @param primary
+		 * @param replica
+		 * @param stickinessWindow
+		 * @param clientKeyResolver can be {@literal null} to track stickiness per thread.
+		 */
+		public RoutingInvocationHandler(EntityManager primary, EntityManager replica, long stickinessWindow,
+				ClientKeyResolver clientKeyResolver) {
+
+			this.primary = primary;
+			this.replica = replica;
+			this.stickinessWindow = stickinessWindow;
+			this.clientKeyResolver = clientKeyResolver;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+		 */
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			if (method.getName().equals("equals")) {
+				return proxy == args[0];
+			} else if (method.getName().equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			} else if (method.getName().equals("toString")) {
+				return "Read replica routing EntityManager proxy";
+			}
+
+			try {
+				return method.invoke(determineTarget(), args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			}
+		}
+
+		/**
+		 * Returns the {@link EntityManager} to be used for the current invocation. The decision is bound to the current
+		 * transaction so that all invocations within it use the same {@link EntityManager}.
+		 * 
+		 * @return
+		 */
+		EntityManager determineTarget() {
+
+			if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+				return primary;
+			}
+
+			if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+				return doDetermineTarget(getClientKey());
+			}
+
+			EntityManager target = (EntityManager) TransactionSynchronizationManager.getResource(this);
+
+			if (target != null) {
+				return target;
+			}
+
+			Object clientKey = getClientKey();
+			target = doDetermineTarget(clientKey);
+
+			TransactionSynchronizationManager.bindResource(this, target);
+			TransactionSynchronizationManager.registerSynchronization(new TargetBindingSynchronization(target,
+					clientKey, !TransactionSynchronizationManager.isCurrentTransactionReadOnly()));
+
+			return target;
+		}
+
+		private EntityManager doDetermineTarget(Object clientKey) {
+
+			if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+				return primary;
+			}
+
+			Long lastWrite = getLastWrite(clientKey);
+			return lastWrite != null && System.currentTimeMillis() - lastWrite < stickinessWindow ? primary : replica;
+		}
+
+		private Object getClientKey() {
+
+			return clientKeyResolver == null ? null : clientKeyResolver.getClientKey();
+		}
+
+		private Long getLastWrite(Object clientKey) {
+
+			return clientKey == null ? lastThreadWrite.get() : lastClientWrites.get(clientKey);
+		}
+
+		/**
+		 * Records the given time as the last write of the given client and drops the writes outside the stickiness window.
+		 * 
+		 * @param clientKey can be {@literal null} to record the write for the current thread.
+		 * @param time
+		 */
+		private void recordWrite(Object clientKey, long time) {
+
+			if (clientKey == null) {
+				lastThreadWrite.set(time);
+				return;
+			}
+
+			lastClientWrites.put(clientKey, time);
+
+			for (Iterator<Long> iterator = lastClientWrites.values().iterator(); iterator.hasNext();) {
+				if (time - iterator.next() >= stickinessWindow) {
+					iterator.remove();
+				}
+			}
+		}
+
+		/**
+		 * Keeps the {@link EntityManager} chosen for a transaction bound to it while it is active and records the
+		 * completion time of read-write transactions for the client they were executed for.
+		 * 
+		 * @author Oliver Gierke
+		 */
+		private class TargetBindingSynchronization extends TransactionSynchronizationAdapter {
+
+			private final EntityManager target;
+			private final Object clientKey;
+			private final boolean write;
+
+			public TargetBindingSynchronization(EntityManager target, Object clientKey, boolean write) {
+
+				this.target = target;
+				this.clientKey = clientKey;
+				this.write = write;
+			}
+
+			@Override
+			public void suspend() {
+
+				TransactionSynchronizationManager.unbindResourceIfPossible(RoutingInvocationHandler.this);
+			}
+
+			@Override
+			public void resume() {
+
+				TransactionSynchronizationManager.bindResource(RoutingInvocationHandler.this, target);
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+
+				TransactionSynchronizationManager.unbindResourceIfPossible(RoutingInvocationHandler.this);
+
+				if (write && stickinessWindow > 0 && status == STATUS_COMMITTED) {
+					recordWrite(clientKey, System.currentTimeMillis());
+				}
+			}
+		}
+	}
+}
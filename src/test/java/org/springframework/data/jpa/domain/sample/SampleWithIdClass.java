@@ -0,0 +1,55 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain.sample;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+
+/**
+ * Sample entity using an {@link IdClass} to declare a composite id.
+ * 
+ * @author Oliver Gierke
+ */
+@Entity
+@IdClass(SampleWithIdClassPK.class)
+public class SampleWithIdClass {
+
+	@Id
+	private String first;
+	@Id
+	private String second;
+
+	protected SampleWithIdClass() {
+
+	}
+
+	public SampleWithIdClass(String first, String second) {
+
+		this.first = first;
+		this.second = second;
+	}
+
+	public String getFirst() {
+
+		return first;
+	}
+
+	public String getSecond() {
+
+		return second;
+	}
+}
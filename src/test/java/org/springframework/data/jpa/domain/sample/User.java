@@ -45,6 +45,7 @@ public class User {
 	private Integer id;
 	private String firstname;
 	private String lastname;
+	private int age;
 
 	@Column(nullable = false, unique = true)
 	private String emailAddress;
@@ -118,6 +119,26 @@ public class User {
 		this.firstname = firstname;
 	}
 
+	/**
+	 * Returns the age.
+	 * 
+	 * @return the age
+	 */
+	public int getAge() {
+
+		return age;
+	}
+
+	/**
+	 * Sets the age.
+	 * 
+	 * @param age the age to set
+	 */
+	public void setAge(int age) {
+
+		this.age = age;
+	}
+
 	/**
 	 * Returns the lastname.
 	 * 
@@ -17,6 +17,7 @@ package org.springframework.data.jpa.domain.sample;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
@@ -68,6 +69,24 @@ public class UserSpecifications {
 		};
 	}
 
+	/**
+	 * A {@link Specification} fetching the {@link User}'s roles and returning distinct {@link User}s.
+	 * 
+	 * @return
+	 */
+	public static Specification<User> fetchingRoles() {
+
+		return new Specification<User>() {
+
+			public Predicate toPredicate(Root<User> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+
+				root.fetch("roles", JoinType.LEFT);
+				query.distinct(true);
+				return null;
+			}
+		};
+	}
+
 	private static <T> Specification<T> simplePropertySpec(final String property, final Object value) {
 
 		return new Specification<T>() {
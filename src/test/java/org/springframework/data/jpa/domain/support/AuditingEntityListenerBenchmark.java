@@ -0,0 +1,96 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain.support;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.domain.sample.AuditableUser;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Microbenchmark to measure the throughput of {@link AuditingEntityListener} touching a batch of newly inserted
+ * {@link AuditableUser}s within a single transaction for the different {@link AuditingCacheScope}s. The
+ * {@link AuditorAware} is proxied just like the one set up by the namespace. Not executed as part of the test suite,
+ * run the {@link #main(String[])} method manually.
+ * 
+ * @author Oliver Gierke
+ */
+public class AuditingEntityListenerBenchmark {
+
+	private static final int WARMUP_BATCHES = 10;
+	private static final int BATCHES = 20;
+	private static final int BATCH_SIZE = 100000;
+
+	@SuppressWarnings("unchecked")
+	public static void main(String[] args) {
+
+		final AuditableUser auditor = new AuditableUser();
+
+		AuditorAware<AuditableUser> target = new AuditorAware<AuditableUser>() {
+
+			public AuditableUser getCurrentAuditor() {
+				return auditor;
+			}
+		};
+
+		AuditorAware<AuditableUser> auditorAware = (AuditorAware<AuditableUser>) new ProxyFactory(target).getProxy();
+
+		for (AuditingCacheScope scope : AuditingCacheScope.values()) {
+
+			AuditingEntityListener<AuditableUser> listener = new AuditingEntityListener<AuditableUser>();
+			listener.setAuditorAware(auditorAware);
+			listener.setCacheScope(scope);
+
+			run(scope.name(), listener);
+		}
+	}
+
+	private static void run(String name, AuditingEntityListener<AuditableUser> listener) {
+
+		for (int i = 0; i < WARMUP_BATCHES; i++) {
+			insertBatch(listener);
+		}
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < BATCHES; i++) {
+			insertBatch(listener);
+		}
+
+		double seconds = (System.nanoTime() - start) / 1000000000d;
+		System.out.println(String.format("%-12s %12.0f entities/s", name, BATCHES * BATCH_SIZE / seconds));
+	}
+
+	private static void insertBatch(AuditingEntityListener<AuditableUser> listener) {
+
+		TransactionSynchronizationManager.initSynchronization();
+
+		try {
+
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				listener.touchForCreate(new AuditableUser());
+			}
+
+			for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+			}
+
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+}
@@ -83,6 +83,20 @@ public class AuditingEntityListenerTests {
 		assertUserIsAuditor(user, role);
 	}
 
+	@Test
+	public void auditsBulkUpdates() throws Exception {
+
+		AuditableUser modifier = repository.save(new AuditableUser());
+		auditorAware.setAuditor(modifier);
+
+		repository.updateFirstname("Dave", user.getId());
+		AuditableUser reloaded = repository.findOne(user.getId());
+
+		assertThat(reloaded.getFirstname(), is("Dave"));
+		assertThat(reloaded.getLastModifiedBy(), is(modifier));
+		assertThat(reloaded.getCreatedBy(), is(user));
+	}
+
 	private static void assertDatesSet(Auditable<?, ?> auditable) {
 
 		assertThat(auditable.getCreatedDate(), is(notNullValue()));
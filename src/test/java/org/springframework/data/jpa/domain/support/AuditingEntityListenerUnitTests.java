@@ -18,10 +18,13 @@ package org.springframework.data.jpa.domain.support;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import org.joda.time.DateTime;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.domain.sample.AuditableUser;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Unit test for {@code AuditingEntityListener}.
@@ -136,4 +139,129 @@ public class AuditingEntityListenerUnitTests {
 		assertNotNull(user.getLastModifiedBy());
 		assertNull(user.getLastModifiedDate());
 	}
+
+	@Test
+	public void usesConfiguredDateTimeProvider() {
+
+		DateTime now = new DateTime(2011, 1, 1, 0, 0, 0, 0);
+		DateTimeProvider provider = mock(DateTimeProvider.class);
+		when(provider.getDateTime()).thenReturn(now);
+
+		listener.setDateTimeProvider(provider);
+		listener.touchForCreate(user);
+
+		assertEquals(now, user.getCreatedDate());
+		assertEquals(now, user.getLastModifiedDate());
+	}
+
+	@Test
+	public void resolvesAuditorAndDateOncePerTransactionIfConfigured() {
+
+		DateTimeProvider provider = mock(DateTimeProvider.class);
+		when(provider.getDateTime()).thenReturn(new DateTime());
+
+		listener.setAuditorAware(auditorAware);
+		listener.setDateTimeProvider(provider);
+		listener.setCacheScope(AuditingCacheScope.TRANSACTION);
+
+		TransactionSynchronizationManager.initSynchronization();
+
+		try {
+
+			listener.touchForCreate(new AuditableUser());
+			listener.touchForCreate(new AuditableUser());
+
+			verify(auditorAware, times(1)).getCurrentAuditor();
+			verify(provider, times(1)).getDateTime();
+
+			for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+			}
+
+			listener.touchForCreate(new AuditableUser());
+
+			verify(auditorAware, times(2)).getCurrentAuditor();
+			verify(provider, times(2)).getDateTime();
+
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	public void bindsSnapshotPerListenerAndTransaction() {
+
+		AuditingEntityListener<AuditableUser> other = new AuditingEntityListener<AuditableUser>();
+		other.setAuditorAware(auditorAware);
+		other.setCacheScope(AuditingCacheScope.TRANSACTION);
+
+		listener.setAuditorAware(auditorAware);
+		listener.setCacheScope(AuditingCacheScope.TRANSACTION);
+
+		TransactionSynchronizationManager.initSynchronization();
+
+		try {
+
+			listener.touchForCreate(new AuditableUser());
+			listener.touchForCreate(new AuditableUser());
+			other.touchForCreate(new AuditableUser());
+
+			verify(auditorAware, times(2)).getCurrentAuditor();
+			assertEquals(2, TransactionSynchronizationManager.getSynchronizations().size());
+
+		} finally {
+
+			for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+			}
+
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertFalse(TransactionSynchronizationManager.hasResource(listener));
+		assertFalse(TransactionSynchronizationManager.hasResource(other));
+	}
+
+	@Test
+	public void sharesSnapshotBetweenListenersOfTheSameBeanDefinition() {
+
+		AuditingEntityListener<AuditableUser> other = new AuditingEntityListener<AuditableUser>();
+		other.setAuditorAware(auditorAware);
+		other.setCacheScope(AuditingCacheScope.TRANSACTION);
+		other.setBeanName(AuditingEntityListener.class.getName());
+
+		listener.setAuditorAware(auditorAware);
+		listener.setCacheScope(AuditingCacheScope.TRANSACTION);
+		listener.setBeanName(AuditingEntityListener.class.getName());
+
+		TransactionSynchronizationManager.initSynchronization();
+
+		try {
+
+			listener.touchForCreate(new AuditableUser());
+			other.touchForCreate(new AuditableUser());
+
+			verify(auditorAware, times(1)).getCurrentAuditor();
+
+		} finally {
+
+			for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+			}
+
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	public void resolvesAuditorForEveryEntityWithoutTransaction() {
+
+		listener.setAuditorAware(auditorAware);
+		listener.setCacheScope(AuditingCacheScope.TRANSACTION);
+
+		listener.touchForCreate(new AuditableUser());
+		listener.touchForCreate(new AuditableUser());
+
+		verify(auditorAware, times(2)).getCurrentAuditor();
+	}
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.jpa.domain.AbstractAllocatedPersistable;
+import org.springframework.data.jpa.domain.IdAllocator;
+
+/**
+ * Unit tests for {@link IdAllocatingEntityListener}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class IdAllocatingEntityListenerUnitTests {
+
+	@Mock
+	IdAllocator allocator;
+
+	IdAllocatingEntityListener listener = new IdAllocatingEntityListener();
+
+	@Test
+	public void allocatesIdFromConfiguredAllocator() {
+
+		when(allocator.nextId()).thenReturn(42L);
+		listener.setIdAllocator(allocator);
+		listener.afterPropertiesSet();
+
+		SampleEntity entity = new SampleEntity();
+		listener.allocateId(entity);
+
+		assertThat(entity.getId(), is(42L));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsMissingAllocatorOnInitialization() {
+
+		listener.afterPropertiesSet();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsAllocatingIdWithoutAllocator() {
+
+		listener.allocateId(new SampleEntity());
+	}
+
+	@Test
+	public void ignoresEntitiesWithoutAllocatorIfNoIdIsRequired() {
+
+		listener.allocateId(new Object());
+	}
+
+	@SuppressWarnings("serial")
+	static class SampleEntity extends AbstractAllocatedPersistable {
+
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+
+/**
+ * Unit tests for {@link PooledIdAllocator}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PooledIdAllocatorUnitTests {
+
+	@Mock
+	DataFieldMaxValueIncrementer incrementer;
+
+	@Test
+	public void allocatesIdsInBlocks() {
+
+		when(incrementer.nextLongValue()).thenReturn(1L, 2L);
+
+		PooledIdAllocator allocator = new PooledIdAllocator(incrementer, 3);
+
+		assertThat(allocator.nextId(), is(3L));
+		assertThat(allocator.nextId(), is(4L));
+		assertThat(allocator.nextId(), is(5L));
+		assertThat(allocator.nextId(), is(6L));
+
+		verify(incrementer, times(2)).nextLongValue();
+	}
+
+	@Test
+	public void allocatesUniqueIdsConcurrently() throws Exception {
+
+		final long[] hi = new long[1];
+
+		DataFieldMaxValueIncrementer incrementer = new StubIncrementer() {
+
+			public synchronized long nextLongValue() {
+				return hi[0]++;
+			}
+		};
+
+		final PooledIdAllocator allocator = new PooledIdAllocator(incrementer, 10);
+		final Map<Long, Boolean> allocated = new ConcurrentHashMap<Long, Boolean>();
+		final CountDownLatch latch = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		for (int i = 0; i < 4; i++) {
+			executor.execute(new Runnable() {
+
+				public void run() {
+
+					try {
+						latch.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+
+					for (int j = 0; j < 1000; j++) {
+						allocated.put(allocator.nextId(), Boolean.TRUE);
+					}
+				}
+			});
+		}
+
+		latch.countDown();
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+
+		assertThat(allocated.size(), is(4000));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidBlockSize() {
+
+		new PooledIdAllocator(incrementer, 0);
+	}
+
+	static abstract class StubIncrementer implements DataFieldMaxValueIncrementer {
+
+		public int nextIntValue() {
+			return (int) nextLongValue();
+		}
+
+		public String nextStringValue() {
+			return String.valueOf(nextLongValue());
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TimeBasedIdAllocator}.
+ * 
+ * @author Oliver Gierke
+ */
+public class TimeBasedIdAllocatorUnitTests {
+
+	@Test
+	public void encodesTimestampNodeAndSequence() {
+
+		TimeBasedIdAllocator allocator = new FixedTimeIdAllocator(5, TimeBasedIdAllocator.EPOCH + 1);
+
+		assertThat(allocator.nextId(), is(1L << 22 | 5L << 12));
+		assertThat(allocator.nextId(), is(1L << 22 | 5L << 12 | 1));
+	}
+
+	@Test
+	public void createsIncreasingIdsIfClockIsSetBack() {
+
+		FixedTimeIdAllocator allocator = new FixedTimeIdAllocator(0, TimeBasedIdAllocator.EPOCH + 100);
+		long first = allocator.nextId();
+
+		allocator.now = TimeBasedIdAllocator.EPOCH + 50;
+
+		assertThat(allocator.nextId() > first, is(true));
+	}
+
+	@Test
+	public void carriesSequenceOverflowIntoTimestamp() {
+
+		TimeBasedIdAllocator allocator = new FixedTimeIdAllocator(0, TimeBasedIdAllocator.EPOCH + 1);
+		long previous = allocator.nextId();
+
+		for (int i = 0; i < 5000; i++) {
+			long id = allocator.nextId();
+			assertThat(id > previous, is(true));
+			previous = id;
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidNodeId() {
+
+		new TimeBasedIdAllocator(TimeBasedIdAllocator.MAX_NODE_ID + 1);
+	}
+
+	static class FixedTimeIdAllocator extends TimeBasedIdAllocator {
+
+		long now;
+
+		FixedTimeIdAllocator(int nodeId, long now) {
+
+			super(nodeId);
+			this.now = now;
+		}
+
+		@Override
+		protected long getCurrentTimeMillis() {
+
+			return now;
+		}
+	}
+}
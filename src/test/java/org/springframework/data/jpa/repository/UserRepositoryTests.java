@@ -26,9 +26,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceUnitUtil;
 import javax.persistence.Query;
 
 import org.junit.Before;
@@ -38,13 +40,18 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Chunking;
+import org.springframework.data.jpa.domain.FetchPlan;
+import org.springframework.data.jpa.domain.Increment;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.Update;
 import org.springframework.data.jpa.domain.sample.Role;
 import org.springframework.data.jpa.domain.sample.User;
 import org.springframework.data.jpa.repository.sample.UserRepository;
@@ -227,6 +234,122 @@ public class UserRepositoryTests {
 		assertThat(repository.count(), is(before - 2));
 	}
 
+	@Test
+	public void batchDeleteEvictsDeletedEntities() {
+
+		flushTestUsers();
+
+		repository.deleteInBatch(Arrays.asList(firstUser, secondUser));
+
+		assertThat(em.contains(firstUser), is(false));
+		assertThat(em.contains(secondUser), is(false));
+		assertThat(repository.findOne(firstUser.getId()), is(nullValue()));
+	}
+
+	@Test(expected = InvalidDataAccessApiUsageException.class)
+	public void rejectsTransientEntitiesForBatchDelete() {
+
+		flushTestUsers();
+
+		repository.deleteInBatch(Arrays.asList(firstUser, new User("Foo", "Bar", "foo@bar.com")));
+	}
+
+	@Test
+	public void updatesEntitiesMatchingSpecificationInBatch() {
+
+		flushTestUsers();
+
+		int updated = repository.updateInBatch(userHasLastname("Gierke"), Update.update("firstname", "Ollie"));
+
+		assertThat(updated, is(1));
+		assertThat(em.contains(firstUser), is(false));
+		assertThat(repository.findOne(firstUser.getId()).getFirstname(), is("Ollie"));
+	}
+
+	@Test
+	public void deletesEntitiesMatchingSpecificationInBatch() {
+
+		flushTestUsers();
+
+		long before = repository.count();
+
+		assertThat(repository.deleteInBatch(userHasLastname("Gierke")), is(1));
+		assertThat(repository.count(), is(before - 1));
+		assertThat(repository.exists(firstUser.getId()), is(false));
+	}
+
+	@Test(expected = InvalidDataAccessApiUsageException.class)
+	public void rejectsChunkedBulkModificationInsideTransaction() {
+
+		flushTestUsers();
+
+		repository.deleteInBatch(userHasLastname("Gierke"), Chunking.of(10));
+	}
+
+	@Test(expected = InvalidDataAccessApiUsageException.class)
+	public void rejectsBatchUpdateOfUnknownAttribute() {
+
+		flushTestUsers();
+
+		repository.updateInBatch(userHasLastname("Gierke"), Update.update("foo", "bar"));
+	}
+
+	@Test
+	public void updatesSingleEntityById() {
+
+		flushTestUsers();
+
+		assertThat(repository.update(firstUser.getId(), Update.update("firstname", "Ollie")), is(true));
+		assertThat(em.contains(firstUser), is(false));
+		assertThat(repository.findOne(firstUser.getId()).getFirstname(), is("Ollie"));
+		assertThat(repository.findOne(secondUser.getId()).getFirstname(), is(secondUser.getFirstname()));
+	}
+
+	@Test
+	public void reportsUpdateOfUnknownIdAsNotExecuted() {
+
+		flushTestUsers();
+
+		assertThat(repository.update(thirdUser.getId() + 1, Update.update("firstname", "Ollie")), is(false));
+	}
+
+	@Test
+	public void updatesEntitiesByIds() {
+
+		flushTestUsers();
+
+		List<Integer> ids = Arrays.asList(firstUser.getId(), secondUser.getId());
+
+		assertThat(repository.update(ids, Update.update("lastname", "Matthews")), is(2));
+		assertThat(repository.findOne(firstUser.getId()).getLastname(), is("Matthews"));
+		assertThat(repository.findOne(secondUser.getId()).getLastname(), is("Matthews"));
+		assertThat(repository.findOne(thirdUser.getId()).getLastname(), is(thirdUser.getLastname()));
+	}
+
+	@Test
+	public void incrementsAttributeAtomically() {
+
+		firstUser.setAge(28);
+		flushTestUsers();
+
+		assertThat(repository.increment(firstUser.getId(), Increment.increment("age", 2)), is(true));
+		assertThat(em.contains(firstUser), is(false));
+		assertThat(repository.findOne(firstUser.getId()).getAge(), is(30));
+	}
+
+	@Test
+	public void doesNotIncrementAttributeBeyondBounds() {
+
+		firstUser.setAge(1);
+		flushTestUsers();
+
+		Increment decrement = Increment.increment("age", -1).withMinimum("age", 0);
+
+		assertThat(repository.increment(firstUser.getId(), decrement), is(true));
+		assertThat(repository.increment(firstUser.getId(), decrement), is(false));
+		assertThat(repository.findOne(firstUser.getId()).getAge(), is(0));
+	}
+
 	@Test
 	public void deleteEmptyCollectionDoesNotDeleteAnything() {
 
@@ -737,6 +860,139 @@ public class UserRepositoryTests {
 		assertThat(result.getTotalPages(), is(1));
 	}
 
+	@Test
+	public void fetchesAssociationsDeclaredForDerivedQuery() {
+
+		Role role = new Role("USER");
+		em.persist(role);
+
+		firstUser.addRole(role);
+		firstUser.setManager(secondUser);
+		flushTestUsers();
+		em.clear();
+
+		List<User> result = repository.findWithRolesAndManagerByLastname("Gierke");
+
+		assertThat(result.size(), is(1));
+
+		PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+		assertThat(util.isLoaded(result.get(0), "roles"), is(true));
+		assertThat(util.isLoaded(result.get(0), "manager"), is(true));
+	}
+
+	@Test
+	public void appliesFetchJoinToPaginatedQueryOnly() {
+
+		firstUser.setManager(secondUser);
+		flushTestUsers();
+		em.clear();
+
+		Page<User> result = repository.findWithManagerByFirstname("Oliver", new PageRequest(0, 10));
+
+		assertThat(result.getContent().size(), is(1));
+		assertThat(result.getTotalElements(), is(1L));
+
+		PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+		assertThat(util.isLoaded(result.getContent().get(0), "manager"), is(true));
+	}
+
+	@Test
+	public void appliesFetchPlanToSpecificationQueryOnly() {
+
+		firstUser.setManager(secondUser);
+		secondUser.setManager(firstUser);
+		flushTestUsers();
+		em.clear();
+
+		Specification<User> spec = where(userHasFirstname("Oliver")).or(userHasLastname("Matthews"));
+		Page<User> result = repository.findAll(spec, new PageRequest(0, 10), new FetchPlan("manager"));
+
+		assertThat(result.getContent().size(), is(2));
+		assertThat(result.getTotalElements(), is(2L));
+
+		PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+
+		for (User user : result.getContent()) {
+			assertThat(util.isLoaded(user, "manager"), is(true));
+		}
+	}
+
+	@Test
+	public void appliesCollectionFetchPlanToUnpagedSpecificationQuery() {
+
+		Role first = new Role("USER");
+		Role second = new Role("ADMIN");
+		em.persist(first);
+		em.persist(second);
+
+		firstUser.addRole(first);
+		firstUser.addRole(second);
+		flushTestUsers();
+		em.clear();
+
+		Specification<User> spec = where(userHasFirstname("Oliver")).or(userHasLastname("Matthews"));
+		List<User> result = repository.findAll(spec, new FetchPlan("roles"));
+
+		assertThat(result.size(), is(2));
+
+		PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+
+		for (User user : result) {
+			assertThat(util.isLoaded(user, "roles"), is(true));
+		}
+	}
+
+	@Test(expected = InvalidDataAccessApiUsageException.class)
+	public void rejectsCollectionFetchPlanForPaginatedQuery() {
+
+		flushTestUsers();
+
+		repository.findAll(userHasFirstname("Oliver"), new PageRequest(0, 10), new FetchPlan("roles"));
+	}
+
+	@Test
+	public void countsEntitiesForSpecificationFetchingCollection() {
+
+		Role first = new Role("USER");
+		Role second = new Role("ADMIN");
+		em.persist(first);
+		em.persist(second);
+
+		firstUser.addRole(first);
+		firstUser.addRole(second);
+		flushTestUsers();
+		em.clear();
+
+		Page<User> result = repository.findAll(fetchingRoles(), new PageRequest(0, 2));
+
+		assertThat(result.getContent().size(), is(2));
+		assertThat(result.getTotalElements(), is(3L));
+	}
+
+	@Test
+	public void findsSingleEntityBySpecificationWithFetchPlan() {
+
+		firstUser.setManager(secondUser);
+		flushTestUsers();
+		em.clear();
+
+		User result = repository.findOne(userHasFirstname("Oliver"), new FetchPlan("manager"));
+
+		assertThat(result, is(firstUser));
+		assertThat(em.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(result, "manager"), is(true));
+	}
+
+	@Test
+	public void executesFutureReturningQueryMethod() throws Exception {
+
+		flushTestUsers();
+
+		Future<List<User>> result = repository.findAsyncByLastname("Gierke");
+
+		assertThat(result.get().size(), is(1));
+		assertThat(result.get(), hasItem(firstUser));
+	}
+
 	private Page<User> executeSpecWithSort(Sort sort) {
 
 		flushTestUsers();
@@ -43,6 +43,17 @@ public class AuditingBeanDefinitionParserTests {
 		assertSetDatesIsSetTo("auditing/auditing-namespace-context2.xml", "false");
 	}
 
+	@Test
+	public void cacheScopeIsConfigured() throws Exception {
+
+		XmlBeanFactory factory = new XmlBeanFactory(new ClassPathResource("auditing/auditing-namespace-context3.xml"));
+		BeanDefinition definition = factory
+				.getBeanDefinition(AuditingBeanDefinitionParser.AUDITING_ENTITY_LISTENER_CLASS_NAME);
+		PropertyValue propertyValue = definition.getPropertyValues().getPropertyValue("cacheScope");
+		assertThat(propertyValue, is(notNullValue()));
+		assertThat((String) propertyValue.getValue(), is("TRANSACTION"));
+	}
+
 	private void assertSetDatesIsSetTo(String configFile, String value) {
 
 		XmlBeanFactory factory = new XmlBeanFactory(new ClassPathResource(configFile));
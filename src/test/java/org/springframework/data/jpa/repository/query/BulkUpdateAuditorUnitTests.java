@@ -0,0 +1,176 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import javax.persistence.Parameter;
+import javax.persistence.Query;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.jpa.domain.Update;
+import org.springframework.data.jpa.domain.sample.AuditableUser;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * Unit tests for {@link BulkUpdateAuditor}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BulkUpdateAuditorUnitTests {
+
+	@Mock
+	AuditingEntityListener<AuditableUser> listener;
+	@Mock
+	Metamodel metamodel;
+	@Mock
+	ManagedType<AuditableUser> type;
+	@Mock
+	SingularAttribute<AuditableUser, AuditableUser> lastModifiedBy;
+	@Mock
+	SingularAttribute<AuditableUser, Date> lastModifiedDate;
+	@Mock
+	Query query;
+	@Mock
+	Parameter<Object> firstname, lastModifiedByParameter, lastModifiedDateParameter;
+
+	AuditableUser auditor = new AuditableUser();
+	DateTime now = new DateTime();
+
+	BulkUpdateAuditor bulkUpdateAuditor;
+
+	@Before
+	public void setUp() {
+
+		doReturn(type).when(metamodel).managedType(AuditableUser.class);
+		doReturn(lastModifiedBy).when(type).getSingularAttribute(BulkUpdateAuditor.LAST_MODIFIED_BY);
+		doReturn(lastModifiedDate).when(type).getSingularAttribute(BulkUpdateAuditor.LAST_MODIFIED_DATE);
+
+		when(lastModifiedBy.getName()).thenReturn(BulkUpdateAuditor.LAST_MODIFIED_BY);
+		when(lastModifiedDate.getName()).thenReturn(BulkUpdateAuditor.LAST_MODIFIED_DATE);
+		when(lastModifiedDate.getJavaType()).thenReturn(Date.class);
+
+		when(listener.hasAuditorAware()).thenReturn(true);
+		when(listener.isDateTimeForNow()).thenReturn(true);
+		when(listener.getCurrentAuditor()).thenReturn(auditor);
+		when(listener.getCurrentDateTime()).thenReturn(now);
+
+		bulkUpdateAuditor = new BulkUpdateAuditor(listener);
+	}
+
+	@Test
+	public void addsModificationAuditingInformationToUpdate() {
+
+		Update update = Update.update("firstname", "Dave");
+		Update result = bulkUpdateAuditor.audit(update, AuditableUser.class, metamodel);
+
+		assertThat(result.getAssignments().get("firstname"), is((Object) "Dave"));
+		assertThat(result.getAssignments().get(BulkUpdateAuditor.LAST_MODIFIED_BY), is((Object) auditor));
+		assertThat(result.getAssignments().get(BulkUpdateAuditor.LAST_MODIFIED_DATE), is((Object) now.toDate()));
+		assertThat(update.getAssignments().size(), is(1));
+	}
+
+	@Test
+	public void keepsExplicitlyAssignedAuditingAttributes() {
+
+		Date date = new Date(0);
+		Update update = Update.update(BulkUpdateAuditor.LAST_MODIFIED_DATE, date);
+
+		Update result = bulkUpdateAuditor.audit(update, AuditableUser.class, metamodel);
+
+		assertThat(result.getAssignments().get(BulkUpdateAuditor.LAST_MODIFIED_DATE), is((Object) date));
+	}
+
+	@Test
+	public void onlyAuditsConfiguredInformation() {
+
+		when(listener.hasAuditorAware()).thenReturn(false);
+
+		List<SingularAttribute<?, ?>> attributes = bulkUpdateAuditor.getAuditedAttributes(AuditableUser.class, metamodel);
+
+		assertThat(attributes.size(), is(1));
+		assertThat(attributes.get(0), is((Object) lastModifiedDate));
+	}
+
+	@Test
+	public void doesNotAuditNonAuditableTypes() {
+
+		Update update = Update.update("firstname", "Dave");
+
+		assertThat(bulkUpdateAuditor.audit(update, User.class, metamodel), is(update));
+		verify(metamodel, never()).managedType(User.class);
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void bindsAuditingInformationToUnboundNamedParameters() {
+
+		when(firstname.getName()).thenReturn("firstname");
+		when(lastModifiedByParameter.getName()).thenReturn(BulkUpdateAuditor.LAST_MODIFIED_BY);
+		when(lastModifiedDateParameter.getName()).thenReturn(BulkUpdateAuditor.LAST_MODIFIED_DATE);
+		when(query.getParameters()).thenReturn(
+				new HashSet(Arrays.asList(firstname, lastModifiedByParameter, lastModifiedDateParameter)));
+		when(query.isBound(firstname)).thenReturn(true);
+		when(query.isBound(lastModifiedDateParameter)).thenReturn(true);
+
+		assertThat(bulkUpdateAuditor.bind(query, AuditableUser.class, metamodel), is(query));
+
+		verify(query).setParameter(BulkUpdateAuditor.LAST_MODIFIED_BY, auditor);
+		verify(query, never()).setParameter(eq(BulkUpdateAuditor.LAST_MODIFIED_DATE), any());
+		verify(query, never()).setParameter(eq("firstname"), any());
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void detectsUndeclaredAuditingParameters() {
+
+		when(firstname.getName()).thenReturn("firstname");
+		when(lastModifiedDateParameter.getName()).thenReturn(BulkUpdateAuditor.LAST_MODIFIED_DATE);
+		when(query.getParameters()).thenReturn(new HashSet(Arrays.asList(firstname, lastModifiedDateParameter)));
+
+		List<String> undeclared = bulkUpdateAuditor.getUndeclaredParameters(query, AuditableUser.class, metamodel);
+
+		assertThat(undeclared, is(Arrays.asList(BulkUpdateAuditor.LAST_MODIFIED_BY)));
+	}
+
+	@Test
+	public void doesNotBindAuditingInformationToQueriesNotDeclaringIt() {
+
+		when(query.getParameters()).thenReturn(new HashSet<Parameter<?>>());
+
+		assertThat(bulkUpdateAuditor.bind(query, AuditableUser.class, metamodel), is(query));
+
+		verify(query, never()).setParameter(anyString(), any());
+		verify(metamodel, never()).managedType(AuditableUser.class);
+	}
+}
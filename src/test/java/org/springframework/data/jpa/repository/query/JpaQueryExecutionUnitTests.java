@@ -19,15 +19,34 @@ import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.repository.query.JpaQueryExecution.CollectionExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.ModifyingExecution;
+import org.springframework.data.jpa.repository.query.JpaQueryExecution.PagedExecution;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Parameter;
+import org.springframework.data.repository.query.Parameters;
 
 /**
  * Unit test for {@link JpaQueryExecution}.
@@ -45,6 +64,14 @@ public class JpaQueryExecutionUnitTests {
 	Query query;
 	@Mock
 	JpaQueryMethod method;
+	@Mock
+	QueryExtractor extractor;
+	@Mock
+	PersistenceContextEvictor evictor;
+	@Mock
+	Metamodel metamodel;
+	@Mock
+	EntityType<User> entityType;
 
 	@Test(expected = IllegalArgumentException.class)
 	public void rejectsNullQuery() {
@@ -78,6 +105,7 @@ public class JpaQueryExecutionUnitTests {
 		when(query.executeUpdate()).thenReturn(0);
 		when(method.getReturnType()).thenReturn((Class) void.class);
 		when(jpaQuery.createQuery(Mockito.any(Object[].class))).thenReturn(query);
+		when(method.getQueryExtractor()).thenReturn(extractor);
 
 		ModifyingExecution execution = new ModifyingExecution(method, em);
 		execution.execute(jpaQuery, new Object[] {});
@@ -85,6 +113,27 @@ public class JpaQueryExecutionUnitTests {
 		verify(em, times(1)).clear();
 	}
 
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void modifyingExecutionEvictsModifiedEntityTypeOnly() {
+
+		when(query.executeUpdate()).thenReturn(0);
+		when(method.getReturnType()).thenReturn((Class) void.class);
+		when(method.getAnnotatedQuery()).thenReturn("update User u set u.firstname = ?1");
+		when(method.getQueryExtractor()).thenReturn(extractor);
+		when(method.getEvictor()).thenReturn(evictor);
+		when(jpaQuery.createQuery(Mockito.any(Object[].class))).thenReturn(query);
+		when(em.getMetamodel()).thenReturn(metamodel);
+		when(metamodel.getEntities()).thenReturn(Collections.<EntityType<?>> singleton(entityType));
+		when(entityType.getName()).thenReturn("User");
+		when(entityType.getJavaType()).thenReturn(User.class);
+
+		new ModifyingExecution(method, em).execute(jpaQuery, new Object[] {});
+
+		verify(evictor).evict(em, User.class);
+		verify(em, never()).clear();
+	}
+
 	@Test
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public void allowsMethodReturnTypesForModifyingQuery() throws Exception {
@@ -104,6 +153,140 @@ public class JpaQueryExecutionUnitTests {
 		new ModifyingExecution(method, em);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void executesCollectionQueryInChunksForOversizedCollectionParameter() throws Exception {
+
+		when(jpaQuery.createQuery(Mockito.any(Object[].class))).thenReturn(query);
+		when(jpaQuery.isBoundToInClauseOnly(Mockito.any(Parameter.class))).thenReturn(true);
+		when(query.getResultList()).thenReturn(Arrays.asList(1), Arrays.asList(2), Arrays.asList(3));
+
+		Object result = new CollectionExecution(getParameters(), 2).execute(jpaQuery, new Object[] { getIds(5) });
+
+		verify(jpaQuery, times(3)).createQuery(Mockito.any(Object[].class));
+		assertThat(result, is((Object) Arrays.<Object> asList(1, 2, 3)));
+	}
+
+	@Test
+	public void executesCollectionQueryOnceIfCollectionParameterDoesNotExceedChunkSize() throws Exception {
+
+		when(jpaQuery.createQuery(Mockito.any(Object[].class))).thenReturn(query);
+
+		new CollectionExecution(getParameters(), 5).execute(jpaQuery, new Object[] { getIds(5) });
+
+		verify(jpaQuery, times(1)).createQuery(Mockito.any(Object[].class));
+	}
+
+	@Test
+	public void doesNotChunkStaticallyOrderedQueries() throws Exception {
+
+		when(jpaQuery.createQuery(Mockito.any(Object[].class))).thenReturn(query);
+		when(jpaQuery.isStaticallyOrdered()).thenReturn(true);
+
+		new CollectionExecution(getParameters(), 2).execute(jpaQuery, new Object[] { getIds(5) });
+
+		verify(jpaQuery, times(1)).createQuery(Mockito.any(Object[].class));
+	}
+
+	@Test
+	public void executesQueryUnchunkedIfParameterIsNotBoundToInClauseOnly() throws Exception {
+
+		when(jpaQuery.createQuery(Mockito.any(Object[].class))).thenReturn(query);
+
+		Object[] values = new Object[] { getIds(5) };
+		new CollectionExecution(getParameters(), 2).execute(jpaQuery, values);
+
+		verify(jpaQuery, times(1)).createQuery(values);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void removesDuplicatesAcrossChunksForDistinctQueries() throws Exception {
+
+		when(jpaQuery.createQuery(Mockito.any(Object[].class))).thenReturn(query);
+		when(jpaQuery.isBoundToInClauseOnly(Mockito.any(Parameter.class))).thenReturn(true);
+		when(jpaQuery.isDistinct()).thenReturn(true);
+		when(query.getResultList()).thenReturn(Arrays.asList(1, 2), Arrays.asList(2, 3));
+
+		Object result = new CollectionExecution(getParameters(), 3).execute(jpaQuery, new Object[] { getIds(5) });
+
+		assertThat(result, is((Object) Arrays.<Object> asList(1, 2, 3)));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	@SuppressWarnings("unchecked")
+	public void rejectsSortThatCannotBeRestoredOnMergedChunks() throws Exception {
+
+		when(jpaQuery.createQuery(Mockito.any(Object[].class))).thenReturn(query);
+		when(jpaQuery.isBoundToInClauseOnly(Mockito.any(Parameter.class))).thenReturn(true);
+		when(jpaQuery.getSort(Mockito.any(Object[].class))).thenReturn(new Sort("lastname"));
+		when(query.getResultList()).thenReturn(Arrays.asList(1), Arrays.asList(2));
+
+		new CollectionExecution(getParameters(), 3).execute(jpaQuery, new Object[] { getIds(5) });
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void infersTotalFromIncompletePageWithoutCountQuery() throws Exception {
+
+		when(jpaQuery.createQuery(Mockito.any(Object[].class))).thenReturn(query);
+		when(query.getFirstResult()).thenReturn(10);
+		when(query.getMaxResults()).thenReturn(10);
+		when(query.getResultList()).thenReturn(Arrays.asList(1, 2, 3));
+
+		Page<Object> page = (Page<Object>) new PagedExecution(getPagedParameters(), null, true).execute(jpaQuery,
+				new Object[] { "Matthews", new PageRequest(1, 10) });
+
+		assertThat(page.getTotalElements(), is(13L));
+		verify(jpaQuery, never()).createCountQuery(Mockito.any(Object[].class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void executesCountQueryIfTotalCannotBeInferred() throws Exception {
+
+		TypedQuery<Long> countQuery = mock(TypedQuery.class);
+
+		when(jpaQuery.createQuery(Mockito.any(Object[].class))).thenReturn(query);
+		when(jpaQuery.createCountQuery(Mockito.any(Object[].class))).thenReturn(countQuery);
+		when(query.getMaxResults()).thenReturn(2);
+		when(query.getResultList()).thenReturn(Arrays.asList(1, 2));
+		when(countQuery.getResultList()).thenReturn(Arrays.asList(5L));
+
+		Page<Object> page = (Page<Object>) new PagedExecution(getPagedParameters(), null, true).execute(jpaQuery,
+				new Object[] { "Matthews", new PageRequest(0, 2) });
+
+		assertThat(page.getTotalElements(), is(5L));
+	}
+
+	private static Parameters getPagedParameters() throws Exception {
+
+		return new Parameters(SampleRepository.class.getMethod("findByLastname", String.class, Pageable.class));
+	}
+
+	private static Parameters getParameters() throws Exception {
+
+		return new Parameters(SampleRepository.class.getMethod("findByIdIn", Collection.class));
+	}
+
+	private static List<Integer> getIds(int number) {
+
+		List<Integer> ids = new ArrayList<Integer>();
+
+		for (int i = 0; i < number; i++) {
+			ids.add(i);
+		}
+
+		return ids;
+	}
+
+	interface SampleRepository extends Repository<User, Integer> {
+
+		List<User> findByIdIn(Collection<Integer> ids);
+
+		Page<User> findByLastname(String lastname, Pageable pageable);
+	}
+
 	static class StubQueryExecution extends JpaQueryExecution {
 
 		@Override
@@ -20,7 +20,9 @@ import static org.junit.Assert.*;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.concurrent.Future;
 
+import javax.persistence.FlushModeType;
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
 
@@ -32,7 +34,10 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.LockWait;
 import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.repository.FlushMode;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.sample.UserRepository;
 import org.springframework.data.repository.core.RepositoryMetadata;
@@ -198,6 +203,54 @@ public class JpaQueryMethodUnitTests {
 		assertThat(queryMethod.getNamedQueryName(), is("SpecialUser.findSpecialUsersByLastname"));
 	}
 
+	@Test
+	public void mergesDeclaredFlushModeWithDefaults() throws Exception {
+
+		JpaQueryOptions defaults = new JpaQueryOptions();
+		defaults.setFlushMode(FlushModeType.AUTO);
+		defaults.setTimeout(100);
+
+		Method method = ValidRepository.class.getMethod("findByLastname", String.class);
+		JpaQueryOptions options = new JpaQueryMethod(method, metadata, extractor, defaults).getQueryOptions();
+
+		assertThat(options.getFlushMode(), is(FlushModeType.COMMIT));
+		assertThat(options.getTimeout(), is(100));
+	}
+
+	@Test
+	public void considersFutureResultTypeForAsyncQueryMethods() throws Exception {
+
+		Method method = ValidRepository.class.getMethod("findAsyncByLastname", String.class);
+		JpaQueryMethod queryMethod = new JpaQueryMethod(method, metadata, extractor);
+
+		assertThat(queryMethod.isAsyncQuery(), is(true));
+		assertThat(queryMethod.isCollectionQuery(), is(true));
+		assertEquals(List.class, queryMethod.getReturnType());
+	}
+
+	@Test
+	public void considersLockWaitAndTimeoutDeclaredOnLock() throws Exception {
+
+		Method method = ValidRepository.class.getMethod("findByFirstname", String.class);
+		JpaQueryMethod queryMethod = new JpaQueryMethod(method, metadata, extractor);
+		JpaQueryOptions options = queryMethod.getQueryOptions();
+
+		assertThat(queryMethod.getLockMode(), is(LockModeType.PESSIMISTIC_WRITE));
+		assertThat(options.getLockWait(), is(LockWait.NO_WAIT));
+		assertThat(options.getLockTimeout(), is(500));
+	}
+
+	static interface ValidRepository {
+
+		Future<List<User>> findAsyncByLastname(String lastname);
+
+		@Lock(value = LockModeType.PESSIMISTIC_WRITE, lockWait = LockWait.NO_WAIT, timeout = 500)
+		List<User> findByFirstname(String firstname);
+
+		@FlushMode(FlushModeType.COMMIT)
+		List<User> findByLastname(String lastname);
+	}
+
 	/**
 	 * Interface to define invalid repository methods for testing.
 	 * 
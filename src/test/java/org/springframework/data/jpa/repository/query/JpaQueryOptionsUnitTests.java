@@ -0,0 +1,274 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+
+import javax.persistence.FlushModeType;
+import javax.persistence.LockModeType;
+import javax.persistence.Query;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.jpa.domain.LockWait;
+import org.springframework.data.jpa.repository.QueryOptions;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for {@link JpaQueryOptions}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class JpaQueryOptionsUnitTests {
+
+	@Mock
+	Query query;
+	@Mock
+	QueryHintResolver resolver;
+
+	@Test
+	public void createsEmptyOptionsFromNullAnnotation() {
+
+		JpaQueryOptions options = JpaQueryOptions.from(null);
+
+		assertThat(options.getFetchSize(), is(nullValue()));
+		assertThat(options.getTimeout(), is(nullValue()));
+		assertThat(options.getMaxRows(), is(nullValue()));
+	}
+
+	@Test
+	public void ignoresNegativeAnnotationValues() throws Exception {
+
+		QueryOptions annotation = Sample.class.getMethod("fetchSizeOnly").getAnnotation(QueryOptions.class);
+		JpaQueryOptions options = JpaQueryOptions.from(annotation);
+
+		assertThat(options.getFetchSize(), is(100));
+		assertThat(options.getTimeout(), is(nullValue()));
+		assertThat(options.getMaxRows(), is(nullValue()));
+	}
+
+	@Test
+	public void prefersOwnSettingsOverDefaults() {
+
+		JpaQueryOptions options = new JpaQueryOptions();
+		options.setFetchSize(100);
+
+		JpaQueryOptions defaults = new JpaQueryOptions();
+		defaults.setFetchSize(10);
+		defaults.setTimeout(500);
+
+		JpaQueryOptions result = options.mergeWith(defaults);
+
+		assertThat(result.getFetchSize(), is(100));
+		assertThat(result.getTimeout(), is(500));
+		assertThat(result.getMaxRows(), is(nullValue()));
+	}
+
+	@Test
+	public void appliesProviderSpecificFetchSizeHintAndTimeout() {
+
+		when(resolver.getFetchSizeHint()).thenReturn("fetchSize");
+
+		JpaQueryOptions options = new JpaQueryOptions();
+		options.setFetchSize(100);
+		options.setTimeout(500);
+
+		options.applyTo(query, resolver);
+
+		verify(query).setHint("fetchSize", 100);
+		verify(query).setHint(JpaQueryOptions.TIMEOUT_HINT, 500);
+	}
+
+	@Test
+	public void skipsFetchSizeIfProviderDoesNotSupportIt() {
+
+		JpaQueryOptions options = new JpaQueryOptions();
+		options.setFetchSize(100);
+
+		options.applyTo(query, resolver);
+
+		verify(query, never()).setHint(anyString(), anyObject());
+	}
+
+	@Test
+	public void onlyNarrowsDownMaxResults() {
+
+		when(query.getMaxResults()).thenReturn(Integer.MAX_VALUE, 10);
+
+		JpaQueryOptions options = new JpaQueryOptions();
+		options.setMaxRows(20);
+
+		options.applyTo(query, resolver);
+		options.applyTo(query, resolver);
+
+		verify(query, times(1)).setMaxResults(20);
+	}
+
+	@Test
+	public void appliesReadOnlyHintIfConfigured() throws Exception {
+
+		when(resolver.getReadOnlyHint()).thenReturn("readOnly");
+
+		QueryOptions annotation = Sample.class.getMethod("readOnly").getAnnotation(QueryOptions.class);
+		JpaQueryOptions.from(annotation).applyTo(query, resolver);
+
+		verify(query).setHint("readOnly", true);
+	}
+
+	@Test
+	public void appliesReadOnlyHintInReadOnlyTransactionsOnly() {
+
+		when(resolver.getReadOnlyHint()).thenReturn("readOnly");
+
+		JpaQueryOptions options = new JpaQueryOptions();
+		options.setReadOnlyInReadOnlyTransactions(true);
+
+		options.applyTo(query, resolver);
+		verify(query, never()).setHint("readOnly", true);
+
+		try {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+			options.applyTo(query, resolver);
+		} finally {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+
+		verify(query).setHint("readOnly", true);
+	}
+
+	@Test
+	public void explicitReadOnlyFlagOverridesTransactionSetting() {
+
+		when(resolver.getReadOnlyHint()).thenReturn("readOnly");
+
+		JpaQueryOptions options = new JpaQueryOptions();
+		options.setReadOnly(false);
+		options.setReadOnlyInReadOnlyTransactions(true);
+
+		try {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+			options.applyTo(query, resolver);
+		} finally {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+
+		verify(query, never()).setHint("readOnly", true);
+	}
+
+	@Test
+	public void exposesReadOnlyHintForLookupsById() {
+
+		when(resolver.getReadOnlyHint()).thenReturn("readOnly");
+
+		JpaQueryOptions options = new JpaQueryOptions();
+		assertThat(options.getFindHints(resolver).isEmpty(), is(true));
+
+		options.setReadOnly(true);
+		assertThat(options.getFindHints(resolver).get("readOnly"), is((Object) true));
+	}
+
+	@Test
+	public void appliesFlushMode() {
+
+		JpaQueryOptions options = new JpaQueryOptions();
+		options.setFlushMode(FlushModeType.COMMIT);
+
+		options.applyTo(query, resolver);
+
+		verify(query).setFlushMode(FlushModeType.COMMIT);
+	}
+
+	@Test
+	public void appliesQueryCacheAndLockTimeoutHints() throws Exception {
+
+		when(resolver.getQueryCacheHint()).thenReturn("cacheable");
+		when(resolver.getLockTimeoutHint()).thenReturn("lockTimeout");
+
+		QueryOptions annotation = Sample.class.getMethod("cacheableWithLockTimeout").getAnnotation(QueryOptions.class);
+		JpaQueryOptions.from(annotation).applyTo(query, resolver);
+
+		verify(query).setHint("cacheable", true);
+		verify(query).setHint("lockTimeout", 200);
+	}
+
+	@Test
+	public void appliesLockWaitHintsAfterLockTimeout() {
+
+		when(query.getLockMode()).thenReturn(LockModeType.PESSIMISTIC_WRITE);
+		when(resolver.getLockTimeoutHint()).thenReturn("lockTimeout");
+		when(resolver.getLockWaitHints(LockWait.NO_WAIT)).thenReturn(
+				Collections.<String, Object> singletonMap("lockTimeout", 0));
+
+		JpaQueryOptions options = new JpaQueryOptions();
+		options.setLockTimeout(200);
+		options.setLockWait(LockWait.NO_WAIT);
+		options.applyTo(query, resolver);
+
+		InOrder inOrder = inOrder(query);
+		inOrder.verify(query).setHint("lockTimeout", 200);
+		inOrder.verify(query).setHint("lockTimeout", 0);
+	}
+
+	@Test
+	public void doesNotApplyLockWaitHintsWithoutPessimisticLockMode() {
+
+		JpaQueryOptions options = new JpaQueryOptions();
+		options.setLockWait(LockWait.NO_WAIT);
+
+		when(query.getLockMode()).thenReturn(LockModeType.OPTIMISTIC);
+		options.applyTo(query, resolver);
+
+		when(query.getLockMode()).thenThrow(new IllegalStateException());
+		options.applyTo(query, resolver);
+
+		verify(resolver, never()).getLockWaitHints(LockWait.NO_WAIT);
+		verify(query, never()).setHint(anyString(), any());
+	}
+
+	@Test
+	public void mergesLockWaitWithDefaults() {
+
+		JpaQueryOptions defaults = new JpaQueryOptions();
+		defaults.setLockWait(LockWait.NO_WAIT);
+
+		assertThat(new JpaQueryOptions().mergeWith(defaults).getLockWait(), is(LockWait.NO_WAIT));
+
+		JpaQueryOptions options = new JpaQueryOptions();
+		options.setLockWait(LockWait.WAIT);
+
+		assertThat(options.mergeWith(defaults).getLockWait(), is(LockWait.WAIT));
+	}
+
+	interface Sample {
+
+		@QueryOptions(fetchSize = 100)
+		void fetchSizeOnly();
+
+		@QueryOptions(readOnly = true)
+		void readOnly();
+
+		@QueryOptions(cacheable = true, lockTimeout = 200)
+		void cacheableWithLockTimeout();
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for {@link ParallelCountExecutor}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ParallelCountExecutorUnitTests {
+
+	@Mock
+	PlatformTransactionManager transactionManager;
+	@Mock
+	Executor executor;
+
+	Callable<List<String>> content = new Callable<List<String>>() {
+
+		public List<String> call() {
+			return Arrays.asList("Dave", "Carter");
+		}
+	};
+
+	@Before
+	public void setUp() {
+
+		when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(
+				new SimpleTransactionStatus());
+	}
+
+	@After
+	public void tearDown() {
+
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullExecutor() {
+
+		new ParallelCountExecutor(null, transactionManager);
+	}
+
+	@Test
+	public void executesCountQueryOnExecutorInReadOnlyTransaction() {
+
+		final Thread caller = Thread.currentThread();
+
+		Executor executor = new Executor() {
+
+			public void execute(Runnable command) {
+				new Thread(command).start();
+			}
+		};
+
+		Callable<Long> count = new Callable<Long>() {
+
+			public Long call() {
+				return Thread.currentThread() == caller ? 0L : 42L;
+			}
+		};
+
+		Page<String> page = new ParallelCountExecutor(executor, transactionManager).readPage(content, count,
+				new PageRequest(0, 2));
+
+		assertThat(page.getContent(), is(Arrays.asList("Dave", "Carter")));
+		assertThat(page.getTotalElements(), is(42L));
+
+		ArgumentCaptor<TransactionDefinition> captor = ArgumentCaptor.forClass(TransactionDefinition.class);
+		verify(transactionManager).getTransaction(captor.capture());
+		assertThat(captor.getValue().isReadOnly(), is(true));
+	}
+
+	@Test
+	public void executesQueriesSequentiallyInsideReadWriteTransaction() {
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		Page<String> page = new ParallelCountExecutor(executor, transactionManager).readPage(content, new Callable<Long>() {
+
+			public Long call() {
+				return 2L;
+			}
+		}, new PageRequest(0, 2));
+
+		assertThat(page.getTotalElements(), is(2L));
+		verifyZeroInteractions(executor, transactionManager);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void propagatesCountQueryException() {
+
+		Executor executor = new Executor() {
+
+			public void execute(Runnable command) {
+				command.run();
+			}
+		};
+
+		new ParallelCountExecutor(executor, transactionManager).readPage(content, new Callable<Long>() {
+
+			public Long call() {
+				throw new IllegalStateException();
+			}
+		}, new PageRequest(0, 2));
+	}
+}
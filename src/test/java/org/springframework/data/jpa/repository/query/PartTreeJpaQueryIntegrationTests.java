@@ -15,9 +15,14 @@
  */
 package org.springframework.data.jpa.repository.query;
 
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
 import java.lang.reflect.Method;
+import java.util.List;
 
 import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
 import javax.persistence.PersistenceContext;
 
 import org.junit.Rule;
@@ -28,11 +33,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.repository.FetchJoins;
+import org.springframework.data.jpa.repository.FlushMode;
+import org.springframework.data.jpa.repository.QueryOptions;
 import org.springframework.data.jpa.repository.support.PersistenceProvider;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Integration tests for {@link PartTreeJpaQuery}.
@@ -79,6 +88,82 @@ public class PartTreeJpaQueryIntegrationTests {
 		testIgnoreCase("findByIdAllIgnoringCase", 3);
 	}
 
+	@Test
+	public void rejectsFetchJoinForUnknownProperty() throws Exception {
+
+		thrown.expect(IllegalArgumentException.class);
+		thrown.expectMessage("foo");
+		createQuery("findWithUnknownByLastname", String.class);
+	}
+
+	@Test
+	public void rejectsFetchJoinForNonAssociation() throws Exception {
+
+		thrown.expect(IllegalArgumentException.class);
+		thrown.expectMessage("firstname");
+		createQuery("findWithFirstnameByLastname", String.class);
+	}
+
+	@Test
+	public void rejectsCollectionFetchForPaginatedQueryMethod() throws Exception {
+
+		thrown.expect(IllegalStateException.class);
+		thrown.expectMessage("must not fetch collections");
+		createQuery("findWithRolesByFirstname", String.class, Pageable.class);
+	}
+
+	@Test
+	public void considersQueryDistinctForCollectionFetch() throws Exception {
+
+		assertThat(createQuery("findWithRolesByLastname", String.class).isDistinct(), is(true));
+	}
+
+	@Test
+	@Transactional
+	@SuppressWarnings("unchecked")
+	public void doesNotFlushChangesToEntitiesLoadedReadOnly() throws Exception {
+
+		User user = new User("Dave", "Matthews", "dave@matthews.com");
+		entityManager.persist(user);
+		entityManager.flush();
+		entityManager.clear();
+
+		List<User> result = createQuery("findByLastname", String.class).createQuery(new Object[] { "Matthews" })
+				.getResultList();
+		assertThat(result.size(), is(1));
+
+		result.get(0).setFirstname("Carter");
+		entityManager.flush();
+		entityManager.clear();
+
+		assertThat(entityManager.find(User.class, user.getId()).getFirstname(), is("Dave"));
+	}
+
+	@Test
+	@Transactional
+	public void doesNotFlushPendingChangesForCommitFlushMode() throws Exception {
+
+		User user = new User("Dave", "Matthews", "dave@matthews.com");
+		entityManager.persist(user);
+		entityManager.flush();
+
+		user.setFirstname("Carter");
+
+		Object[] parameters = new Object[] { "Carter" };
+		assertThat(createQuery("findByFirstname", String.class).createQuery(parameters).getResultList().isEmpty(),
+				is(true));
+		assertThat(createQuery("findByFirstnameIgnoringCase", String.class).createQuery(parameters).getResultList()
+				.size(), is(1));
+	}
+
+	private PartTreeJpaQuery createQuery(String methodName, Class<?>... parameterTypes) throws Exception {
+
+		Method method = UserRepository.class.getMethod(methodName, parameterTypes);
+		JpaQueryMethod queryMethod = new JpaQueryMethod(method, new DefaultRepositoryMetadata(UserRepository.class),
+				PersistenceProvider.fromEntityManager(entityManager));
+		return new PartTreeJpaQuery(queryMethod, entityManager);
+	}
+
 	private void testIgnoreCase(String methodName, Object... values) throws Exception {
 
 		Class<?>[] parameterTypes = new Class[values.length];
@@ -99,5 +184,25 @@ public class PartTreeJpaQueryIntegrationTests {
 		User findByIdIgnoringCase(Integer id);
 
 		User findByIdAllIgnoringCase(Integer id);
+
+		@FetchJoins("foo")
+		List<User> findWithUnknownByLastname(String lastname);
+
+		@FetchJoins("firstname")
+		List<User> findWithFirstnameByLastname(String lastname);
+
+		@FetchJoins({ "manager", "manager.roles" })
+		List<User> findWithRolesByLastname(String lastname);
+
+		@FetchJoins("roles")
+		Page<User> findWithRolesByFirstname(String firstname, Pageable pageable);
+
+		@QueryOptions(readOnly = true)
+		List<User> findByLastname(String lastname);
+
+		@FlushMode(FlushModeType.COMMIT)
+		List<User> findByFirstname(String firstname);
+
+		List<User> findByFirstnameIgnoringCase(String firstname);
 	}
 }
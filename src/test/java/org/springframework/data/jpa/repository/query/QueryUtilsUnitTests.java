@@ -17,10 +17,23 @@ package org.springframework.data.jpa.repository.query;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 import static org.springframework.data.jpa.repository.query.QueryUtils.*;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.Query;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+
 import org.hamcrest.Matcher;
 import org.junit.Test;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.repository.query.Parameter;
+import org.springframework.data.repository.query.Parameters;
 
 /**
  * Unit test for {@link QueryUtils}.
@@ -130,8 +143,80 @@ public class QueryUtilsUnitTests {
 		assertCountQuery(FQ_QUERY, "select count(u) from org.acme.domain.User$Foo_Bar u");
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void detectsEntityTypeModifiedByBulkStatements() {
+
+		EntityType<User> type = mock(EntityType.class);
+		when(type.getName()).thenReturn("User");
+		when(type.getJavaType()).thenReturn(User.class);
+
+		Metamodel metamodel = mock(Metamodel.class);
+		when(metamodel.getEntities()).thenReturn(Collections.<EntityType<?>> singleton(type));
+
+		assertThat(getModifiedEntityType("update User u set u.firstname = ?1", metamodel), is((Object) User.class));
+		assertThat(getModifiedEntityType("delete from User u", metamodel), is((Object) User.class));
+		assertThat(getModifiedEntityType("DELETE User u where u.id = ?1", metamodel), is((Object) User.class));
+		assertThat(getModifiedEntityType(QUERY, metamodel), is(nullValue()));
+		assertThat(getModifiedEntityType("delete from Role r", metamodel), is(nullValue()));
+	}
+
+	@Test
+	public void detectsUpdateQueries() {
+
+		assertThat(isUpdateQuery("update User u set u.firstname = ?1"), is(true));
+		assertThat(isUpdateQuery(" UPDATE User u set u.firstname = ?1"), is(true));
+		assertThat(isUpdateQuery("delete from User u"), is(false));
+		assertThat(isUpdateQuery(QUERY), is(false));
+		assertThat(isUpdateQuery(null), is(false));
+	}
+
+	@Test
+	public void infersTotalFromIncompletePagesOnly() {
+
+		Query query = mock(Query.class);
+		when(query.getFirstResult()).thenReturn(20);
+		when(query.getMaxResults()).thenReturn(10);
+
+		assertThat(inferTotal(query, Arrays.asList(1, 2, 3)), is(23L));
+		assertThat(inferTotal(query, Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)), is(nullValue()));
+		assertThat(inferTotal(query, Collections.emptyList()), is(nullValue()));
+
+		when(query.getFirstResult()).thenReturn(0);
+		assertThat(inferTotal(query, Collections.emptyList()), is(0L));
+	}
+
+	@Test
+	public void detectsParametersBoundToInClausesOnly() throws Exception {
+
+		Parameters parameters = new Parameters(Sample.class.getMethod("findBy", Collection.class, Collection.class));
+		Parameter first = parameters.getParameter(0);
+
+		assertThat(isBoundToInClauseOnly("select u from User u where u.id in ?1", parameters, first), is(true));
+		assertThat(isBoundToInClauseOnly("select u from User u where u.id in (?1) and u.age > ?2", parameters, first),
+				is(true));
+		assertThat(isBoundToInClauseOnly("select u from User u where u.id not in ?1", parameters, first), is(false));
+		assertThat(isBoundToInClauseOnly("select u from User u where u.id in ?1 or u.manager.id = ?1", parameters, first),
+				is(false));
+		assertThat(isBoundToInClauseOnly("select u from User u where u.id in ?10", parameters, first), is(false));
+	}
+
+	@Test
+	public void detectsDistinctQueries() {
+
+		assertThat(isDistinctQuery("select distinct u from User u"), is(true));
+		assertThat(isDistinctQuery(" SELECT DISTINCT(u.lastname) from User u"), is(true));
+		assertThat(isDistinctQuery(QUERY), is(false));
+		assertThat(isDistinctQuery(null), is(false));
+	}
+
 	private void assertCountQuery(String originalQuery, String countQuery) {
 
 		assertThat(createCountQueryFor(originalQuery), is(countQuery));
 	}
+
+	interface Sample {
+
+		List<User> findBy(Collection<Integer> ids, Collection<Integer> ages);
+	}
 }
@@ -73,6 +73,7 @@ public class SimpleJpaQueryUnitTests {
 
 		method = mock(JpaQueryMethod.class);
 		when(method.getCountQuery()).thenReturn("foo");
+		when(method.getQueryOptions()).thenReturn(new JpaQueryOptions());
 		when(method.getParameters()).thenReturn(
 				new Parameters(SimpleJpaQueryUnitTests.class.getMethod("prefersDeclaredCountQueryOverCreatingOne")));
 		when(em.createQuery("foo", Long.class)).thenReturn(query);
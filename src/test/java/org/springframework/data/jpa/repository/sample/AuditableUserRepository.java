@@ -19,6 +19,9 @@ import java.util.List;
 
 import org.springframework.data.jpa.domain.sample.AuditableUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository interface for {@code AuditableUser}.
@@ -34,4 +37,17 @@ public interface AuditableUserRepository extends JpaRepository<AuditableUser, Lo
 	 * @return all users with the given firstname.
 	 */
 	public List<AuditableUser> findByFirstname(final String firstname);
+
+	/**
+	 * Sets the firstname of the user with the given id using a bulk update. Opts into bulk update auditing by assigning
+	 * the {@code :lastModifiedBy} and {@code :lastModifiedDate} parameters.
+	 * 
+	 * @param firstname
+	 * @param id
+	 * @return the number of users updated.
+	 */
+	@Modifying
+	@Query("update AuditableUser u set u.firstname = :firstname, u.lastModifiedBy = :lastModifiedBy, "
+			+ "u.lastModifiedDate = :lastModifiedDate where u.id = :id")
+	int updateFirstname(@Param("firstname") String firstname, @Param("id") Long id);
 }
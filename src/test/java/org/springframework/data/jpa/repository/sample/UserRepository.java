@@ -17,6 +17,7 @@ package org.springframework.data.jpa.repository.sample;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Future;
 
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
@@ -26,6 +27,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.sample.SpecialUser;
 import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.repository.FetchJoins;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
@@ -203,4 +205,18 @@ public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecifi
 	 */
 	@Query("select u.lastname from User u group by u.lastname")
 	Page<String> findByLastnameGrouped(Pageable pageable);
+
+	/**
+	 * Derived query fetching the {@link User}'s roles and manager along with the user.
+	 */
+	@FetchJoins({ "roles", "manager" })
+	List<User> findWithRolesAndManagerByLastname(String lastname);
+
+	@FetchJoins("manager")
+	Page<User> findWithManagerByFirstname(String firstname, Pageable pageable);
+
+	/**
+	 * Query method executed asynchronously.
+	 */
+	Future<List<User>> findAsyncByLastname(String lastname);
 }
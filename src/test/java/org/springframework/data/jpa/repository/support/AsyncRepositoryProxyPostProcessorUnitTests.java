@@ -0,0 +1,129 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.data.jpa.repository.support.AsyncRepositoryProxyPostProcessor.AsyncExecutionMethodInterceptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Unit tests for {@link AsyncRepositoryProxyPostProcessor}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncRepositoryProxyPostProcessorUnitTests {
+
+	@Mock
+	BeanFactory beanFactory;
+	@Mock
+	PlatformTransactionManager transactionManager;
+	@Mock
+	MethodInvocation invocation;
+
+	@Before
+	public void setUp() {
+
+		when(beanFactory.getBean("transactionManager", PlatformTransactionManager.class)).thenReturn(transactionManager);
+		when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(
+				new SimpleTransactionStatus());
+	}
+
+	@Test
+	public void invokesNonFutureMethodsDirectly() throws Throwable {
+
+		when(invocation.getMethod()).thenReturn(Sample.class.getMethod("findByLastname", String.class));
+		when(invocation.proceed()).thenReturn("result");
+
+		assertThat(getInterceptor(null).invoke(invocation), is((Object) "result"));
+		verifyZeroInteractions(transactionManager);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void executesFutureMethodsOnExecutorInReadOnlyTransaction() throws Throwable {
+
+		final Thread caller = Thread.currentThread();
+
+		when(invocation.getMethod()).thenReturn(Sample.class.getMethod("findAsyncByLastname", String.class));
+		when(invocation.proceed()).thenAnswer(new Answer<Object>() {
+
+			public Object answer(InvocationOnMock mock) throws Throwable {
+				return Thread.currentThread() == caller ? "caller" : "worker";
+			}
+		});
+
+		Executor executor = new Executor() {
+
+			public void execute(Runnable command) {
+				Thread thread = new Thread(command);
+				thread.start();
+			}
+		};
+
+		Future<Object> result = (Future<Object>) getInterceptor(executor).invoke(invocation);
+
+		assertThat(result.get(), is((Object) "worker"));
+
+		ArgumentCaptor<TransactionDefinition> captor = ArgumentCaptor.forClass(TransactionDefinition.class);
+		verify(transactionManager).getTransaction(captor.capture());
+		assertThat(captor.getValue().isReadOnly(), is(true));
+	}
+
+	@Test
+	public void executesFutureMethodsSynchronouslyIfNoExecutorConfigured() throws Throwable {
+
+		when(invocation.getMethod()).thenReturn(Sample.class.getMethod("findAsyncByLastname", String.class));
+		when(invocation.proceed()).thenReturn("result");
+
+		Future<?> result = (Future<?>) getInterceptor(null).invoke(invocation);
+
+		assertThat(result.isDone(), is(true));
+		assertThat(result.get(), is((Object) "result"));
+	}
+
+	private AsyncExecutionMethodInterceptor getInterceptor(Executor executor) {
+
+		return new AsyncExecutionMethodInterceptor(executor, beanFactory, "transactionManager");
+	}
+
+	interface Sample {
+
+		List<String> findByLastname(String lastname);
+
+		Future<List<String>> findAsyncByLastname(String lastname);
+	}
+}
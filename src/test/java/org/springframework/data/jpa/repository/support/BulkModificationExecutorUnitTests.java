@@ -0,0 +1,246 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.jpa.domain.ChunkListener;
+import org.springframework.data.jpa.domain.Chunking;
+import org.springframework.data.jpa.domain.Increment;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.Update;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Unit tests for {@link BulkModificationExecutor}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BulkModificationExecutorUnitTests {
+
+	@Mock
+	JpaEntityInformation<User, Integer> information;
+	@Mock
+	SingularAttribute<User, Integer> idAttribute;
+	@Mock
+	EntityManager em;
+	@Mock
+	EntityManagerFactory factory;
+	@Mock
+	Query query;
+	@Mock
+	PlatformTransactionManager transactionManager;
+	@Mock
+	ChunkListener listener;
+	@Mock
+	Metamodel metamodel;
+	@Mock
+	EntityType<User> type;
+	@Mock
+	SingularAttribute<User, String> firstnameAttribute;
+	@Mock
+	SingularAttribute<User, Long> versionAttribute;
+	@Mock
+	SingularAttribute<User, Integer> ageAttribute;
+
+	BulkModificationExecutor<User> executor;
+
+	@Before
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void setUp() {
+
+		when(information.getJavaType()).thenReturn(User.class);
+		when(information.getEntityName()).thenReturn("User");
+		when(information.getIdAttribute()).thenReturn((SingularAttribute) idAttribute);
+		when(idAttribute.getName()).thenReturn("id");
+
+		when(em.getEntityManagerFactory()).thenReturn(factory);
+		when(em.createQuery(anyString())).thenReturn(query);
+		when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(
+				new SimpleTransactionStatus());
+
+		executor = new BulkModificationExecutor<User>(information, em, PersistenceProvider.GENERIC_JPA);
+	}
+
+	@Test
+	public void executesNothingForEmptyIds() {
+
+		assertThat(executor.delete(Arrays.asList()), is(0));
+		verify(em, never()).createQuery(anyString());
+	}
+
+	@Test
+	public void restrictsStatementToGivenIds() {
+
+		when(query.executeUpdate()).thenReturn(2);
+
+		assertThat(executor.delete(Arrays.asList(1, 2)), is(2));
+
+		verify(em).createQuery("delete from User x where x.id in (?1, ?2)");
+		verify(query).setParameter(1, 1);
+		verify(query).setParameter(2, 2);
+	}
+
+	@Test
+	public void executesChunksInSeparateTransactions() {
+
+		when(query.executeUpdate()).thenAnswer(new Answer<Integer>() {
+
+			int invocations = 0;
+
+			public Integer answer(InvocationOnMock invocation) {
+				return ++invocations < 3 ? 2 : 1;
+			}
+		});
+
+		List<Integer> ids = Arrays.asList(1, 2, 3, 4, 5);
+		int result = executor.delete(ids, Chunking.of(2).withListener(listener), new TransactionTemplate(
+				transactionManager));
+
+		assertThat(result, is(5));
+		verify(transactionManager, times(3)).getTransaction(any(TransactionDefinition.class));
+		verify(listener).chunkProcessed(2, 2, 5);
+		verify(listener).chunkProcessed(2, 4, 5);
+		verify(listener).chunkProcessed(1, 5, 5);
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void selectsIdsOfEachChunkInsideItsTransaction() {
+
+		CriteriaBuilder builder = mock(CriteriaBuilder.class, RETURNS_DEEP_STUBS);
+		TypedQuery<Object> idQuery = mock(TypedQuery.class);
+
+		when(idAttribute.getJavaType()).thenReturn(Integer.class);
+		when(em.getCriteriaBuilder()).thenReturn(builder);
+		when(em.createQuery(any(CriteriaQuery.class))).thenReturn((TypedQuery) idQuery);
+		when(idQuery.setMaxResults(anyInt())).thenReturn(idQuery);
+		when(idQuery.getResultList()).thenReturn(Arrays.<Object> asList(1, 2), Arrays.<Object> asList(3));
+		when(query.executeUpdate()).thenReturn(2, 1);
+
+		int result = executor.delete((Specification<User>) null, Chunking.of(2), new TransactionTemplate(
+				transactionManager));
+
+		assertThat(result, is(3));
+		verify(transactionManager, times(2)).getTransaction(any(TransactionDefinition.class));
+		verify(em).createQuery("delete from User x where x.id in (?1, ?2)");
+		verify(em).createQuery("delete from User x where x.id in (?1)");
+	}
+
+	@Test
+	public void restrictsVersionCheckedUpdateToExpectedVersion() {
+
+		prepareUpdate();
+		when(query.executeUpdate()).thenReturn(1);
+
+		assertThat(executor.update(Update.update("firstname", "Dave"), 1, 3L), is(true));
+
+		verify(em).createQuery(
+				"update User x set x.firstname = ?1, x.version = x.version + 1 where x.version = ?2 and (x.id in (?3))");
+		verify(query).setParameter(1, "Dave");
+		verify(query).setParameter(2, 3L);
+		verify(query).setParameter(3, 1);
+	}
+
+	@Test
+	public void reportsStaleVersionAsNotUpdated() {
+
+		prepareUpdate();
+		when(query.executeUpdate()).thenReturn(0);
+
+		assertThat(executor.update(Update.update("firstname", "Dave"), 1, 3L), is(false));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsVersionCheckedUpdateOfUnversionedEntity() {
+
+		executor.update(Update.update("firstname", "Dave"), 1, 3L);
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void checksBoundsOfIncrementInWhereClause() {
+
+		prepareUpdate();
+		when(ageAttribute.getName()).thenReturn("age");
+		when(ageAttribute.getJavaType()).thenReturn(int.class);
+		when(type.getSingularAttribute("age")).thenReturn((SingularAttribute) ageAttribute);
+		when(query.executeUpdate()).thenReturn(1);
+
+		assertThat(executor.increment(Increment.increment("age", -2L).withMinimum("age", 0), 1), is(true));
+
+		verify(em).createQuery("update User x set x.age = x.age + ?1, x.version = x.version + 1 "
+				+ "where x.age + ?1 >= ?2 and (x.id in (?3))");
+		verify(query).setParameter(1, -2);
+		verify(query).setParameter(2, 0);
+		verify(query).setParameter(3, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsIncrementOfNonNumericAttribute() {
+
+		prepareUpdate();
+		executor.increment(Increment.increment("firstname", 1), 1);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void prepareUpdate() {
+
+		when(em.getMetamodel()).thenReturn(metamodel);
+		when(metamodel.entity(User.class)).thenReturn(type);
+
+		when(firstnameAttribute.getName()).thenReturn("firstname");
+		when(firstnameAttribute.getJavaType()).thenReturn(String.class);
+		when(type.getSingularAttribute("firstname")).thenReturn((SingularAttribute) firstnameAttribute);
+
+		when(versionAttribute.getName()).thenReturn("version");
+		when(versionAttribute.getJavaType()).thenReturn(Long.class);
+		when(versionAttribute.isVersion()).thenReturn(true);
+		when(type.hasVersionAttribute()).thenReturn(true);
+		when(type.getSingularAttributes()).thenReturn((Set) Collections.singleton(versionAttribute));
+		when(information.getVersionAttribute()).thenReturn((SingularAttribute) versionAttribute);
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.Set;
+
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.jpa.domain.sample.User;
+
+/**
+ * Unit tests for {@link FetchJoinConverter}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FetchJoinConverterUnitTests {
+
+	@Mock
+	Root<User> root;
+	@Mock
+	Join<Object, Object> join;
+	@Mock
+	Attribute<Object, Object> attribute;
+	@Mock
+	Path<Object> path;
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void turnsFetchesIntoJoins() {
+
+		when((Join) root.join("roles", JoinType.LEFT)).thenReturn(join);
+		when((Attribute) join.getAttribute()).thenReturn(attribute);
+		when(attribute.isCollection()).thenReturn(true);
+
+		FetchJoinConverter converter = new FetchJoinConverter();
+		Root<User> view = converter.convert(root);
+
+		Fetch<User, Object> fetch = view.fetch("roles", JoinType.LEFT);
+
+		verify(root).join("roles", JoinType.LEFT);
+		verify(root, never()).fetch("roles", JoinType.LEFT);
+		assertThat(fetch.getAttribute(), is((Object) attribute));
+		assertThat(view.getFetches().isEmpty(), is(true));
+		assertThat(converter.hasJoinedCollection(), is(true));
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void delegatesOtherCallsToRoot() {
+
+		when((Path) root.get("lastname")).thenReturn(path);
+
+		assertThat(new FetchJoinConverter().convert(root).get("lastname"), is((Object) path));
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void detectsFetchesOfJoins() {
+
+		when(root.getFetches()).thenReturn(Collections.<Fetch<User, ?>> emptySet());
+		when(root.getJoins()).thenReturn((Set) Collections.singleton(join));
+		when(join.getFetches()).thenReturn((Set) Collections.singleton(mock(Fetch.class)));
+
+		assertThat(FetchJoinConverter.hasFetches(root), is(true));
+	}
+}
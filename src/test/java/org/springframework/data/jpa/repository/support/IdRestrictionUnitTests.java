@@ -0,0 +1,125 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.jpa.domain.sample.SampleWithIdClass;
+import org.springframework.data.jpa.domain.sample.SampleWithIdClassPK;
+import org.springframework.data.jpa.repository.query.ProviderCapabilities;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link IdRestriction}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class IdRestrictionUnitTests {
+
+	@Mock
+	JpaEntityInformation<SampleWithIdClass, SampleWithIdClassPK> information;
+	@Mock
+	SingularAttribute idAttribute;
+	@Mock
+	EntityManager em;
+	@Mock
+	ProviderCapabilities capabilities;
+
+	@Before
+	public void setUp() {
+
+		when(idAttribute.getName()).thenReturn("id");
+		when(information.getIdAttributeNames()).thenReturn(Arrays.asList("first", "second"));
+		when(information.getCompositeIdAttributeValue(Matchers.any(Serializable.class), Matchers.anyString())).thenAnswer(
+				new Answer<Object>() {
+
+					public Object answer(InvocationOnMock invocation) throws Throwable {
+						Object[] arguments = invocation.getArguments();
+						return ReflectionTestUtils.getField(arguments[0], (String) arguments[1]);
+					}
+				});
+	}
+
+	@Test
+	public void rendersInClauseForSimpleIds() {
+
+		when(information.getIdAttribute()).thenReturn(idAttribute);
+
+		IdRestriction<SampleWithIdClass> restriction = new IdRestriction<SampleWithIdClass>(information, em, capabilities);
+		List<Object> values = new ArrayList<Object>(Arrays.asList("value"));
+
+		assertThat(restriction.render("x", Arrays.asList(1L, 2L), values), is("x.id in (?2, ?3)"));
+		assertThat(values, is(Arrays.<Object> asList("value", 1L, 2L)));
+		assertThat(restriction.getMaxIdsPerStatement(), is(IdRestriction.MAX_PARAMETERS_PER_STATEMENT));
+		verify(capabilities, never()).supportsRowValueInList(em);
+	}
+
+	@Test
+	public void rendersDisjunctionOfConjunctionsForCompositeIds() {
+
+		when(information.hasCompositeId()).thenReturn(true);
+
+		IdRestriction<SampleWithIdClass> restriction = new IdRestriction<SampleWithIdClass>(information, em, capabilities);
+		List<Object> values = new ArrayList<Object>();
+
+		String result = restriction.render("x", getIds(), values);
+
+		assertThat(result, is("(x.first = ?1 and x.second = ?2) or (x.first = ?3 and x.second = ?4)"));
+		assertThat(values, is(Arrays.<Object> asList("a", "b", "c", "d")));
+		assertThat(restriction.getMaxIdsPerStatement(), is(IdRestriction.MAX_PARAMETERS_PER_STATEMENT / 2));
+	}
+
+	@Test
+	public void rendersRowValuesForCompositeIdsIfSupported() {
+
+		when(information.hasCompositeId()).thenReturn(true);
+		when(information.getIdAttribute()).thenReturn(idAttribute);
+		when(capabilities.supportsRowValueInList(em)).thenReturn(true);
+
+		IdRestriction<SampleWithIdClass> restriction = new IdRestriction<SampleWithIdClass>(information, em, capabilities);
+		List<Object> values = new ArrayList<Object>();
+
+		String result = restriction.render("x", getIds(), values);
+
+		assertThat(result, is("(x.id.first, x.id.second) in ((?1, ?2), (?3, ?4))"));
+		assertThat(values, is(Arrays.<Object> asList("a", "b", "c", "d")));
+	}
+
+	private static List<SampleWithIdClassPK> getIds() {
+
+		return Arrays.asList(new SampleWithIdClassPK("a", "b"), new SampleWithIdClassPK("c", "d"));
+	}
+}
@@ -93,5 +93,30 @@ public class JpaEntityInformationSupportUnitTests {
 
 			return null;
 		}
+
+		public SingularAttribute<? super T, ?> getVersionAttribute() {
+
+			return null;
+		}
+
+		public boolean requiresExistenceCheck() {
+
+			return false;
+		}
+
+		public boolean hasCompositeId() {
+
+			return false;
+		}
+
+		public Iterable<String> getIdAttributeNames() {
+
+			return null;
+		}
+
+		public Object getCompositeIdAttributeValue(Serializable id, String idAttribute) {
+
+			return null;
+		}
 	}
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.mockito.Mockito.*;
+
+import java.lang.reflect.Field;
+
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
+
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Microbenchmark to measure the cost of {@link JpaMetamodelEntityInformation#getId(Object)} and
+ * {@link JpaMetamodelEntityInformation#isNew(Object)} per call compared to looking up the id reflectively on every
+ * call. Not executed as part of the test suite, run the {@link #main(String[])} method manually.
+ * 
+ * @author Oliver Gierke
+ */
+public class JpaMetamodelEntityInformationBenchmark {
+
+	private static final int WARMUP_ITERATIONS = 1000000;
+	private static final int ITERATIONS = 10000000;
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static void main(String[] args) throws Exception {
+
+		final Field field = Sample.class.getDeclaredField("id");
+
+		SingularAttribute attribute = mock(SingularAttribute.class);
+		when(attribute.getJavaMember()).thenReturn(field);
+		when(attribute.getJavaType()).thenReturn(Long.class);
+
+		Type idType = mock(Type.class);
+		when(idType.getJavaType()).thenReturn(Long.class);
+
+		EntityType type = mock(EntityType.class);
+		when(type.getIdType()).thenReturn(idType);
+		when(type.getId(Long.class)).thenReturn(attribute);
+
+		Metamodel metamodel = mock(Metamodel.class);
+		when(metamodel.entity(Sample.class)).thenReturn(type);
+
+		final JpaMetamodelEntityInformation<Sample, Long> information = new JpaMetamodelEntityInformation<Sample, Long>(
+				Sample.class, metamodel);
+		final Sample sample = new Sample();
+		sample.id = 1L;
+
+		run("Reflection per call", new Runnable() {
+
+			public void run() {
+				ReflectionUtils.makeAccessible(field);
+				ReflectionUtils.getField(field, sample);
+			}
+		});
+
+		run("getId(...)", new Runnable() {
+
+			public void run() {
+				information.getId(sample);
+			}
+		});
+
+		run("isNew(...)", new Runnable() {
+
+			public void run() {
+				information.isNew(sample);
+			}
+		});
+	}
+
+	private static void run(String name, Runnable runnable) {
+
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			runnable.run();
+		}
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < ITERATIONS; i++) {
+			runnable.run();
+		}
+
+		double nanosPerCall = (System.nanoTime() - start) / (double) ITERATIONS;
+		System.out.println(String.format("%-20s %8.2f ns/call", name, nanosPerCall));
+	}
+
+	static class Sample {
+
+		private Long id;
+	}
+}
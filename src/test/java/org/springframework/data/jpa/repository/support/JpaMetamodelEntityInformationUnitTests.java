@@ -0,0 +1,212 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.persistence.GeneratedValue;
+import javax.persistence.IdClass;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link JpaMetamodelEntityInformation}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class JpaMetamodelEntityInformationUnitTests {
+
+	@Mock
+	Metamodel metamodel;
+	@Mock
+	EntityType type;
+	@Mock
+	Type idType;
+	@Mock
+	SingularAttribute idAttribute;
+	@Mock
+	SingularAttribute versionAttribute;
+	@Mock
+	SingularAttribute firstIdAttribute;
+	@Mock
+	SingularAttribute secondIdAttribute;
+
+	@Before
+	public void setUp() {
+
+		when(metamodel.entity(Matchers.any(Class.class))).thenReturn(type);
+		when(type.getIdType()).thenReturn(idType);
+		when(type.getId(Matchers.any(Class.class))).thenReturn(idAttribute);
+		when(idAttribute.getPersistentAttributeType()).thenReturn(PersistentAttributeType.BASIC);
+	}
+
+	@Test
+	public void usesWrapperVersionAttributeToDetectNewEntities() throws Exception {
+
+		prepareId(VersionedSample.class, "id");
+		prepareVersion(VersionedSample.class, "version");
+
+		JpaMetamodelEntityInformation<VersionedSample, Long> information = new JpaMetamodelEntityInformation<VersionedSample, Long>(
+				VersionedSample.class, metamodel);
+
+		VersionedSample sample = new VersionedSample();
+		sample.id = 1L;
+		assertThat(information.isNew(sample), is(true));
+
+		sample.version = 0L;
+		assertThat(information.isNew(sample), is(false));
+		assertThat(information.requiresExistenceCheck(), is(false));
+	}
+
+	@Test
+	public void considersEntityWithPrimitiveIdOfZeroNew() throws Exception {
+
+		prepareId(PrimitiveIdSample.class, "id");
+
+		JpaMetamodelEntityInformation<PrimitiveIdSample, Long> information = new JpaMetamodelEntityInformation<PrimitiveIdSample, Long>(
+				PrimitiveIdSample.class, metamodel);
+
+		PrimitiveIdSample sample = new PrimitiveIdSample();
+		assertThat(information.isNew(sample), is(true));
+
+		sample.id = 4711;
+		assertThat(information.isNew(sample), is(false));
+	}
+
+	@Test
+	public void requiresExistenceCheckForAssignedIdsOnly() throws Exception {
+
+		prepareId(AssignedIdSample.class, "id");
+		assertThat(new JpaMetamodelEntityInformation(AssignedIdSample.class, metamodel).requiresExistenceCheck(), is(true));
+
+		prepareId(GeneratedIdSample.class, "id");
+		assertThat(new JpaMetamodelEntityInformation(GeneratedIdSample.class, metamodel).requiresExistenceCheck(),
+				is(false));
+	}
+
+	@Test
+	public void supportsIdClass() throws Exception {
+
+		when(firstIdAttribute.getName()).thenReturn("first");
+		when(firstIdAttribute.getJavaMember()).thenReturn(IdClassSample.class.getDeclaredField("first"));
+		when(secondIdAttribute.getName()).thenReturn("second");
+		when(secondIdAttribute.getJavaMember()).thenReturn(IdClassSample.class.getDeclaredField("second"));
+		when(type.getIdClassAttributes()).thenReturn(
+				new HashSet<SingularAttribute>(Arrays.asList(firstIdAttribute, secondIdAttribute)));
+
+		JpaMetamodelEntityInformation<IdClassSample, IdClassSamplePK> information = new JpaMetamodelEntityInformation<IdClassSample, IdClassSamplePK>(
+				IdClassSample.class, metamodel);
+
+		assertThat(information.getIdAttribute(), is(nullValue()));
+		assertThat(information.getIdType(), is(equalTo(IdClassSamplePK.class)));
+		assertThat(information.hasCompositeId(), is(true));
+		assertThat(information.requiresExistenceCheck(), is(true));
+
+		IdClassSample sample = new IdClassSample();
+		assertThat(information.isNew(sample), is(true));
+		assertThat(information.getId(sample), is(nullValue()));
+
+		sample.first = "foo";
+		sample.second = 4711L;
+		assertThat(information.isNew(sample), is(false));
+
+		IdClassSamplePK id = information.getId(sample);
+		assertThat(id.first, is("foo"));
+		assertThat(id.second, is(4711L));
+		assertThat(information.getCompositeIdAttributeValue(id, "second"), is((Object) 4711L));
+
+		Set<String> names = new HashSet<String>();
+
+		for (String name : information.getIdAttributeNames()) {
+			names.add(name);
+		}
+
+		assertThat(names, is((Set<String>) new HashSet<String>(Arrays.asList("first", "second"))));
+	}
+
+	private void prepareId(Class<?> type, String fieldName) throws Exception {
+
+		when(idAttribute.getJavaMember()).thenReturn(type.getDeclaredField(fieldName));
+		when(idAttribute.getJavaType()).thenReturn(type.getDeclaredField(fieldName).getType());
+	}
+
+	private void prepareVersion(Class<?> sampleType, String fieldName) throws Exception {
+
+		when(versionAttribute.isVersion()).thenReturn(true);
+		when(versionAttribute.getJavaMember()).thenReturn(sampleType.getDeclaredField(fieldName));
+		when(versionAttribute.getJavaType()).thenReturn(sampleType.getDeclaredField(fieldName).getType());
+		when(type.hasVersionAttribute()).thenReturn(true);
+		when(type.getSingularAttributes()).thenReturn((Set) Collections.singleton(versionAttribute));
+	}
+
+	static class VersionedSample {
+
+		Long id;
+		Long version;
+	}
+
+	static class PrimitiveIdSample {
+
+		@GeneratedValue
+		long id;
+	}
+
+	static class AssignedIdSample {
+
+		String id;
+	}
+
+	static class GeneratedIdSample {
+
+		@GeneratedValue
+		Long id;
+	}
+
+	@IdClass(IdClassSamplePK.class)
+	static class IdClassSample {
+
+		String first;
+		Long second;
+	}
+
+	static class IdClassSamplePK implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		String first;
+		Long second;
+	}
+}
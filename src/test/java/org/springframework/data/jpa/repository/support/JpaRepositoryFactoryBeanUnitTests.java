@@ -22,6 +22,7 @@ import static org.mockito.Mockito.*;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManager;
 
@@ -118,6 +119,29 @@ public class JpaRepositoryFactoryBeanUnitTests {
 		factoryBean.afterPropertiesSet();
 	}
 
+	@Test(expected = IllegalStateException.class)
+	public void rejectsParallelCountWithoutCountExecutor() {
+
+		Executor executor = mock(Executor.class);
+
+		factoryBean.setBeanFactory(beanFactory);
+		factoryBean.setAsyncExecutor(executor);
+		factoryBean.setParallelCount(true);
+		factoryBean.afterPropertiesSet();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsAsyncExecutorAsCountExecutor() {
+
+		Executor executor = mock(Executor.class);
+
+		factoryBean.setBeanFactory(beanFactory);
+		factoryBean.setAsyncExecutor(executor);
+		factoryBean.setCountExecutor(executor);
+		factoryBean.setParallelCount(true);
+		factoryBean.afterPropertiesSet();
+	}
+
 	private class DummyJpaRepositoryFactoryBean<T extends JpaRepository<S, ID>, S, ID extends Serializable> extends
 			JpaRepositoryFactoryBean<T, S, ID> {
 
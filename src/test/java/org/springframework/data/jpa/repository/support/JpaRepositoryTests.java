@@ -19,16 +19,25 @@ import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
 import java.util.Arrays;
+import java.util.List;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.domain.sample.SampleEntity;
 import org.springframework.data.jpa.domain.sample.SampleEntityPK;
+import org.springframework.data.jpa.domain.sample.SampleWithIdClass;
+import org.springframework.data.jpa.domain.sample.SampleWithIdClassPK;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,11 +56,13 @@ public class JpaRepositoryTests {
 	EntityManager em;
 
 	JpaRepository<SampleEntity, SampleEntityPK> repository;
+	SampleWithIdClassRepository idClassRepository;
 
 	@Before
 	public void setUp() {
 
 		repository = new JpaRepositoryFactory(em).getRepository(SampleEntityRepository.class);
+		idClassRepository = new JpaRepositoryFactory(em).getRepository(SampleWithIdClassRepository.class);
 	}
 
 	@Test
@@ -68,6 +79,73 @@ public class JpaRepositoryTests {
 		assertThat(repository.count(), is(0L));
 	}
 
+	@Test
+	public void executesBatchOperationsForEmbeddedIds() throws Exception {
+
+		SampleEntity first = new SampleEntity("foo", "bar");
+		SampleEntity second = new SampleEntity("foo", "baz");
+		repository.save(Arrays.asList(first, second));
+		repository.flush();
+		em.clear();
+
+		List<SampleEntityPK> ids = Arrays.asList(new SampleEntityPK("foo", "bar"), new SampleEntityPK("foo", "baz"),
+				new SampleEntityPK("bar", "foo"));
+
+		List<SampleEntity> result = repository.findAll(ids);
+		assertThat(result.size(), is(2));
+		assertThat(result.contains(first), is(true));
+		assertThat(result.contains(second), is(true));
+
+		repository.deleteInBatch(Arrays.asList(first));
+		assertThat(repository.exists(new SampleEntityPK("foo", "bar")), is(false));
+		assertThat(repository.exists(new SampleEntityPK("foo", "baz")), is(true));
+	}
+
+	@Test
+	public void executesCrudAndBatchOperationsForIdClass() throws Exception {
+
+		SampleWithIdClass first = new SampleWithIdClass("foo", "bar");
+		SampleWithIdClass second = new SampleWithIdClass("foo", "baz");
+		idClassRepository.save(Arrays.asList(first, second));
+		idClassRepository.flush();
+		em.clear();
+
+		SampleWithIdClassPK firstId = new SampleWithIdClassPK("foo", "bar");
+		SampleWithIdClassPK secondId = new SampleWithIdClassPK("foo", "baz");
+
+		assertThat(idClassRepository.exists(firstId), is(true));
+		assertThat(idClassRepository.findOne(secondId).getSecond(), is("baz"));
+		assertThat(idClassRepository.findAll(Arrays.asList(firstId, secondId)).size(), is(2));
+
+		idClassRepository.deleteInBatch(idClassRepository.findAll(Arrays.asList(firstId)));
+		assertThat(idClassRepository.exists(firstId), is(false));
+		assertThat(idClassRepository.count(), is(1L));
+	}
+
+	@Test
+	public void deletesEntitiesUsingIdClassBySpecification() throws Exception {
+
+		idClassRepository.save(Arrays.asList(new SampleWithIdClass("foo", "bar"), new SampleWithIdClass("foo", "baz")));
+		idClassRepository.flush();
+		em.clear();
+
+		int result = idClassRepository.deleteInBatch(new Specification<SampleWithIdClass>() {
+
+			public Predicate toPredicate(Root<SampleWithIdClass> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+				return cb.equal(root.get("second"), "bar");
+			}
+		});
+
+		assertThat(result, is(1));
+		assertThat(idClassRepository.exists(new SampleWithIdClassPK("foo", "bar")), is(false));
+		assertThat(idClassRepository.exists(new SampleWithIdClassPK("foo", "baz")), is(true));
+	}
+
+	private static interface SampleWithIdClassRepository extends JpaRepository<SampleWithIdClass, SampleWithIdClassPK>,
+			JpaSpecificationExecutor<SampleWithIdClass> {
+
+	}
+
 	private static interface SampleEntityRepository extends JpaRepository<SampleEntity, SampleEntityPK> {
 
 	}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.jpa.domain.PartitionedScan;
+import org.springframework.data.jpa.domain.ScanCallback;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.repository.query.JpaQueryOptions;
+import org.springframework.data.jpa.repository.support.PartitionedScanner.Partition;
+
+/**
+ * Unit tests for {@link PartitionedScanner}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PartitionedScannerUnitTests {
+
+	@Mock
+	JpaEntityInformation<User, Integer> information;
+	@Mock
+	EntityManager em;
+	@Mock
+	Metamodel metamodel;
+	@Mock
+	ManagedType<User> type;
+	@Mock
+	SingularAttribute<User, Integer> idAttribute;
+	@Mock
+	Attribute<User, String> firstname;
+	@Mock
+	ScanCallback<User> callback;
+
+	PartitionedScanner<User> scanner;
+
+	@Before
+	public void setUp() {
+
+		when(information.getJavaType()).thenReturn(User.class);
+		when(em.getMetamodel()).thenReturn(metamodel);
+		doReturn(type).when(metamodel).managedType(User.class);
+		doReturn(firstname).when(type).getAttribute("firstname");
+		doReturn(String.class).when(firstname).getJavaType();
+
+		scanner = new PartitionedScanner<User>(information, em, PersistenceProvider.GENERIC_JPA, new JpaQueryOptions());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsEntitiesWithoutSingleIdAttribute() {
+
+		scanner.scan(null, new PartitionedScan(2), callback);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonNumericPartitionAttribute() {
+
+		doReturn(idAttribute).when(information).getIdAttribute();
+
+		scanner.scan(null, new PartitionedScan(2).on("firstname"), callback);
+	}
+
+	@Test
+	public void splitsRangeIntoAdjacentPartitions() {
+
+		List<Partition> partitions = new ArrayList<Partition>(Partition.split(1, 10, 3));
+
+		assertThat(partitions.size(), is(4));
+		assertBoundaries(partitions.get(0), null, 5L);
+		assertBoundaries(partitions.get(1), 5L, 9L);
+		assertBoundaries(partitions.get(2), 9L, null);
+		assertThat(partitions.get(3).nullValues, is(true));
+	}
+
+	@Test
+	public void createsLessPartitionsIfRangeIsSmallerThanRequested() {
+
+		List<Partition> partitions = new ArrayList<Partition>(Partition.split(1, 2, 5));
+
+		assertThat(partitions.size(), is(3));
+		assertBoundaries(partitions.get(0), null, 2L);
+		assertBoundaries(partitions.get(1), 2L, null);
+		assertThat(partitions.get(2).nullValues, is(true));
+	}
+
+	@Test
+	public void createsSingleUnboundedPartitionForSingleValue() {
+
+		List<Partition> partitions = new ArrayList<Partition>(Partition.split(4, 4, 3));
+
+		assertThat(partitions.size(), is(1));
+		assertBoundaries(partitions.get(0), null, null);
+		assertThat(partitions.get(0).nullValues, is(false));
+	}
+
+	private static void assertBoundaries(Partition partition, Long from, Long to) {
+
+		assertThat(partition.from, is(from));
+		assertThat(partition.to, is(to));
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.ejb.HibernateEntityManager;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.jpa.domain.LockWait;
+
+/**
+ * Unit tests for {@link PersistenceProvider}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PersistenceProviderUnitTests {
+
+	@Mock
+	EntityManagerFactory factory;
+
+	@Test
+	public void detectsProviderFromEntityManagerType() {
+
+		assertThat(PersistenceProvider.fromEntityManager(mock(HibernateEntityManager.class)),
+				is(PersistenceProvider.HIBERNATE));
+		assertThat(PersistenceProvider.fromEntityManager(mock(EntityManager.class)), is(PersistenceProvider.GENERIC_JPA));
+	}
+
+	@Test
+	public void cachesDetectedProviderPerEntityManagerFactory() {
+
+		EntityManager hibernate = mock(HibernateEntityManager.class);
+		when(hibernate.getEntityManagerFactory()).thenReturn(factory);
+
+		EntityManager generic = mock(EntityManager.class);
+		when(generic.getEntityManagerFactory()).thenReturn(factory);
+
+		assertThat(PersistenceProvider.fromEntityManager(hibernate), is(PersistenceProvider.HIBERNATE));
+		assertThat(PersistenceProvider.fromEntityManager(generic), is(PersistenceProvider.HIBERNATE));
+	}
+
+	@Test
+	public void fallsBackToStandardLockTimeoutHintAndNoCursor() {
+
+		assertThat(PersistenceProvider.GENERIC_JPA.getLockTimeoutHint(), is("javax.persistence.lock.timeout"));
+		assertThat(PersistenceProvider.GENERIC_JPA.getQueryCacheHint(), is(nullValue()));
+		assertThat(PersistenceProvider.GENERIC_JPA.openCursor(null), is(nullValue()));
+	}
+
+	@Test
+	public void translatesLockWaitIntoProviderSpecificHints() {
+
+		assertThat(PersistenceProvider.GENERIC_JPA.getLockWaitHints(LockWait.WAIT).isEmpty(), is(true));
+		assertThat(PersistenceProvider.HIBERNATE.getLockWaitHints(LockWait.NO_WAIT).get(
+				"javax.persistence.lock.timeout"), is((Object) 0));
+		assertThat(PersistenceProvider.ECLIPSELINK.getLockWaitHints(LockWait.NO_WAIT).get("eclipselink.pessimistic-lock"),
+				is((Object) "LockNoWait"));
+	}
+}
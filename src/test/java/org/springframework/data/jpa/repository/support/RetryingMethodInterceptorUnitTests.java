@@ -0,0 +1,152 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.SQLException;
+
+import javax.persistence.OptimisticLockException;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jpa.repository.Retry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for {@link RetryingMethodInterceptor}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RetryingMethodInterceptorUnitTests {
+
+	@Mock
+	ProxyMethodInvocation invocation;
+	@Mock
+	MethodInvocation clone;
+
+	RetryingMethodInterceptor interceptor;
+
+	@Before
+	public void setUp() {
+
+		interceptor = new RetryingMethodInterceptor();
+
+		when(invocation.getProxy()).thenReturn(new Object());
+		when(invocation.invocableClone()).thenReturn(clone);
+	}
+
+	@Test
+	public void retriesConcurrencyFailures() throws Throwable {
+
+		when(invocation.getMethod()).thenReturn(Sample.class.getMethod("retried"));
+		when(clone.proceed()).thenThrow(new OptimisticLockingFailureException("first")).thenReturn("result");
+
+		assertThat(interceptor.invoke(invocation), is((Object) "result"));
+		verify(clone, times(2)).proceed();
+		assertThat(interceptor.getRetries(), is(1L));
+		assertThat(interceptor.getRecoveries(), is(1L));
+	}
+
+	@Test
+	public void rethrowsFailureAfterMaxAttempts() throws Throwable {
+
+		OptimisticLockException exception = new OptimisticLockException();
+
+		when(invocation.getMethod()).thenReturn(Sample.class.getMethod("retried"));
+		when(clone.proceed()).thenThrow(exception);
+
+		try {
+			interceptor.invoke(invocation);
+			fail("Expected OptimisticLockException!");
+		} catch (OptimisticLockException e) {
+			assertThat(e, is(exception));
+		}
+
+		verify(clone, times(3)).proceed();
+		assertThat(interceptor.getRetries(), is(2L));
+		assertThat(interceptor.getExhaustions(), is(1L));
+	}
+
+	@Test(expected = DataIntegrityViolationException.class)
+	public void doesNotRetryOtherFailures() throws Throwable {
+
+		when(invocation.getMethod()).thenReturn(Sample.class.getMethod("retried"));
+		when(clone.proceed()).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+		try {
+			interceptor.invoke(invocation);
+		} finally {
+			verify(clone, times(1)).proceed();
+		}
+	}
+
+	@Test
+	public void proceedsDirectlyForMethodsNotAnnotated() throws Throwable {
+
+		when(invocation.getMethod()).thenReturn(Sample.class.getMethod("notRetried"));
+		when(invocation.proceed()).thenReturn("result");
+
+		assertThat(interceptor.invoke(invocation), is((Object) "result"));
+		verify(invocation, never()).invocableClone();
+	}
+
+	@Test
+	public void doesNotRetryInsideRunningTransaction() throws Throwable {
+
+		when(invocation.getMethod()).thenReturn(Sample.class.getMethod("retried"));
+		when(invocation.proceed()).thenReturn("result");
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		try {
+			assertThat(interceptor.invoke(invocation), is((Object) "result"));
+			verify(invocation, never()).invocableClone();
+		} finally {
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+	}
+
+	@Test
+	public void detectsRetryableFailures() {
+
+		assertThat(RetryingMethodInterceptor.isRetryable(new DeadlockLoserDataAccessException("deadlock", null)),
+				is(true));
+		assertThat(RetryingMethodInterceptor.isRetryable(new RuntimeException(new SQLException("deadlock", "40001"))),
+				is(true));
+		assertThat(RetryingMethodInterceptor.isRetryable(new RuntimeException(new SQLException("duplicate", "23505"))),
+				is(false));
+	}
+
+	interface Sample {
+
+		@Retry(backoff = 0)
+		String retried();
+
+		String notRetried();
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.repository.sample.UserRepository;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link ReadReplicaSharedEntityManagerBean} using two separate HSQLDB instances as primary and
+ * replica database.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:read-replica-context.xml")
+public class ReadReplicaSharedEntityManagerBeanTests {
+
+	@Autowired
+	UserRepository repository;
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	TransactionTemplate template;
+
+	@Before
+	public void setUp() {
+
+		template = new TransactionTemplate(transactionManager);
+		template.execute(new TransactionCallback<Object>() {
+
+			public Object doInTransaction(TransactionStatus status) {
+				return repository.save(new User("Dave", "Matthews", "dave@matthews.com"));
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+
+		template.setReadOnly(false);
+		template.execute(new TransactionCallback<Object>() {
+
+			public Object doInTransaction(TransactionStatus status) {
+				repository.deleteAll();
+				return null;
+			}
+		});
+	}
+
+	@Test
+	public void executesReadOnlyTransactionsAgainstReplica() {
+
+		template.setReadOnly(true);
+
+		assertThat(count(), is(0L));
+	}
+
+	@Test
+	public void executesReadWriteTransactionsAgainstPrimary() {
+
+		template.setReadOnly(false);
+
+		assertThat(count(), is(1L));
+	}
+
+	@Test
+	public void executesReadOnlyRepositoryMethodsAgainstReplica() {
+
+		assertThat(repository.count(), is(0L));
+	}
+
+	private Long count() {
+
+		return template.execute(new TransactionCallback<Long>() {
+
+			public Long doInTransaction(TransactionStatus status) {
+				return repository.count();
+			}
+		});
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.persistence.EntityManager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.jpa.support.ReadReplicaSharedEntityManagerBean.RoutingInvocationHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for the routing of {@link ReadReplicaSharedEntityManagerBean}.
+ * 
+ * @author Oliver Gierke
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ReadReplicaSharedEntityManagerBeanUnitTests {
+
+	@Mock
+	EntityManager primary, replica;
+	@Mock
+	ClientKeyResolver resolver;
+
+	@Before
+	public void setUp() {
+
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+	}
+
+	@After
+	public void tearDown() {
+
+		for (Object key : new ArrayList<Object>(TransactionSynchronizationManager.getResourceMap().keySet())) {
+			TransactionSynchronizationManager.unbindResource(key);
+		}
+
+		TransactionSynchronizationManager.clear();
+	}
+
+	@Test
+	public void routesToPrimaryOutsideTransactions() {
+
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+
+		assertThat(new RoutingInvocationHandler(primary, replica, 0).determineTarget(), is(primary));
+	}
+
+	@Test
+	public void routesReadOnlyTransactionsToReplica() {
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertThat(new RoutingInvocationHandler(primary, replica, 0).determineTarget(), is(replica));
+	}
+
+	@Test
+	public void routesReadOnlyTransactionsToPrimaryWithinStickinessWindow() {
+
+		RoutingInvocationHandler handler = new RoutingInvocationHandler(primary, replica, 60 * 1000);
+
+		assertThat(handler.determineTarget(), is(primary));
+		completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertThat(handler.determineTarget(), is(primary));
+	}
+
+	@Test
+	public void doesNotApplyStickinessForRolledBackTransactions() {
+
+		RoutingInvocationHandler handler = new RoutingInvocationHandler(primary, replica, 60 * 1000);
+
+		assertThat(handler.determineTarget(), is(primary));
+		completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertThat(handler.determineTarget(), is(replica));
+	}
+
+	@Test
+	public void tracksStickinessPerClient() {
+
+		RoutingInvocationHandler handler = new RoutingInvocationHandler(primary, replica, 60 * 1000, resolver);
+
+		when(resolver.getClientKey()).thenReturn("first");
+		assertThat(handler.determineTarget(), is(primary));
+		completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertThat(handler.determineTarget(), is(primary));
+		completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+		when(resolver.getClientKey()).thenReturn("second");
+		assertThat(handler.determineTarget(), is(replica));
+	}
+
+	@Test
+	public void keepsTargetForTheEntireTransaction() {
+
+		RoutingInvocationHandler handler = new RoutingInvocationHandler(primary, replica, 60 * 1000, resolver);
+
+		when(resolver.getClientKey()).thenReturn("first");
+		assertThat(handler.determineTarget(), is(primary));
+		completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		when(resolver.getClientKey()).thenReturn("second");
+		assertThat(handler.determineTarget(), is(replica));
+
+		when(resolver.getClientKey()).thenReturn("first");
+		assertThat(handler.determineTarget(), is(replica));
+		completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+		assertThat(handler.determineTarget(), is(primary));
+	}
+
+	@Test
+	public void unbindsTargetWhileTransactionIsSuspended() {
+
+		RoutingInvocationHandler handler = new RoutingInvocationHandler(primary, replica, 0);
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertThat(handler.determineTarget(), is(replica));
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.suspend();
+		}
+
+		assertThat(TransactionSynchronizationManager.hasResource(handler), is(false));
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.resume();
+		}
+
+		assertThat(TransactionSynchronizationManager.getResource(handler), is((Object) replica));
+		completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+		assertThat(TransactionSynchronizationManager.hasResource(handler), is(false));
+	}
+
+	@Test
+	public void tracksStickinessPerThreadByDefault() throws Exception {
+
+		final RoutingInvocationHandler handler = new RoutingInvocationHandler(primary, replica, 60 * 1000);
+
+		assertThat(handler.determineTarget(), is(primary));
+		completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+		final AtomicReference<EntityManager> target = new AtomicReference<EntityManager>();
+
+		Thread thread = new Thread(new Runnable() {
+
+			public void run() {
+
+				TransactionSynchronizationManager.setActualTransactionActive(true);
+				TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+				target.set(handler.determineTarget());
+				TransactionSynchronizationManager.clear();
+			}
+		});
+
+		thread.start();
+		thread.join();
+
+		assertThat(target.get(), is(replica));
+	}
+
+	private static void completeTransaction(int status) {
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCompletion(status);
+		}
+
+		TransactionSynchronizationManager.clearSynchronization();
+		TransactionSynchronizationManager.initSynchronization();
+	}
+}